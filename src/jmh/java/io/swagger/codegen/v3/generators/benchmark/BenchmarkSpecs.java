@@ -0,0 +1,135 @@
+package io.swagger.codegen.v3.generators.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Specs the benchmarks run against. <code>small</code> is petstore.yaml, <code>medium</code> and
+ * <code>huge</code> are made of renamed copies of petstore.yaml and composed_schemas.yaml, so they keep
+ * the shape of real specs while growing the number of schemas and operations.
+ */
+public class BenchmarkSpecs {
+
+    public static final String SMALL = "small";
+    public static final String MEDIUM = "medium";
+    public static final String HUGE = "huge";
+
+    private static final String PETSTORE = "src/test/resources/3_0_0/petstore.yaml";
+    private static final String COMPOSED = "src/test/resources/3_0_0/composed_schemas.yaml";
+    private static final String REF_PREFIX = "#/components/";
+
+    private static final Map<String, OpenAPI> SPECS = new ConcurrentHashMap<>();
+
+    public static OpenAPI get(String spec) {
+        return SPECS.computeIfAbsent(spec, BenchmarkSpecs::load);
+    }
+
+    private static OpenAPI load(String spec) {
+        switch (spec) {
+            case SMALL:
+                return parse(read(PETSTORE));
+            case MEDIUM:
+                return parse(replicate(25));
+            case HUGE:
+                return parse(replicate(250));
+            default:
+                throw new IllegalArgumentException("Unknown benchmark spec " + spec);
+        }
+    }
+
+    private static OpenAPI parse(JsonNode spec) {
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        try {
+            return new OpenAPIV3Parser().readContents(Json.mapper().writeValueAsString(spec), null, options).getOpenAPI();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static JsonNode read(String location) {
+        try {
+            return Yaml.mapper().readTree(new File(location));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + location, e);
+        }
+    }
+
+    private static ObjectNode replicate(int copies) {
+        final List<JsonNode> sources = new ArrayList<>();
+        sources.add(read(PETSTORE));
+        sources.add(read(COMPOSED));
+        final ObjectNode spec = (ObjectNode) sources.get(0).deepCopy();
+        final ObjectNode paths = spec.putObject("paths");
+        final ObjectNode components = spec.putObject("components");
+        components.set("securitySchemes", sources.get(0).path("components").path("securitySchemes"));
+
+        for (int copy = 0; copy < copies; copy++) {
+            for (int source = 0; source < sources.size(); source++) {
+                final String suffix = source + "x" + copy;
+                final JsonNode renamed = rename(sources.get(source).deepCopy(), suffix);
+                final Iterator<Map.Entry<String, JsonNode>> pathItems = renamed.path("paths").fields();
+                while (pathItems.hasNext()) {
+                    final Map.Entry<String, JsonNode> pathItem = pathItems.next();
+                    for (JsonNode operation : pathItem.getValue()) {
+                        if (operation.has("operationId")) {
+                            ((ObjectNode) operation).put("operationId", operation.get("operationId").asText() + suffix);
+                        }
+                    }
+                    paths.set("/copy" + suffix + pathItem.getKey(), pathItem.getValue());
+                }
+                final Iterator<Map.Entry<String, JsonNode>> sections = renamed.path("components").fields();
+                while (sections.hasNext()) {
+                    final Map.Entry<String, JsonNode> section = sections.next();
+                    if ("securitySchemes".equals(section.getKey())) {
+                        continue;
+                    }
+                    final ObjectNode target = components.has(section.getKey()) ? (ObjectNode) components.get(section.getKey()) : components.putObject(section.getKey());
+                    final Iterator<Map.Entry<String, JsonNode>> entries = section.getValue().fields();
+                    while (entries.hasNext()) {
+                        final Map.Entry<String, JsonNode> entry = entries.next();
+                        target.set(entry.getKey() + suffix, entry.getValue());
+                    }
+                }
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Appends the suffix to every local component reference of the node.
+     */
+    private static JsonNode rename(JsonNode node, String suffix) {
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual() && field.getValue().asText().startsWith(REF_PREFIX)) {
+                    field.setValue(new TextNode(field.getValue().asText() + suffix));
+                } else {
+                    rename(field.getValue(), suffix);
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                rename(element, suffix);
+            }
+        }
+        return node;
+    }
+}
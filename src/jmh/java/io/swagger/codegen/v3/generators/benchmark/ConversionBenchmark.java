@@ -0,0 +1,123 @@
+package io.swagger.codegen.v3.generators.benchmark;
+
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.generators.SchemaHandler;
+import io.swagger.codegen.v3.generators.examples.ExampleGenerator;
+import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the spec to codegen objects: properties, models, operations, response examples and
+ * composed schema handling, each over the whole spec.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConversionBenchmark {
+
+    @Benchmark
+    public void fromProperty(SpecState state, Blackhole blackhole) {
+        for (Map.Entry<String, Schema> property : state.properties) {
+            blackhole.consume(state.config.fromProperty(property.getKey(), property.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void fromModel(SpecState state, Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : state.schemas.entrySet()) {
+            blackhole.consume(state.config.fromModel(schema.getKey(), schema.getValue(), state.schemas));
+        }
+    }
+
+    /**
+     * A single wide model whose object properties are import mapped, the scores of the property counts show how
+     * the reconciliation of the mapped types in addVars scales.
+     */
+    @Benchmark
+    public void fromWideModel(WideModel model, Blackhole blackhole) {
+        blackhole.consume(model.config.fromModel("Wide", model.schema, model.schemas));
+    }
+
+    @Benchmark
+    public void fromOperation(SpecState state, Blackhole blackhole) {
+        for (SpecState.OperationInput input : state.operations) {
+            blackhole.consume(state.config.fromOperation(input.path, input.httpMethod, input.operation, state.schemas, state.openAPI));
+        }
+    }
+
+    @Benchmark
+    public void generateExamples(SpecState state, Blackhole blackhole) {
+        // a generator per operation, as fromOperation does, but without the spec wide cache
+        for (Schema schema : state.responseSchemas) {
+            blackhole.consume(new ExampleGenerator(state.openAPI).generate(null, null, schema));
+        }
+    }
+
+    @Benchmark
+    public void processComposedSchemas(SpecState state, Models models, Blackhole blackhole) {
+        final SchemaHandler schemaHandler = new SchemaHandler(state.config);
+        for (Map.Entry<String, CodegenModel> model : models.models.entrySet()) {
+            schemaHandler.processComposedSchemas(model.getValue(), state.schemas.get(model.getKey()), models.models);
+        }
+        blackhole.consume(schemaHandler.getModels());
+    }
+
+    @State(Scope.Benchmark)
+    public static class WideModel {
+        @Param({"1000", "4000"})
+        public int properties;
+
+        private JavaClientCodegen config;
+        private Schema schema;
+        private Map<String, Schema> schemas;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            schema = new Schema().type("object");
+            for (int i = 0; i < properties; i++) {
+                // objects and untyped properties share the base type Object
+                schema.addProperties("property" + i, i % 2 == 0 ? new ObjectSchema() : new Schema());
+            }
+            schemas = Collections.singletonMap("Wide", schema);
+            config = new JavaClientCodegen();
+            config.importMapping().put("Object", "com.example.Payload");
+        }
+    }
+
+    /**
+     * Models converted anew for every invocation, processComposedSchemas adds to them.
+     */
+    @State(Scope.Thread)
+    public static class Models {
+        private Map<String, CodegenModel> models;
+
+        @Setup(Level.Invocation)
+        public void setUp(SpecState state) {
+            models = new TreeMap<>();
+            for (Map.Entry<String, Schema> schema : state.schemas.entrySet()) {
+                models.put(schema.getKey(), state.config.fromModel(schema.getKey(), schema.getValue(), state.schemas));
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.swagger.codegen.v3.generators.benchmark;
+
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name transformations over every schema, property and operation name of the spec.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NameBenchmark {
+
+    @Benchmark
+    public void camelize(SpecState state, Blackhole blackhole) {
+        for (String name : state.names) {
+            blackhole.consume(DefaultCodegenConfig.camelize(name));
+        }
+    }
+
+    @Benchmark
+    public void underscore(SpecState state, Blackhole blackhole) {
+        for (String name : state.names) {
+            blackhole.consume(DefaultCodegenConfig.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(SpecState state, Blackhole blackhole) {
+        for (String name : state.names) {
+            blackhole.consume(state.config.sanitizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void escapeText(SpecState state, Blackhole blackhole) {
+        for (String text : state.texts) {
+            blackhole.consume(state.config.escapeText(text));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.swagger.codegen.v3.generators.benchmark;
+
+import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Java client config prepared for one of the {@link BenchmarkSpecs}, with the inputs of the benchmarked
+ * methods collected from the spec.
+ */
+@State(Scope.Benchmark)
+public class SpecState {
+
+    @Param({BenchmarkSpecs.SMALL, BenchmarkSpecs.MEDIUM, BenchmarkSpecs.HUGE})
+    public String spec;
+
+    public OpenAPI openAPI;
+    public JavaClientCodegen config;
+    public Map<String, Schema> schemas;
+    public List<String> names;
+    public List<String> texts;
+    public List<Map.Entry<String, Schema>> properties;
+    public List<OperationInput> operations;
+    public List<Schema> responseSchemas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        openAPI = BenchmarkSpecs.get(spec);
+        config = new JavaClientCodegen();
+        config.processOpts();
+        config.preprocessOpenAPI(openAPI);
+        schemas = openAPI.getComponents().getSchemas();
+
+        final Set<String> names = new LinkedHashSet<>();
+        texts = new ArrayList<>();
+        properties = new ArrayList<>();
+        for (Map.Entry<String, Schema> schema : schemas.entrySet()) {
+            names.add(schema.getKey());
+            if (schema.getValue().getDescription() != null) {
+                texts.add(schema.getValue().getDescription());
+            }
+            if (schema.getValue().getProperties() != null) {
+                for (Object entry : schema.getValue().getProperties().entrySet()) {
+                    final Map.Entry<String, Schema> property = (Map.Entry<String, Schema>) entry;
+                    names.add(property.getKey());
+                    properties.add(property);
+                    if (property.getValue().getDescription() != null) {
+                        texts.add(property.getValue().getDescription());
+                    }
+                }
+            }
+        }
+
+        operations = new ArrayList<>();
+        responseSchemas = new ArrayList<>();
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                operations.add(new OperationInput(path.getKey(), operation.getKey().name().toLowerCase(), operation.getValue()));
+                if (operation.getValue().getOperationId() != null) {
+                    names.add(operation.getValue().getOperationId());
+                }
+                if (operation.getValue().getDescription() != null) {
+                    texts.add(operation.getValue().getDescription());
+                }
+                if (operation.getValue().getResponses() == null) {
+                    continue;
+                }
+                for (ApiResponse response : operation.getValue().getResponses().values()) {
+                    if (response.getContent() != null && response.getContent().get("application/json") != null) {
+                        final Schema schema = response.getContent().get("application/json").getSchema();
+                        if (schema != null) {
+                            responseSchemas.add(schema);
+                        }
+                    }
+                }
+            }
+        }
+        this.names = new ArrayList<>(names);
+    }
+
+    public static class OperationInput {
+        public final String path;
+        public final String httpMethod;
+        public final Operation operation;
+
+        public OperationInput(String path, String httpMethod, Operation operation) {
+            this.path = path;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+        }
+    }
+}
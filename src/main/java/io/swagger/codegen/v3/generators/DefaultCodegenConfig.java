@@ -18,17 +18,32 @@ import io.swagger.codegen.v3.CodegenResponse;
 import io.swagger.codegen.v3.CodegenSecurity;
 import io.swagger.codegen.v3.ISchemaHandler;
 import io.swagger.codegen.v3.SupportingFile;
+import io.swagger.codegen.v3.generators.examples.ExampleCache;
 import io.swagger.codegen.v3.generators.examples.ExampleGenerator;
+import io.swagger.codegen.v3.generators.examples.ExampleWriter;
 import io.swagger.codegen.v3.generators.handlebars.BaseItemsHelper;
 import io.swagger.codegen.v3.generators.handlebars.BracesHelper;
+import io.swagger.codegen.v3.generators.handlebars.CodegenHandlebarTemplateEngine;
 import io.swagger.codegen.v3.generators.handlebars.HasHelper;
 import io.swagger.codegen.v3.generators.handlebars.HasNotHelper;
 import io.swagger.codegen.v3.generators.handlebars.IsHelper;
 import io.swagger.codegen.v3.generators.handlebars.IsNotHelper;
 import io.swagger.codegen.v3.generators.handlebars.NotEmptyHelper;
 import io.swagger.codegen.v3.generators.handlebars.StringUtilHelper;
+import io.swagger.codegen.v3.generators.jfr.GenerationEvents;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
+import io.swagger.codegen.v3.generators.util.GenerationManifest;
+import io.swagger.codegen.v3.generators.util.GenerationProfiler;
+import io.swagger.codegen.v3.generators.util.GenerationShards;
+import io.swagger.codegen.v3.generators.util.InheritanceGraph;
+import io.swagger.codegen.v3.generators.util.NameTransformationCache;
+import io.swagger.codegen.v3.generators.util.OpenAPIRefIndex;
 import io.swagger.codegen.v3.generators.util.OpenAPIUtil;
-import io.swagger.codegen.v3.templates.HandlebarTemplateEngine;
+import io.swagger.codegen.v3.generators.util.OutputSink;
+import io.swagger.codegen.v3.generators.util.SpecFingerprints;
+import io.swagger.codegen.v3.generators.util.SpecPruner;
+import io.swagger.codegen.v3.generators.util.TemplateUsage;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 import io.swagger.codegen.v3.templates.MustacheTemplateEngine;
 import io.swagger.codegen.v3.templates.TemplateEngine;
 import io.swagger.codegen.v3.utils.ModelUtils;
@@ -36,6 +51,7 @@ import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.examples.Example;
 import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.ArraySchema;
@@ -68,9 +84,9 @@ import io.swagger.v3.oas.models.security.OAuthFlow;
 import io.swagger.v3.oas.models.security.OAuthFlows;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.parser.util.SchemaTypeUtil;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,6 +99,7 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -90,10 +107,16 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -107,27 +130,115 @@ import static io.swagger.codegen.v3.CodegenConstants.IS_ENUM_EXT_NAME;
 import static io.swagger.codegen.v3.generators.CodegenHelper.getDefaultIncludes;
 import static io.swagger.codegen.v3.generators.CodegenHelper.getImportMappings;
 import static io.swagger.codegen.v3.generators.CodegenHelper.getTypeMappings;
-import static io.swagger.codegen.v3.generators.CodegenHelper.initalizeSpecialCharacterMapping;
+import static io.swagger.codegen.v3.generators.CodegenHelper.getSpecialCharacterMapping;
 import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBooleanValue;
 
 public abstract class DefaultCodegenConfig implements CodegenConfig {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegenConfig.class);
 
+    private static final Pattern CAMELIZE_SLASH_PATTERN = Pattern.compile("\\/(.?)");
+    private static final Pattern CAMELIZE_CLASS_NAME_PATTERN = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern CAMELIZE_UNDERSCORE_PATTERN = Pattern.compile("(_)(.)");
+    private static final Pattern CAMELIZE_HYPHEN_PATTERN = Pattern.compile("(-)(.)");
+    private static final Pattern DOLLAR_PATTERN = Pattern.compile("\\$");
+    private static final Pattern UNDERSCORE_FIRST_PATTERN = Pattern.compile("([A-Z]+)([A-Z][a-z][a-z]+)");
+    private static final Pattern UNDERSCORE_SECOND_PATTERN = Pattern.compile("([a-z\\d])([A-Z])");
+    private static final Pattern TRAILING_NUMBER_PATTERN = Pattern.compile("\\d+\\z");
+    private static final Pattern BRACKETS_PATTERN = Pattern.compile("\\[\\]");
+    private static final Pattern OPENING_SEPARATOR_PATTERN = Pattern.compile("[\\[(.\\- ]");
+    private static final Pattern CLOSING_BRACKET_PATTERN = Pattern.compile("[\\])]");
+    private static final Pattern UNICODE_NON_WORD_PATTERN = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final NameTransformationCache CAMELIZE_CACHE = NameTransformationCache.create("camelize");
+    private static final NameTransformationCache CAMELIZE_LOWER_CACHE = NameTransformationCache.create("camelizeLowerFirstLetter");
+    private static final NameTransformationCache UNDERSCORE_CACHE = NameTransformationCache.create("underscore");
+    private static final NameTransformationCache DASHIZE_CACHE = NameTransformationCache.create("dashize");
+    private static final NameTransformationCache SANITIZE_NAME_CACHE = NameTransformationCache.create("sanitizeName");
+    private static final NameTransformationCache SANITIZE_UNICODE_NAME_CACHE = NameTransformationCache.create("sanitizeUnicodeName");
+
+    /**
+     * Escapes descriptions the same as the former chain of escapeJava, replace("\\/", "/"), unescapeJava, replacing
+     * tabs and line breaks with spaces and escaping backslashes and quotes, in one pass. The round trip through
+     * escapeJava and unescapeJava kept the text, except for dropping a backslash right before a slash.
+     */
+    private static final TextEscaper TEXT_ESCAPER = TextEscaper.builder()
+            .replace('\t', " ")
+            .replace('\n', " ")
+            .replace('\r', " ")
+            .replace("\\/", "/")
+            .replace('\\', "\\\\")
+            .replace('"', "\\\"")
+            .build();
+
+    private static final int MAX_RESERVED_WORD_TABLES = 256;
+
+    /**
+     * Flags set by configureDataForTestTemplate, computed only when a template reads one of them or testPath.
+     */
+    private static final String[] TEST_TEMPLATE_EXTENSIONS = {
+            CodegenConstants.IS_GET_METHOD_EXT_NAME,
+            CodegenConstants.IS_POST_METHOD_EXT_NAME,
+            CodegenConstants.IS_PUT_METHOD_EXT_NAME,
+            CodegenConstants.IS_DELETE_METHOD_EXT_NAME,
+            CodegenConstants.IS_HEAD_METHOD_EXT_NAME,
+            CodegenConstants.IS_TRACE_METHOD_EXT_NAME,
+            CodegenConstants.IS_PATCH_METHOD_EXT_NAME,
+            CodegenConstants.IS_OPTIONS_METHOD_EXT_NAME
+    };
+
+    /**
+     * Reserved word tables by the words they were built from, shared by all configs setting the same words.
+     */
+    private static final Map<List<String>, ReservedWordTable> RESERVED_WORD_TABLES = new ConcurrentHashMap<>();
+    private static final Map<List<String>, ReservedWordTable> LOWER_CASE_RESERVED_WORD_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Language arguments by arguments location, parsed once per config class.
+     */
+    private static final ClassValue<Map<String, Optional<List<CodegenArgument>>>> LANGUAGE_ARGUMENTS = new ClassValue<Map<String, Optional<List<CodegenArgument>>>>() {
+        @Override
+        protected Map<String, Optional<List<CodegenArgument>>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static final String DEFAULT_CONTENT_TYPE = "application/json";
     public static final String REQUEST_BODY_NAME = "body";
     public static final String DEFAULT_TEMPLATE_DIR = "handlebars";
+    public static final String PARALLEL_MODEL_CONVERSION = "parallelModelConversion";
+    public static final String PARALLEL_OPERATION_CONVERSION = "parallelOperationConversion";
+    public static final String CONVERSION_THREADS = "conversionThreads";
+    public static final String INCREMENTAL_RENDERING = "incrementalRendering";
+    public static final String STREAMING_EXAMPLES = "streamingExamples";
+    public static final String EXAMPLE_MAX_DEPTH = "exampleMaxDepth";
+    public static final String EXAMPLE_MAX_ITEMS = "exampleMaxItems";
+    public static final String TEMPLATE_CACHE = "templateCache";
+    public static final String WRITE_AVOIDANCE = "writeAvoidance";
+    public static final String REMOVE_STALE_FILES = "removeStaleFiles";
+    public static final String PRUNE_UNREACHABLE_MODELS = "pruneUnreachableModels";
+    public static final String SELECTED_TAGS = "selectedTags";
+    public static final String SELECTED_PATHS = "selectedPaths";
+    public static final String SHARD_COUNT = "shardCount";
+    public static final String SHARD_INDEX = "shardIndex";
+    public static final String SHARD_MERGE = "shardMerge";
 
     protected OpenAPI openAPI;
     protected OpenAPI unflattenedOpenAPI;
+    private volatile OpenAPIRefIndex refIndex;
+    private volatile TemplateUsage templateUsage;
+    private volatile ExampleCache exampleCache;
     protected String inputSpec;
     protected String inputURL;
     protected String outputFolder = StringUtils.EMPTY;
-    protected Set<String> defaultIncludes = new HashSet<String>();
-    protected Map<String, String> typeMapping = new HashMap<String, String>();
-    protected Map<String, String> instantiationTypes = new HashMap<String, String>();
+    protected Set<String> defaultIncludes;
+    protected Map<String, String> typeMapping;
+    protected Map<String, String> instantiationTypes;
     protected Set<String> reservedWords = new HashSet<String>();
+    // the reserved words set by setReservedWords(LowerCase), looked up case-insensitively while it is unchanged
+    private CopyOnWriteSet<String> sharedReservedWords;
+    private Set<String> sharedReservedWordsIgnoreCase;
     protected Set<String> languageSpecificPrimitives = new HashSet<String>();
-    protected Map<String, String> importMapping = new HashMap<String, String>();
+    protected Map<String, String> importMapping;
     protected String modelPackage = StringUtils.EMPTY;
     protected String apiPackage = StringUtils.EMPTY;
     protected String fileSuffix;
@@ -151,6 +262,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     protected List<SupportingFile> supportingFiles = new ArrayList<SupportingFile>();
     protected List<CliOption> cliOptions = new ArrayList<CliOption>();
     protected List<CodegenArgument> languageArguments;
+    private List<CodegenArgument> indexedLanguageArguments;
+    private int indexedLanguageArgumentsSize;
+    private Map<String, CodegenArgument> languageArgumentsByOption;
     protected boolean skipOverwrite;
     protected boolean removeOperationIdPrefix;
     protected boolean supportsInheritance;
@@ -163,13 +277,61 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     protected String gitUserId, gitRepoId, releaseNote, gitRepoBaseURL;
     protected String httpUserAgent;
     protected Boolean hideGenerationTimestamp = true;
-    protected TemplateEngine templateEngine = new HandlebarTemplateEngine(this);
+    protected TemplateEngine templateEngine = new CodegenHandlebarTemplateEngine(this);
+    // templateEngine as handed out by getTemplateEngine, with flight recorder events and the output sink
+    private TemplateEngine eventTemplateEngine;
+    private TemplateEngine eventTemplateEngineDelegate;
+    private TemplateEngine sinkTemplateEngine;
+    private TemplateEngine sinkTemplateEngineDelegate;
     // How to encode special characters like $
     // They are translated to words like "Dollar" and prefixed with '
     // Then translated back during JSON encoding and decoding
-    protected Map<String, String> specialCharReplacements = new HashMap<String, String>();
+    protected Map<String, String> specialCharReplacements;
     // When a model is an alias for a simple type
-    protected Map<String, String> typeAliases = null;
+    protected volatile Map<String, String> typeAliases = null;
+    // Opt-in: convert component schemas and operations on a fork-join pool before the generator asks for them
+    protected boolean parallelModelConversion;
+    protected boolean parallelOperationConversion;
+    protected int conversionThreads = Runtime.getRuntime().availableProcessors();
+    private final Map<String, PrecomputedModel> precomputedModels = new ConcurrentHashMap<>();
+    private Map<String, Schema> precomputedDefinitions;
+    private final Map<String, PrecomputedOperation> precomputedOperations = new ConcurrentHashMap<>();
+    private OpenAPI precomputedOpenAPI;
+    // operationId positions of each tag's operation list, see addOperationToGroup
+    private final Map<String, OperationIdIndex> operationIdIndexes = new HashMap<>();
+    // Opt-in: only render model and api files whose fingerprint differs from the last run's manifest. The whole
+    // spec is still converted, the fingerprints only decide which files are rendered and written
+    protected boolean incrementalRendering;
+    private GenerationManifest previousManifest;
+    private GenerationManifest currentManifest;
+    private SpecFingerprints specFingerprints;
+    private final Set<String> unchangedFiles = new HashSet<>();
+    // Opt-in: don't write model and api files whose content would not change, see OutputSink
+    protected boolean writeAvoidance;
+    protected boolean removeStaleFiles;
+    private OutputSink outputSink;
+    // Opt-in: only convert the operations of the selected tags and paths and the schemas they reach, see SpecPruner
+    protected boolean pruneUnreachableModels;
+    protected List<String> selectedTags;
+    protected List<String> selectedPaths;
+    // Opt-in: render only the model and api files of one shard, or only the supporting files when merging.
+    // Every shard still converts the whole spec, see GenerationShards
+    protected int shardCount = 1;
+    protected int shardIndex;
+    protected boolean shardMerge;
+    private GenerationShards shards;
+    private Map<String, CodegenModel> shardedModels;
+    // api groups the generator renders, with their operations when known, see addApiGroup
+    private final Map<String, List<CodegenOperation>> apiGroups = new LinkedHashMap<>();
+    private Map<String, Object> lastApiGroup;
+    private InheritanceGraph inheritanceGraph;
+    // Opt-in: stream examples with the ExampleWriter and add XML examples for responses with XML content.
+    // Off by default since some templates embed every example as JSON.
+    protected boolean streamingExamples;
+    protected int exampleMaxDepth = ExampleWriter.DEFAULT_MAX_DEPTH;
+    protected int exampleMaxItems = ExampleWriter.DEFAULT_MAX_ITEMS;
+    // Set by profiled(), the caller reads or writes the report once the generation is done
+    private GenerationProfiler profiler;
 
     protected String ignoreFilePathOverride;
     protected boolean useOas2 = false;
@@ -185,6 +347,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             this.customTemplateDir = additionalProperties.get(CodegenConstants.TEMPLATE_DIR).toString();
         }
         this.embeddedTemplateDir = this.templateDir = getTemplateDir();
+        this.templateUsage = null;
 
         if (additionalProperties.get(CodegenConstants.IGNORE_IMPORT_MAPPING_OPTION) != null) {
             setIgnoreImportMapping(Boolean.parseBoolean( additionalProperties.get(CodegenConstants.IGNORE_IMPORT_MAPPING_OPTION).toString()));
@@ -253,6 +416,77 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             this.setUseOas2(Boolean.valueOf(additionalProperties.get(CodegenConstants.USE_OAS2).toString()));
         }
 
+        if (additionalProperties.containsKey(PARALLEL_MODEL_CONVERSION)) {
+            this.setParallelModelConversion(Boolean.valueOf(additionalProperties.get(PARALLEL_MODEL_CONVERSION).toString()));
+        }
+
+        if (additionalProperties.containsKey(PARALLEL_OPERATION_CONVERSION)) {
+            this.setParallelOperationConversion(Boolean.valueOf(additionalProperties.get(PARALLEL_OPERATION_CONVERSION).toString()));
+        }
+
+        if (additionalProperties.containsKey(INCREMENTAL_RENDERING)) {
+            this.setIncrementalRendering(Boolean.valueOf(additionalProperties.get(INCREMENTAL_RENDERING).toString()));
+        }
+
+        if (additionalProperties.containsKey(WRITE_AVOIDANCE)) {
+            this.setWriteAvoidance(Boolean.valueOf(additionalProperties.get(WRITE_AVOIDANCE).toString()));
+        }
+
+        if (additionalProperties.containsKey(REMOVE_STALE_FILES)) {
+            this.setRemoveStaleFiles(Boolean.valueOf(additionalProperties.get(REMOVE_STALE_FILES).toString()));
+        }
+        this.outputSink = writeAvoidance ? new OutputSink(outputFolder()) : null;
+        this.sinkTemplateEngineDelegate = null;
+
+        if (additionalProperties.containsKey(PRUNE_UNREACHABLE_MODELS)) {
+            this.setPruneUnreachableModels(Boolean.valueOf(additionalProperties.get(PRUNE_UNREACHABLE_MODELS).toString()));
+        }
+
+        if (additionalProperties.containsKey(SELECTED_TAGS)) {
+            this.setSelectedTags(toList(additionalProperties.get(SELECTED_TAGS)));
+        } else if (System.getProperty("apis") != null) {
+            // the api groups to generate, as given to the generator
+            this.setSelectedTags(toList(System.getProperty("apis")));
+        }
+
+        if (additionalProperties.containsKey(SELECTED_PATHS)) {
+            this.setSelectedPaths(toList(additionalProperties.get(SELECTED_PATHS)));
+        }
+
+        if (additionalProperties.containsKey(SHARD_COUNT)) {
+            this.setShardCount(Integer.parseInt(additionalProperties.get(SHARD_COUNT).toString()));
+        }
+
+        if (additionalProperties.containsKey(SHARD_INDEX)) {
+            this.setShardIndex(Integer.parseInt(additionalProperties.get(SHARD_INDEX).toString()));
+        }
+
+        if (additionalProperties.containsKey(SHARD_MERGE)) {
+            this.setShardMerge(Boolean.valueOf(additionalProperties.get(SHARD_MERGE).toString()));
+        }
+        this.shards = shardCount > 1 ? new GenerationShards(shardCount, shardMerge ? GenerationShards.MERGE : shardIndex) : null;
+        this.apiGroups.clear();
+        this.lastApiGroup = null;
+        this.currentManifest = null;
+        this.previousManifest = null;
+        this.unchangedFiles.clear();
+
+        if (additionalProperties.containsKey(STREAMING_EXAMPLES)) {
+            this.setStreamingExamples(Boolean.valueOf(additionalProperties.get(STREAMING_EXAMPLES).toString()));
+        }
+
+        if (additionalProperties.containsKey(EXAMPLE_MAX_DEPTH)) {
+            this.setExampleMaxDepth(Integer.parseInt(additionalProperties.get(EXAMPLE_MAX_DEPTH).toString()));
+        }
+
+        if (additionalProperties.containsKey(EXAMPLE_MAX_ITEMS)) {
+            this.setExampleMaxItems(Integer.parseInt(additionalProperties.get(EXAMPLE_MAX_ITEMS).toString()));
+        }
+
+        if (additionalProperties.containsKey(CONVERSION_THREADS)) {
+            this.setConversionThreads(Integer.parseInt(additionalProperties.get(CONVERSION_THREADS).toString()));
+        }
+
         setTemplateEngine();
     }
 
@@ -269,48 +503,54 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             }
         }
         postProcessAllCodegenModels(allModels);
+        if (incrementalRendering) {
+            fingerprintModels(processedModels, allModels);
+        }
+        if (shards != null) {
+            assignModelFiles(processedModels, allModels);
+        }
+        if (outputSink != null) {
+            addModelSources(processedModels);
+        }
         return processedModels;
     }
 
     protected void postProcessAllCodegenModels(Map<String, CodegenModel> allModels) {
         if (supportsInheritance) {
-            for (String name : allModels.keySet()) {
-                final CodegenModel codegenModel = allModels.get(name);
+            for (CodegenModel codegenModel : getInheritanceGraph(allModels).getModels()) {
                 fixUpParentAndInterfaces(codegenModel, allModels);
             }
         }
     }
 
     /**
-     * Fix up all parent and interface CodegenModel references.
+     * @return the inheritance graph of the given models, built once per map of models
+     */
+    protected InheritanceGraph getInheritanceGraph(Map<String, CodegenModel> allModels) {
+        if (inheritanceGraph == null || inheritanceGraph.getAllModels() != allModels) {
+            inheritanceGraph = new InheritanceGraph(allModels);
+        }
+        return inheritanceGraph;
+    }
+
+    /**
+     * Fix up all parent and interface CodegenModel references. Models are fixed up parents first, so the parent
+     * chain of a model is complete when it is called.
      * @param allModels
      */
     protected void fixUpParentAndInterfaces(CodegenModel codegenModel, Map<String, CodegenModel> allModels) {
+        final InheritanceGraph graph = getInheritanceGraph(allModels);
         if (codegenModel.parent != null) {
-            codegenModel.parentModel = allModels.get(codegenModel.parent);
+            codegenModel.parentModel = graph.getParent(codegenModel);
         }
         if (codegenModel.interfaces != null && !codegenModel.interfaces.isEmpty()) {
-            codegenModel.interfaceModels = new ArrayList<CodegenModel>(codegenModel.interfaces.size());
-            for (String intf : codegenModel.interfaces) {
-                CodegenModel intfModel = allModels.get(intf);
-                if (intfModel != null) {
-                    codegenModel.interfaceModels.add(intfModel);
-                }
-            }
+            codegenModel.interfaceModels = graph.getInterfaces(codegenModel);
         }
-        CodegenModel parent = codegenModel.parentModel;
         // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy
         // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
-        while (parent != null) {
-            if (parent.children == null) {
-                parent.children = new ArrayList<CodegenModel>();
-            }
-            parent.children.add(codegenModel);
-            if (parent.discriminator == null) {
-                parent = allModels.get(parent.parent);
-            } else {
-                parent = null;
-            }
+        final List<CodegenModel> children = graph.getChildren(codegenModel);
+        if (!children.isEmpty()) {
+            codegenModel.children = new ArrayList<>(children);
         }
     }
 
@@ -465,8 +705,10 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     }
 
     // override with any special post-processing
-    @SuppressWarnings("static-method")
     public Map<String, Object> postProcessOperationsWithModels(Map<String, Object> objs, List<Object> allModels) {
+        if (incrementalRendering || shards != null || outputSink != null) {
+            lastApiGroup = objs;
+        }
         return objs;
     }
 
@@ -488,11 +730,33 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
 
     @Override
     public void preprocessOpenAPI(OpenAPI openAPI) {
+        pruneOpenAPI(openAPI);
         this.openAPI = openAPI;
     }
 
+    /**
+     * Removes the operations not selected and the schemas the selected ones do not reach, when pruning
+     * unreachable models. Called by preprocessOpenAPI, before any schema is converted.
+     */
+    protected void pruneOpenAPI(OpenAPI openAPI) {
+        if (pruneUnreachableModels && openAPI != null) {
+            new SpecPruner(selectedTags, selectedPaths, this::sanitizeTag).prune(openAPI);
+        }
+    }
+
     @Override
     public void processOpenAPI(OpenAPI openAPI) {
+        if (incrementalRendering && currentManifest != null) {
+            currentManifest.write(outputFolder());
+        }
+        if (outputSink != null) {
+            final OutputSink.Report report = outputSink.finish(removeStaleFiles);
+            LOGGER.info("Wrote " + report.getWritten().size() + " files, left " + report.getSkipped().size()
+                    + " unchanged files untouched and removed " + report.getRemoved().size() + " stale files");
+        }
+        if (shards != null && shards.isMerge()) {
+            verifyShards();
+        }
     }
 
     public Mustache.Compiler processCompiler(Mustache.Compiler compiler) {
@@ -501,7 +765,23 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
 
     @Override
     public TemplateEngine getTemplateEngine() {
-        return this.templateEngine;
+        final TemplateEngine templateEngine = getEventTemplateEngine();
+        if (outputSink == null) {
+            return templateEngine;
+        }
+        if (sinkTemplateEngineDelegate != templateEngine) {
+            sinkTemplateEngineDelegate = templateEngine;
+            sinkTemplateEngine = outputSink.instrument(templateEngine);
+        }
+        return sinkTemplateEngine;
+    }
+
+    private TemplateEngine getEventTemplateEngine() {
+        if (eventTemplateEngineDelegate != this.templateEngine) {
+            eventTemplateEngineDelegate = this.templateEngine;
+            eventTemplateEngine = GenerationEvents.instrument(this, this.templateEngine);
+        }
+        return eventTemplateEngine;
     }
 
     // override with any special text escaping logic
@@ -514,15 +794,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         // remove \t, \n, \r
         // replace \ with \\
         // replace " with \"
-        // outter unescape to retain the original multi-byte characters
+        // in a single pass, see TEXT_ESCAPER
         // finally escalate characters avoiding code injection
-        return escapeUnsafeCharacters(
-                StringEscapeUtils.unescapeJava(
-                        StringEscapeUtils.escapeJava(input)
-                                .replace("\\/", "/"))
-                        .replaceAll("[\\t\\n\\r]"," ")
-                        .replace("\\", "\\\\")
-                        .replace("\"", "\\\""));
+        return escapeUnsafeCharacters(TEXT_ESCAPER.escape(input));
     }
 
     /**
@@ -932,7 +1206,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
 
         instantiationTypes = new HashMap<String, String>();
 
-        reservedWords = new HashSet<>();
+        reservedWords = new CopyOnWriteSet<>(Collections.emptySet());
 
         importMapping = getImportMappings();
 
@@ -952,7 +1226,15 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
                 .ALLOW_UNICODE_IDENTIFIERS_DESC).defaultValue(Boolean.FALSE.toString()));
 
         // initialize special character mapping
-        initalizeSpecialCharacterMapping(specialCharReplacements);
+        specialCharReplacements = getSpecialCharacterMapping();
+    }
+
+    /**
+     * @return the type mapping every config starts with, shared and unmodifiable, for languages building their own
+     * shared tables from it
+     */
+    protected static Map<String, String> getDefaultTypeMapping() {
+        return CodegenHelper.getTypeMappingTable();
     }
 
     /**
@@ -1320,10 +1602,128 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return Codegen Model object
      */
     public CodegenModel fromModel(String name, Schema schema, Map<String, Schema> allDefinitions) {
+        initTypeAliases(allDefinitions);
+        if (parallelModelConversion && allDefinitions != null) {
+            final CodegenModel precomputed = takePrecomputedModel(name, schema, allDefinitions);
+            if (precomputed != null) {
+                return precomputed;
+            }
+        }
+        return convertModel(name, schema, allDefinitions);
+    }
+
+    /**
+     * Convert all given schemas to Codegen Model objects, on a fork-join pool when parallel model conversion
+     * is enabled. The result is keyed and ordered like the given map and equals the result of a serial run.
+     *
+     * @param schemas the schemas to convert, keyed by name
+     * @param allDefinitions a map of all Swagger models from the spec
+     * @return Codegen Model objects keyed by schema name
+     */
+    public Map<String, CodegenModel> fromModels(Map<String, Schema> schemas, Map<String, Schema> allDefinitions) {
+        final Map<String, CodegenModel> codegenModels = new LinkedHashMap<>();
+        if (schemas == null || schemas.isEmpty()) {
+            return codegenModels;
+        }
+        initTypeAliases(allDefinitions);
+        if (parallelModelConversion && schemas.size() > 1) {
+            final Map<String, CodegenModel> converted = convertModelsInParallel(schemas, allDefinitions);
+            for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+                final CodegenModel codegenModel = converted.get(entry.getKey());
+                codegenModels.put(entry.getKey(), codegenModel != null ? codegenModel : convertModel(entry.getKey(), entry.getValue(), allDefinitions));
+            }
+            return codegenModels;
+        }
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            codegenModels.put(entry.getKey(), convertModel(entry.getKey(), entry.getValue(), allDefinitions));
+        }
+        return codegenModels;
+    }
+
+    private void initTypeAliases(Map<String, Schema> allDefinitions) {
         if (typeAliases == null) {
-            // Only do this once during first call
-            typeAliases = getAllAliases(allDefinitions);
+            synchronized (this) {
+                if (typeAliases == null) {
+                    // Only do this once during first call
+                    typeAliases = getAllAliases(allDefinitions);
+                }
+            }
         }
+    }
+
+    /**
+     * Hands out a model converted ahead of time by the fork-join pool. All component schemas are converted on the
+     * first call, each precomputed model is returned at most once and only for the very schema it was built from;
+     * anything else falls back to the serial conversion.
+     */
+    private CodegenModel takePrecomputedModel(String name, Schema schema, Map<String, Schema> allDefinitions) {
+        synchronized (precomputedModels) {
+            if (precomputedDefinitions != allDefinitions) {
+                precomputedDefinitions = allDefinitions;
+                precomputedModels.clear();
+                if (allDefinitions.size() > 1) {
+                    final Map<String, CodegenModel> converted = convertModelsInParallel(allDefinitions, allDefinitions);
+                    for (Map.Entry<String, CodegenModel> entry : converted.entrySet()) {
+                        precomputedModels.put(entry.getKey(), new PrecomputedModel(allDefinitions.get(entry.getKey()), entry.getValue()));
+                    }
+                }
+            }
+        }
+        final PrecomputedModel precomputed = precomputedModels.remove(name);
+        if (precomputed == null || precomputed.schema != schema) {
+            return null;
+        }
+        return precomputed.codegenModel;
+    }
+
+    private Map<String, CodegenModel> convertModelsInParallel(Map<String, Schema> schemas, Map<String, Schema> allDefinitions) {
+        final Map<String, CodegenModel> converted = new ConcurrentHashMap<>();
+        runInParallel(schemas.entrySet(), entry -> {
+            if (entry.getValue() == null) {
+                return;
+            }
+            try {
+                converted.put(entry.getKey(), convertModel(entry.getKey(), entry.getValue(), allDefinitions));
+            } catch (RuntimeException e) {
+                // left to the serial conversion, which reports the error in order
+                LOGGER.debug("Could not convert model " + entry.getKey() + " in parallel", e);
+            }
+        });
+        return converted;
+    }
+
+    /**
+     * Runs the given action for all items on a fork-join pool of <code>conversionThreads</code> threads.
+     */
+    <T> void runInParallel(Collection<T> items, Consumer<T> action) {
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, conversionThreads));
+        try {
+            pool.submit(() -> items.parallelStream().forEach(action)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during parallel conversion", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel conversion failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class PrecomputedModel {
+        private final Schema schema;
+        private final CodegenModel codegenModel;
+
+        private PrecomputedModel(Schema schema, CodegenModel codegenModel) {
+            this.schema = schema;
+            this.codegenModel = codegenModel;
+        }
+    }
+
+    /**
+     * Converts a single schema. Only reads the language tables (typeMapping, reservedWords, importMapping, ...)
+     * that are set up before generation, so it may be called concurrently for distinct schemas.
+     */
+    private CodegenModel convertModel(String name, Schema schema, Map<String, Schema> allDefinitions) {
         final CodegenModel codegenModel = CodegenModelFactory.newInstance(CodegenModelType.MODEL);
         if (reservedWords.contains(name)) {
             codegenModel.name = escapeReservedWord(name);
@@ -1336,7 +1736,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         codegenModel.classname = toModelName(name);
         codegenModel.classVarName = toVarName(name);
         codegenModel.classFilename = toModelFilename(name);
-        codegenModel.modelJson = Json.pretty(schema);
+        if (getTemplateUsage().isReferenced("modelJson")) {
+            codegenModel.modelJson = Json.pretty(schema);
+        }
         codegenModel.externalDocumentation = schema.getExternalDocs();
         if (schema.getExtensions() != null && !schema.getExtensions().isEmpty()) {
             codegenModel.getVendorExtensions().putAll(schema.getExtensions());
@@ -1614,7 +2016,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         }
         codegenProperty.defaultValue = toDefaultValue(schema);
         codegenProperty.defaultValueWithParam = toDefaultValueWithParam(name, schema);
-        codegenProperty.jsonSchema = Json.pretty(schema);
+        if (getTemplateUsage().isReferenced("jsonSchema")) {
+            codegenProperty.jsonSchema = Json.pretty(schema);
+        }
         codegenProperty.nullable = Boolean.TRUE.equals(schema.getNullable());
         codegenProperty.getVendorExtensions().put(CodegenConstants.IS_NULLABLE_EXT_NAME, Boolean.TRUE.equals(schema.getNullable()));
         if (schema.getReadOnly() != null) {
@@ -2007,6 +2411,121 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return Codegen Operation object
      */
     public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas, OpenAPI openAPI) {
+        if (parallelOperationConversion && openAPI != null && openAPI.getPaths() != null) {
+            final CodegenOperation precomputed = takePrecomputedOperation(path, httpMethod, operation, schemas, openAPI);
+            if (precomputed != null) {
+                return precomputed;
+            }
+        }
+        return convertOperation(path, httpMethod, operation, schemas, openAPI, null);
+    }
+
+    /**
+     * Hands out an operation converted ahead of time by the fork-join pool. All operations of the spec are converted
+     * on the first call; each one is returned at most once, to the first (path, method) lookup for the very same
+     * operation. Response examples are generated here rather than on the pool: the example generator caches values
+     * on shared schemas, so it has to see the operations in the generator's order to produce the serial output.
+     */
+    private CodegenOperation takePrecomputedOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas, OpenAPI openAPI) {
+        synchronized (precomputedOperations) {
+            if (precomputedOpenAPI != openAPI) {
+                precomputedOpenAPI = openAPI;
+                precomputedOperations.clear();
+                precomputeOperations(schemas, openAPI);
+            }
+        }
+        final PrecomputedOperation precomputed = precomputedOperations.remove(operationKey(path, httpMethod));
+        if (precomputed == null || precomputed.operation != operation || precomputed.schemas != schemas || precomputed.codegenOperation == null) {
+            return null;
+        }
+        final CodegenOperation codegenOperation = precomputed.codegenOperation;
+        if (precomputed.exampleSchema != null) {
+            codegenOperation.examples = createExampleGenerator(openAPI).generate(null, precomputed.exampleMediaTypes, precomputed.exampleSchema);
+        }
+        return codegenOperation;
+    }
+
+    private void precomputeOperations(Map<String, Schema> schemas, OpenAPI openAPI) {
+        final List<PrecomputedOperation> pending = new ArrayList<>();
+        // operations outside the selected api groups are left to the generator, which skips them
+        final SpecPruner selection = new SpecPruner(selectedTags, selectedPaths, this::sanitizeTag);
+        for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
+            final PathItem pathItem = pathEntry.getValue();
+            if (pathItem == null) {
+                continue;
+            }
+            addPendingOperation(pending, selection, pathEntry.getKey(), "get", pathItem.getGet(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "head", pathItem.getHead(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "put", pathItem.getPut(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "post", pathItem.getPost(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "delete", pathItem.getDelete(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "patch", pathItem.getPatch(), pathItem, schemas);
+            addPendingOperation(pending, selection, pathEntry.getKey(), "options", pathItem.getOptions(), pathItem, schemas);
+        }
+        if (pending.size() < 2) {
+            return;
+        }
+        runInParallel(pending, precomputed -> {
+            try {
+                precomputed.codegenOperation = convertOperation(precomputed.path, precomputed.httpMethod, precomputed.operation, schemas, openAPI, precomputed);
+            } catch (RuntimeException e) {
+                // left to the serial conversion, which reports the error in order
+                LOGGER.debug("Could not convert operation " + precomputed.httpMethod + " " + precomputed.path + " in parallel", e);
+            }
+        });
+        for (PrecomputedOperation precomputed : pending) {
+            precomputedOperations.put(operationKey(precomputed.path, precomputed.httpMethod), precomputed);
+        }
+    }
+
+    private static void addPendingOperation(List<PrecomputedOperation> pending, SpecPruner selection, String path, String httpMethod, Operation operation, PathItem pathItem, Map<String, Schema> schemas) {
+        if (operation == null || !selection.isSelected(path, operation)) {
+            return;
+        }
+        // path level parameters are merged into the operation by the generator right before it is converted,
+        // do the same (idempotent) merge up front so the precomputed operation sees them too
+        if (pathItem.getParameters() != null) {
+            final Set<String> operationParameters = new HashSet<>();
+            if (operation.getParameters() != null) {
+                for (Parameter parameter : operation.getParameters()) {
+                    operationParameters.add(parameter.getName() + ":" + parameter.getIn());
+                }
+            }
+            for (Parameter parameter : pathItem.getParameters()) {
+                if (!operationParameters.contains(parameter.getName() + ":" + parameter.getIn())) {
+                    operation.addParametersItem(parameter);
+                }
+            }
+        }
+        pending.add(new PrecomputedOperation(path, httpMethod, operation, schemas));
+    }
+
+    private static String operationKey(String path, String httpMethod) {
+        return httpMethod.toLowerCase() + " " + path;
+    }
+
+    private static class PrecomputedOperation {
+        private final String path;
+        private final String httpMethod;
+        private final Operation operation;
+        private final Map<String, Schema> schemas;
+        private CodegenOperation codegenOperation;
+        private Schema exampleSchema;
+        private List<String> exampleMediaTypes;
+
+        private PrecomputedOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas) {
+            this.path = path;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+            this.schemas = schemas;
+        }
+    }
+
+    /**
+     * Converts a single operation. When converting ahead of time (precomputed is set) the response examples are
+     * not generated but their schema is recorded for the hand-out.
+     */
+    private CodegenOperation convertOperation(String path, String httpMethod, Operation operation, Map<String, Schema> schemas, OpenAPI openAPI, PrecomputedOperation precomputed) {
         CodegenOperation codegenOperation = CodegenModelFactory.newInstance(CodegenModelType.OPERATION);
         Set<String> imports = new HashSet<String>();
         if (operation.getExtensions() != null && !operation.getExtensions().isEmpty()) {
@@ -2087,8 +2606,14 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
                             codegenOperation.returnBaseType = codegenProperty.baseType;
                         }
                     }
-                    if (!additionalProperties.containsKey(CodegenConstants.DISABLE_EXAMPLES_OPTION)) {
-                        codegenOperation.examples = new ExampleGenerator(openAPI).generate(null, null, responseSchema);
+                    if (!additionalProperties.containsKey(CodegenConstants.DISABLE_EXAMPLES_OPTION)
+                            && getTemplateUsage().isReferenced("examples")) {
+                        if (precomputed != null) {
+                            precomputed.exampleSchema = responseSchema;
+                            precomputed.exampleMediaTypes = getExampleMediaTypes(methodResponse);
+                        } else {
+                            codegenOperation.examples = createExampleGenerator(openAPI).generate(null, getExampleMediaTypes(methodResponse), responseSchema);
+                        }
                     }
                     codegenOperation.defaultResponse = toDefaultValue(responseSchema);
                     codegenOperation.returnType = codegenProperty.datatype;
@@ -2303,7 +2828,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         codegenResponse.schema = responseSchema;
         codegenResponse.message = escapeText(response.getDescription());
 
-        if (response.getContent()!= null) {
+        if (response.getContent()!= null && getTemplateUsage().isReferenced("examples")) {
             Map<String, Object> examples = new HashMap<>();
             for (String name : response.getContent().keySet()) {
                 if (response.getContent().get(name) != null) {
@@ -2322,7 +2847,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             codegenResponse.examples = toExamples(examples);
         }
 
-        codegenResponse.jsonSchema = Json.pretty(response);
+        if (getTemplateUsage().isReferenced("jsonSchema")) {
+            codegenResponse.jsonSchema = Json.pretty(response);
+        }
         if (response.getExtensions() != null && !response.getExtensions().isEmpty()) {
             codegenResponse.vendorExtensions.putAll(response.getExtensions());
         }
@@ -2421,7 +2948,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         if (parameter.getRequired() != null) {
             codegenParameter.required = parameter.getRequired();
         }
-        codegenParameter.jsonSchema = Json.pretty(parameter);
+        if (getTemplateUsage().isReferenced("jsonSchema")) {
+            codegenParameter.jsonSchema = Json.pretty(parameter);
+        }
 
         if (System.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + parameter.getName());
@@ -2662,7 +3191,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         codegenParameter.required = body.getRequired() != null ? body.getRequired() : Boolean.FALSE;
         codegenParameter.getVendorExtensions().put(CodegenConstants.IS_BODY_PARAM_EXT_NAME, Boolean.TRUE);
 
-        codegenParameter.jsonSchema = Json.pretty(body);
+        if (getTemplateUsage().isReferenced("jsonSchema")) {
+            codegenParameter.jsonSchema = Json.pretty(body);
+        }
 
         if (body.getContent() != null && !body.getContent().isEmpty()) {
             Object example = new ArrayList<>(body.getContent().values()).get(0).getExample();
@@ -2888,19 +3419,61 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     }
 
     protected void setReservedWordsLowerCase(List<String> words) {
-        reservedWords = new HashSet<String>();
-        for (String word : words) {
-            reservedWords.add(word.toLowerCase());
-        }
+        setReservedWordTable(getReservedWordTable(LOWER_CASE_RESERVED_WORD_TABLES, words, true));
     }
 
     protected void setReservedWords(List<String> words) {
-        reservedWords = new HashSet<String>();
-        reservedWords.addAll(words);
+        setReservedWordTable(getReservedWordTable(RESERVED_WORD_TABLES, words, false));
+    }
+
+    private void setReservedWordTable(ReservedWordTable table) {
+        sharedReservedWords = new CopyOnWriteSet<>(table.words);
+        sharedReservedWordsIgnoreCase = table.lowerCaseWordsIgnoreCase;
+        reservedWords = sharedReservedWords;
+    }
+
+    /**
+     * Languages set the same reserved words on every construction, so the sets are built once and shared.
+     */
+    private static ReservedWordTable getReservedWordTable(Map<List<String>, ReservedWordTable> tables, List<String> words, boolean lowerCase) {
+        ReservedWordTable table = tables.get(words);
+        if (table == null) {
+            table = new ReservedWordTable(words, lowerCase);
+            if (tables.size() < MAX_RESERVED_WORD_TABLES) {
+                tables.putIfAbsent(new ArrayList<>(words), table);
+            }
+        }
+        return table;
     }
 
     protected boolean isReservedWord(String word) {
-        return word != null && reservedWords.contains(word.toLowerCase());
+        if (word == null) {
+            return false;
+        }
+        if (reservedWords == sharedReservedWords && sharedReservedWords.isShared()) {
+            return sharedReservedWordsIgnoreCase.contains(word);
+        }
+        return reservedWords.contains(word.toLowerCase());
+    }
+
+    private static final class ReservedWordTable {
+        private final Set<String> words;
+        // the lower case words, which are the only ones a lower cased word can match, compared ignoring case
+        private final Set<String> lowerCaseWordsIgnoreCase;
+
+        private ReservedWordTable(List<String> words, boolean lowerCase) {
+            final Set<String> reservedWords = new HashSet<>();
+            final Set<String> lowerCaseWords = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (String word : words) {
+                final String reservedWord = lowerCase ? word.toLowerCase() : word;
+                reservedWords.add(reservedWord);
+                if (reservedWord.equals(reservedWord.toLowerCase())) {
+                    lowerCaseWords.add(reservedWord);
+                }
+            }
+            this.words = Collections.unmodifiableSet(reservedWords);
+            this.lowerCaseWordsIgnoreCase = Collections.unmodifiableSet(lowerCaseWords);
+        }
     }
 
     /**
@@ -3013,15 +3586,12 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             operations.put(tag, opList);
         }
         // check for operationId uniqueness
-
-        String uniqueName = co.operationId;
-        int counter = 0;
-        for(CodegenOperation op : opList) {
-            if(uniqueName.equals(op.operationId)) {
-                uniqueName = co.operationId + "_" + counter;
-                counter ++;
-            }
+        OperationIdIndex index = operationIdIndexes.get(tag);
+        if (index == null || !index.isIndexOf(opList)) {
+            index = new OperationIdIndex(opList);
+            operationIdIndexes.put(tag, index);
         }
+        String uniqueName = index.uniqueName(co.operationId);
         if(!co.operationId.equals(uniqueName)) {
             LOGGER.warn("generated unique operationId `" + uniqueName + "`");
         }
@@ -3030,9 +3600,58 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         co.operationIdCamelCase = camelize(uniqueName);
         co.operationIdSnakeCase = underscore(uniqueName);
         opList.add(co);
+        index.added(co);
         co.baseName = tag;
     }
 
+    /**
+     * Positions of the operationIds in a tag's operation list. Resolves a unique name exactly like scanning the
+     * list in order (bumping the name to operationId_counter whenever the current name is met) without the scan.
+     * The index is rebuilt whenever the list was changed behind its back.
+     */
+    private static class OperationIdIndex {
+        private final List<CodegenOperation> opList;
+        private final Map<String, List<Integer>> positions = new HashMap<>();
+        private int size;
+
+        private OperationIdIndex(List<CodegenOperation> opList) {
+            this.opList = opList;
+            for (CodegenOperation op : opList) {
+                positions.computeIfAbsent(op.operationId, k -> new ArrayList<>()).add(size++);
+            }
+        }
+
+        private boolean isIndexOf(List<CodegenOperation> opList) {
+            return this.opList == opList && size == opList.size();
+        }
+
+        private String uniqueName(String operationId) {
+            String uniqueName = operationId;
+            int counter = 0;
+            int position = -1;
+            while (true) {
+                final List<Integer> ids = positions.get(uniqueName);
+                if (ids == null) {
+                    return uniqueName;
+                }
+                int next = Collections.binarySearch(ids, position + 1);
+                if (next < 0) {
+                    next = -next - 1;
+                }
+                if (next >= ids.size()) {
+                    return uniqueName;
+                }
+                position = ids.get(next);
+                uniqueName = operationId + "_" + counter;
+                counter++;
+            }
+        }
+
+        private void added(CodegenOperation co) {
+            positions.computeIfAbsent(co.operationId, k -> new ArrayList<>()).add(size++);
+        }
+    }
+
     public void addParentContainer(CodegenModel codegenModel, String name, Schema schema) {
         final CodegenProperty codegenProperty = fromProperty(name, schema);
         addImport(codegenModel, codegenProperty.complexType);
@@ -3057,16 +3676,18 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z][a-z]+)";
-        String secondPattern = "([a-z\\d])([A-Z])";
+        return UNDERSCORE_CACHE.get(word, DefaultCodegenConfig::doUnderscore);
+    }
+
+    private static String doUnderscore(String word) {
         String replacementPattern = "$1_$2";
         // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
+        word = word.replace('.', '/'); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
         // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
+        word = word.replace("$", "__");
         // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
+        word = UNDERSCORE_FIRST_PATTERN.matcher(word).replaceAll(replacementPattern);
+        word = UNDERSCORE_SECOND_PATTERN.matcher(word).replaceAll(replacementPattern);
         word = word.replace('-', '_');
         // replace space with underscore
         word = word.replace(' ', '_');
@@ -3082,7 +3703,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      */
     @SuppressWarnings("static-method")
     protected String dashize(String word) {
-        return underscore(word).replaceAll("[_ ]", "-");
+        return DASHIZE_CACHE.get(word, w -> underscore(w).replace('_', '-').replace(' ', '-'));
     }
 
     /**
@@ -3096,8 +3717,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return The next name for the base name
      */
     private static String generateNextName(String name) {
-        Pattern pattern = Pattern.compile("\\d+\\z");
-        Matcher matcher = pattern.matcher(name);
+        Matcher matcher = TRAILING_NUMBER_PATTERN.matcher(name);
         if (matcher.find()) {
             String numStr = matcher.group();
             int num = Integer.parseInt(numStr) + 1;
@@ -3221,23 +3841,18 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             }
         }
         // check if one of the property is a object and has import mapping.
-        List<CodegenProperty> modelProperties = vars.stream()
-                .filter(codegenProperty -> getBooleanValue(codegenProperty, "x-is-object") && importMapping.containsKey(codegenProperty.baseType))
-                .collect(Collectors.toList());
-        if (modelProperties == null || modelProperties.isEmpty()) {
+        final Set<String> mappedObjectTypes = new HashSet<>();
+        for (CodegenProperty codegenProperty : vars) {
+            if (getBooleanValue(codegenProperty, "x-is-object") && importMapping.containsKey(codegenProperty.baseType)) {
+                mappedObjectTypes.add(codegenProperty.baseType);
+            }
+        }
+        if (mappedObjectTypes.isEmpty()) {
             return;
         }
-
-        for (CodegenProperty modelProperty : modelProperties) {
-            List<CodegenProperty> codegenProperties = vars.stream()
-                    .filter(codegenProperty -> !getBooleanValue(codegenProperty, "x-is-object")
-                            && importMapping.containsKey(codegenProperty.baseType)
-                            && codegenProperty.baseType.equals(modelProperty.baseType))
-                    .collect(Collectors.toList());
-            if (codegenProperties == null || codegenProperties.isEmpty()) {
-                continue;
-            }
-            for (CodegenProperty codegenProperty : codegenProperties) {
+        // other properties of those types use the mapped type as well
+        for (CodegenProperty codegenProperty : vars) {
+            if (!getBooleanValue(codegenProperty, "x-is-object") && mappedObjectTypes.contains(codegenProperty.baseType)) {
                 codegenModel.imports.remove(codegenProperty.baseType);
                 codegenProperty.datatype = importMapping.get(codegenProperty.baseType);
                 codegenProperty.datatypeWithEnum = codegenProperty.datatype;
@@ -3320,10 +3935,25 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
+        if (lowercaseFirstLetter) {
+            return CAMELIZE_LOWER_CACHE.get(word, DefaultCodegenConfig::camelizeLowerFirstLetter);
+        }
+        return CAMELIZE_CACHE.get(word, DefaultCodegenConfig::camelizeUpperFirstLetter);
+    }
+
+    private static String camelizeLowerFirstLetter(String word) {
+        return doCamelize(word, true);
+    }
+
+    private static String camelizeUpperFirstLetter(String word) {
+        return doCamelize(word, false);
+    }
+
+    private static String doCamelize(String word, boolean lowercaseFirstLetter) {
         // Replace all slashes with dots (package separator)
         String originalWord = word;
         LOGGER.trace("camelize start - " + originalWord);
-        Pattern p = Pattern.compile("\\/(.?)");
+        Pattern p = CAMELIZE_SLASH_PATTERN;
         Matcher m = p.matcher(word);
         int i = 0;
         int MAX = 100;
@@ -3359,16 +3989,16 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         }
         i = 0;
         // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        p = CAMELIZE_CLASS_NAME_PATTERN;
         m = p.matcher(word);
         if (m.find()) {
             String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
+            rep = DOLLAR_PATTERN.matcher(rep).replaceAll("\\\\\\$");
             word = m.replaceAll(rep);
         }
 
         // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
+        p = CAMELIZE_UNDERSCORE_PATTERN;
         m = p.matcher(word);
         while (m.find()) {
             if (i > MAX) {
@@ -3379,7 +4009,8 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             String original = m.group(2);
             String upperCase = original.toUpperCase();
             if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
+                final int underscore = word.indexOf('_');
+                word = word.substring(0, underscore) + word.substring(underscore + 1);
             } else {
                 word = m.replaceFirst(upperCase);
             }
@@ -3387,7 +4018,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         }
 
         // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
+        p = CAMELIZE_HYPHEN_PATTERN;
         m = p.matcher(word);
         i = 0;
         while (m.find()) {
@@ -3408,6 +4039,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     }
 
     public String apiFilename(String templateName, String tag) {
+        addApiGroup(tag);
         String suffix = apiTemplateFiles().get(templateName);
         return apiFileFolder() + File.separator + toApiFilename(tag) + suffix;
     }
@@ -3421,6 +4053,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      * @return the API documentation file name with full path
      */
     public String apiDocFilename(String templateName, String tag) {
+        addApiGroup(tag);
         String suffix = apiDocTemplateFiles().get(templateName);
         return apiDocFileFolder() + '/' + toApiDocFilename(tag) + suffix;
     }
@@ -3439,7 +4072,302 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     }
 
     public boolean shouldOverwrite(String filename) {
-        return !(skipOverwrite && new File(filename).exists());
+        if (shards != null && !shards.isRendered(filename)) {
+            LOGGER.debug("Rendered by another shard, skipped " + filename);
+            skipFile(filename);
+            return false;
+        }
+        if (incrementalRendering && isUnchanged(filename)) {
+            LOGGER.debug("Fingerprint unchanged, skipped rendering " + filename);
+            skipFile(filename);
+            return false;
+        }
+        if (skipOverwrite && new File(filename).exists()) {
+            skipFile(filename);
+            return false;
+        }
+        if (outputSink != null) {
+            return outputSink.beforeWrite(filename, getEventTemplateEngine());
+        }
+        return true;
+    }
+
+    private void skipFile(String filename) {
+        GenerationEvents.fileSkipped(this, filename);
+        if (outputSink != null) {
+            outputSink.keep(filename);
+        }
+    }
+
+    private boolean isUnchanged(String filename) {
+        return !unchangedFiles.isEmpty() && unchangedFiles.contains(normalizeFilename(filename)) && new File(filename).exists();
+    }
+
+    /**
+     * The generator post processes the operations of an api group and then asks for the names of its files, so the
+     * groups are learned here, however the language groups operations in <code>addOperationToGroup</code>. The files
+     * are named by the language's own <code>apiFilename</code> and <code>apiDocFilename</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private void addApiGroup(String tag) {
+        if ((!incrementalRendering && shards == null && outputSink == null) || apiGroups.containsKey(tag)) {
+            return;
+        }
+        final Map<String, Object> data = lastApiGroup;
+        final Map<String, Object> operations = data == null ? null : (Map<String, Object>) data.get("operations");
+        final List<CodegenOperation> groupOperations = operations == null ? null : (List<CodegenOperation>) operations.get("operation");
+        apiGroups.put(tag, groupOperations);
+        lastApiGroup = null;
+        if (incrementalRendering && groupOperations != null) {
+            fingerprintApi(tag, groupOperations);
+        }
+        for (String templateName : apiTemplateFiles().keySet()) {
+            addApiFile(tag, templateName, apiFilename(templateName, tag), data);
+        }
+        for (String templateName : apiDocTemplateFiles().keySet()) {
+            addApiFile(tag, templateName, apiDocFilename(templateName, tag), data);
+        }
+    }
+
+    private void addApiFile(String tag, String templateName, String filename, Map<String, Object> data) {
+        if (shards != null) {
+            shards.addApiFile(tag, filename);
+        }
+        if (outputSink != null && data != null) {
+            outputSink.addSource(filename, templateName, data);
+        }
+    }
+
+    /**
+     * Names the data the generator renders each model file from, which is what post processing returns.
+     */
+    @SuppressWarnings("unchecked")
+    private void addModelSources(Map<String, Object> processedModels) {
+        for (Map.Entry<String, Object> entry : processedModels.entrySet()) {
+            if (!(entry.getValue() instanceof Map)) {
+                continue;
+            }
+            final Map<String, Object> data = (Map<String, Object>) entry.getValue();
+            for (Map.Entry<String, String> template : modelTemplateFiles().entrySet()) {
+                outputSink.addSource(modelFileFolder() + File.separator + toModelFilename(entry.getKey()) + template.getValue(),
+                        template.getKey(), data);
+            }
+            for (Map.Entry<String, String> template : modelDocTemplateFiles().entrySet()) {
+                outputSink.addSource(modelDocFileFolder() + File.separator + toModelDocFilename(entry.getKey()) + template.getValue(),
+                        template.getKey(), data);
+            }
+        }
+    }
+
+    /**
+     * A model is rendered by the shard of its schema name, with its documentation.
+     */
+    private void assignModelFiles(Map<String, Object> processedModels, Map<String, CodegenModel> allModels) {
+        shardedModels = allModels;
+        for (String name : processedModels.keySet()) {
+            final String modelName = toModelName(name);
+            for (Map.Entry<String, String> template : modelTemplateFiles().entrySet()) {
+                shards.addModelFile(name, modelName, modelFileFolder() + File.separator + toModelFilename(name) + template.getValue());
+            }
+            for (Map.Entry<String, String> template : modelDocTemplateFiles().entrySet()) {
+                shards.addModelFile(name, modelName, modelDocFileFolder() + File.separator + toModelDocFilename(name) + template.getValue());
+            }
+        }
+    }
+
+    /**
+     * Fails the merge run when files of a shard are missing, naming the models and api groups importing a
+     * missing model.
+     */
+    private void verifyShards() {
+        final List<String> missing = shards.getMissingFiles(outputFolder());
+        if (missing.isEmpty()) {
+            LOGGER.info("Found the files of all " + shards.getCount() + " shards in " + outputFolder());
+            return;
+        }
+        final StringBuilder message = new StringBuilder("Missing ").append(missing.size())
+                .append(" files rendered by shards in ").append(outputFolder());
+        for (String file : missing) {
+            message.append("\n  ").append(file);
+            final String modelName = shards.getModelName(file);
+            if (modelName == null) {
+                continue;
+            }
+            final Set<String> importers = new TreeSet<>();
+            if (shardedModels != null) {
+                for (CodegenModel codegenModel : shardedModels.values()) {
+                    if (codegenModel != null && !modelName.equals(codegenModel.classname)
+                            && codegenModel.imports != null && codegenModel.imports.contains(modelName)) {
+                        importers.add(codegenModel.classname);
+                    }
+                }
+            }
+            for (Map.Entry<String, List<CodegenOperation>> group : apiGroups.entrySet()) {
+                if (group.getValue() == null) {
+                    continue;
+                }
+                for (CodegenOperation codegenOperation : group.getValue()) {
+                    if (codegenOperation.imports != null && codegenOperation.imports.contains(modelName)) {
+                        importers.add("api " + group.getKey());
+                        break;
+                    }
+                }
+            }
+            if (!importers.isEmpty()) {
+                message.append(", imported by ").append(String.join(", ", importers));
+            }
+        }
+        throw new RuntimeException(message.toString());
+    }
+
+    private boolean startIncrementalRendering() {
+        if (currentManifest == null) {
+            if (openAPI == null) {
+                LOGGER.warn("Incremental rendering needs the spec passed to preprocessOpenAPI, rendering all files");
+                incrementalRendering = false;
+                return false;
+            }
+            specFingerprints = new SpecFingerprints(openAPI);
+            currentManifest = new GenerationManifest(getGenerationFingerprint());
+            previousManifest = GenerationManifest.read(outputFolder());
+            if (previousManifest != null && !currentManifest.getGeneration().equals(previousManifest.getGeneration())) {
+                LOGGER.info("Generator, options or templates changed since the last run, rendering all files");
+                previousManifest = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fingerprint of everything all generated files depend on: the generator, its options, the templates and
+     * the global parts of the spec. Override to add language specific inputs.
+     *
+     * @return fingerprint of the generation setup
+     */
+    protected String getGenerationFingerprint() {
+        final Map<String, String> options = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : additionalProperties.entrySet()) {
+            final Object value = entry.getValue();
+            if ("generatedDate".equals(entry.getKey()) || "generatedYear".equals(entry.getKey())) {
+                // differ on every run, files rendered in an earlier run keep their timestamp
+                continue;
+            }
+            if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Enum) {
+                options.put(entry.getKey(), value.toString());
+            } else if (value instanceof Collection || value instanceof Map) {
+                options.put(entry.getKey(), Json.pretty(value));
+            }
+        }
+        final StringBuilder templates = new StringBuilder();
+        if (customTemplateDir != null && new File(customTemplateDir).isDirectory()) {
+            final File[] files = FileUtils.listFiles(new File(customTemplateDir), null, true).toArray(new File[0]);
+            Arrays.sort(files);
+            for (File file : files) {
+                templates.append(file.getPath()).append(':').append(file.length()).append(':').append(file.lastModified()).append('\n');
+            }
+        }
+        final Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("info", openAPI.getInfo());
+        spec.put("servers", openAPI.getServers());
+        spec.put("security", openAPI.getSecurity());
+        spec.put("tags", openAPI.getTags());
+        spec.put("securitySchemes", openAPI.getComponents() != null ? openAPI.getComponents().getSecuritySchemes() : null);
+        return SpecFingerprints.hash(getClass().getName(),
+                DefaultCodegenConfig.class.getPackage().getImplementationVersion(),
+                library, templateVersion, templateDir, embeddedTemplateDir, customTemplateDir, templates.toString(),
+                options.toString(), new TreeMap<>(typeMapping).toString(), new TreeMap<>(importMapping).toString(),
+                new TreeMap<>(instantiationTypes).toString(), new TreeMap<>(reservedWordsMappings).toString(),
+                Json.pretty(spec));
+    }
+
+    /**
+     * A model depends on its schema with its $ref closure, and on the models linked to it by the inheritance
+     * graph walked in fixUpParentAndInterfaces: its ancestors, children, interfaces and sub types.
+     */
+    private void fingerprintModels(Map<String, Object> processedModels, Map<String, CodegenModel> allModels) {
+        if (!startIncrementalRendering()) {
+            return;
+        }
+        final Map<String, String> schemaNames = new HashMap<>();
+        for (String name : processedModels.keySet()) {
+            schemaNames.put(toModelName(name), name);
+        }
+        for (String name : processedModels.keySet()) {
+            final CodegenModel codegenModel = allModels.get(toModelName(name));
+            final String schemaFingerprint = specFingerprints.schemaFingerprint(name);
+            if (codegenModel == null || schemaFingerprint == null) {
+                continue;
+            }
+            final Set<String> related = new TreeSet<>();
+            final Set<String> visited = new HashSet<>();
+            String parent = codegenModel.parent;
+            while (parent != null && visited.add(parent)) {
+                related.add("parent:" + parent + "=" + specFingerprints.schemaFingerprint(schemaNames.getOrDefault(parent, parent)));
+                final CodegenModel parentModel = allModels.get(parent);
+                parent = parentModel != null ? parentModel.parent : null;
+            }
+            addRelatedModels(related, "child", codegenModel.children, schemaNames);
+            addRelatedModels(related, "interface", codegenModel.interfaceModels, schemaNames);
+            addRelatedModels(related, "subType", codegenModel.subTypes, schemaNames);
+            if (codegenModel.interfaces != null) {
+                for (String intf : codegenModel.interfaces) {
+                    related.add("interface:" + intf + "=" + specFingerprints.schemaFingerprint(schemaNames.getOrDefault(intf, intf)));
+                }
+            }
+            final String fingerprint = SpecFingerprints.hash(currentManifest.getGeneration(), name, schemaFingerprint, related.toString());
+            currentManifest.getModels().put(name, fingerprint);
+            if (previousManifest != null && fingerprint.equals(previousManifest.getModels().get(name))) {
+                for (Map.Entry<String, String> template : modelTemplateFiles().entrySet()) {
+                    unchangedFiles.add(normalizeFilename(modelFileFolder() + File.separator + toModelFilename(name) + template.getValue()));
+                }
+                for (Map.Entry<String, String> template : modelDocTemplateFiles().entrySet()) {
+                    unchangedFiles.add(normalizeFilename(modelDocFileFolder() + File.separator + toModelDocFilename(name) + template.getValue()));
+                }
+            }
+        }
+    }
+
+    private void addRelatedModels(Set<String> related, String relation, List<CodegenModel> models, Map<String, String> schemaNames) {
+        if (models == null) {
+            return;
+        }
+        for (CodegenModel model : models) {
+            final String name = schemaNames.getOrDefault(model.classname, model.name);
+            related.add(relation + ":" + model.classname + "=" + specFingerprints.schemaFingerprint(name));
+        }
+    }
+
+    /**
+     * An api file depends on the operations grouped into it, so it is fingerprinted when the generator first asks
+     * for its name, after grouping and post processing, see addApiGroup.
+     */
+    private void fingerprintApi(String tag, List<CodegenOperation> groupOperations) {
+        if (!startIncrementalRendering()) {
+            return;
+        }
+        final StringBuilder operations = new StringBuilder();
+        for (CodegenOperation codegenOperation : groupOperations) {
+            final String operationFingerprint = codegenOperation.path == null || codegenOperation.httpMethod == null ? null
+                    : specFingerprints.operationFingerprint(codegenOperation.path, codegenOperation.httpMethod);
+            if (operationFingerprint == null) {
+                return;
+            }
+            operations.append(operationFingerprint).append('\n');
+        }
+        final String fingerprint = SpecFingerprints.hash(currentManifest.getGeneration(), tag, operations.toString());
+        currentManifest.getApis().put(tag, fingerprint);
+        if (previousManifest != null && fingerprint.equals(previousManifest.getApis().get(tag))) {
+            for (String templateName : apiTemplateFiles().keySet()) {
+                unchangedFiles.add(normalizeFilename(apiFilename(templateName, tag)));
+            }
+            for (String templateName : apiDocTemplateFiles().keySet()) {
+                unchangedFiles.add(normalizeFilename(apiDocFilename(templateName, tag)));
+            }
+        }
+    }
+
+    private static String normalizeFilename(String filename) {
+        return new File(filename).getAbsoluteFile().toPath().normalize().toString();
     }
 
     public boolean isSkipOverwrite() {
@@ -3623,47 +4551,48 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (maybeHandleEmptyName(name)) return Object.class.getSimpleName();
 
         // if the name is just '$', map it to 'value' for the time being.
         if (maybeHandleDollarName(name)) return "value";
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        if (allowUnicodeIdentifiers) {
+            return SANITIZE_UNICODE_NAME_CACHE.get(name, DefaultCodegenConfig::doSanitizeUnicodeName);
         }
-        else {
-            name = name.replaceAll("\\W", "");
+        return SANITIZE_NAME_CACHE.get(name, DefaultCodegenConfig::doSanitizeName);
+    }
+
+    /**
+     * Single pass over the name, spelling out the cases we've encountered so far:
+     * <ul>
+     *     <li>input[] =&gt; input</li>
+     *     <li>input[a][b] =&gt; input_a_b</li>
+     *     <li>input(a)(b) =&gt; input_a_b</li>
+     *     <li>input.name, input-name, input name =&gt; input_name</li>
+     *     <li>remove everything else other than word, number and _ ($php_variable =&gt; php_variable)</li>
+     * </ul>
+     */
+    private static String doSanitizeName(String name) {
+        final StringBuilder sanitized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c == '[' && i + 1 < name.length() && name.charAt(i + 1) == ']') {
+                i++;
+            } else if (c == '[' || c == '(' || c == '.' || c == '-' || c == ' ' || c == '_') {
+                sanitized.append('_');
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                sanitized.append(c);
+            }
         }
+        return sanitized.toString();
+    }
 
-        return name;
+    private static String doSanitizeUnicodeName(String name) {
+        name = BRACKETS_PATTERN.matcher(name).replaceAll("");
+        name = OPENING_SEPARATOR_PATTERN.matcher(name).replaceAll("_");
+        name = CLOSING_BRACKET_PATTERN.matcher(name).replaceAll("");
+        return UNICODE_NON_WORD_PATTERN.matcher(name).replaceAll("");
     }
 
     private boolean maybeHandleDollarName(String name) {
@@ -3710,13 +4639,35 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         handlebars.registerHelpers(new StringUtilHelper());
     }
 
+    /**
+     * Reads the arguments of the language from {@link #getArgumentsLocation()}. The file is read and validated once
+     * per config class, each call returns new arguments, as callers set their values.
+     */
     @Override
     public List<CodegenArgument> readLanguageArguments() {
         final String argumentsLocation = getArgumentsLocation();
         if (StringUtils.isBlank(argumentsLocation)) {
             return null;
         }
-        final InputStream inputStream = getClass().getResourceAsStream(argumentsLocation);
+        final Optional<List<CodegenArgument>> definitions = LANGUAGE_ARGUMENTS.get(getClass())
+                .computeIfAbsent(argumentsLocation, location -> Optional.ofNullable(parseLanguageArguments(getClass(), location)));
+        if (!definitions.isPresent()) {
+            return null;
+        }
+        final List<CodegenArgument> languageArguments = new ArrayList<>(definitions.get().size());
+        for (CodegenArgument definition : definitions.get()) {
+            languageArguments.add(new CodegenArgument()
+                    .option(definition.getOption())
+                    .shortOption(definition.getShortOption())
+                    .description(definition.getDescription())
+                    .type(definition.getType())
+                    .isArray(definition.getArray()));
+        }
+        return languageArguments;
+    }
+
+    private static List<CodegenArgument> parseLanguageArguments(Class<?> configClass, String argumentsLocation) {
+        final InputStream inputStream = configClass.getResourceAsStream(argumentsLocation);
         if (inputStream == null) {
             return null;
         }
@@ -3745,6 +4696,7 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             return null;
         }
         List<CodegenArgument> languageArguments = new ArrayList<>();
+        Set<String> options = new HashSet<>();
         for (JsonNode argument : arguments) {
             String option = argument.findValue("option") != null ? argument.findValue("option").textValue() : null;
             String description = argument.findValue("description") != null ? argument.findValue("description").textValue() : null;
@@ -3752,6 +4704,13 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
             String type = argument.findValue("type") != null ? argument.findValue("type").textValue() : "string";
             boolean isArray = argument.findValue("isArray") != null ? argument.findValue("isArray").booleanValue() : false;
 
+            if (StringUtils.isBlank(option) || !option.startsWith("--")) {
+                LOGGER.error("Ignoring argument without option of the form --name in " + argumentsLocation + ": " + argument);
+                continue;
+            }
+            if (!options.add(option.toLowerCase(Locale.ROOT))) {
+                LOGGER.warn("Argument " + option + " is defined more than once in " + argumentsLocation + ", the first one is used");
+            }
             languageArguments.add(new CodegenArgument()
                     .option(option)
                     .shortOption(shortOption)
@@ -3777,21 +4736,27 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
 
     protected String getOptionValue(String optionName) {
         final List<CodegenArgument> codegenArguments = getLanguageArguments();
-        if (codegenArguments == null || codegenArguments.isEmpty()) {
+        if (codegenArguments == null || codegenArguments.isEmpty() || optionName == null) {
             return null;
         }
-        Optional<CodegenArgument> codegenArgumentOptional = codegenArguments
-            .stream()
-            .filter(argument -> argument.getOption().equalsIgnoreCase(optionName))
-            .findAny();
-        if (!codegenArgumentOptional.isPresent()) {
-            return null;
+        if (codegenArguments != indexedLanguageArguments || codegenArguments.size() != indexedLanguageArgumentsSize) {
+            final Map<String, CodegenArgument> argumentsByOption = new HashMap<>();
+            for (CodegenArgument argument : codegenArguments) {
+                if (argument.getOption() != null) {
+                    argumentsByOption.putIfAbsent(argument.getOption().toLowerCase(Locale.ROOT), argument);
+                }
+            }
+            languageArgumentsByOption = argumentsByOption;
+            indexedLanguageArguments = codegenArguments;
+            indexedLanguageArgumentsSize = codegenArguments.size();
         }
-        return codegenArgumentOptional.get().getValue();
+        final CodegenArgument argument = languageArgumentsByOption.get(optionName.toLowerCase(Locale.ROOT));
+        return argument == null ? null : argument.getValue();
     }
 
     /**
-     * Only write if the file doesn't exist
+     * Only write if the file doesn't exist, or with write avoidance also if the last run generated it and it was
+     * not edited since
      *
      * @param outputFolder Output folder
      * @param supportingFile Supporting file
@@ -3811,6 +4776,8 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         }
         if(!new File(folder).exists()) {
             supportingFiles.add(supportingFile);
+        } else if (outputSink != null && outputSink.isUnmodified(folder)) {
+            supportingFiles.add(supportingFile);
         } else {
             LOGGER.info("Skipped overwriting " + supportingFile.destinationFilename + " as the file already exists in " + folder);
         }
@@ -4003,6 +4970,150 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         this.useOas2 = useOas2;
     }
 
+    public boolean isParallelModelConversion() {
+        return parallelModelConversion;
+    }
+
+    public void setParallelModelConversion(boolean parallelModelConversion) {
+        this.parallelModelConversion = parallelModelConversion;
+    }
+
+    public boolean isIncrementalRendering() {
+        return incrementalRendering;
+    }
+
+    public void setIncrementalRendering(boolean incrementalRendering) {
+        this.incrementalRendering = incrementalRendering;
+    }
+
+    public boolean isWriteAvoidance() {
+        return writeAvoidance;
+    }
+
+    public void setWriteAvoidance(boolean writeAvoidance) {
+        this.writeAvoidance = writeAvoidance;
+    }
+
+    public boolean isRemoveStaleFiles() {
+        return removeStaleFiles;
+    }
+
+    public void setRemoveStaleFiles(boolean removeStaleFiles) {
+        this.removeStaleFiles = removeStaleFiles;
+    }
+
+    public boolean isPruneUnreachableModels() {
+        return pruneUnreachableModels;
+    }
+
+    public void setPruneUnreachableModels(boolean pruneUnreachableModels) {
+        this.pruneUnreachableModels = pruneUnreachableModels;
+    }
+
+    public List<String> getSelectedTags() {
+        return selectedTags;
+    }
+
+    public void setSelectedTags(List<String> selectedTags) {
+        this.selectedTags = selectedTags;
+    }
+
+    public List<String> getSelectedPaths() {
+        return selectedPaths;
+    }
+
+    public void setSelectedPaths(List<String> selectedPaths) {
+        this.selectedPaths = selectedPaths;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Option <code>shardCount</code>: splits the rendering of model and api files among this many runs, each given
+     * its <code>shardIndex</code>, followed by a <code>shardMerge</code> run rendering the supporting files. Every
+     * shard still reads and converts the whole spec, so only rendering and writing are divided among the shards.
+     */
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public boolean isShardMerge() {
+        return shardMerge;
+    }
+
+    public void setShardMerge(boolean shardMerge) {
+        this.shardMerge = shardMerge;
+    }
+
+    public boolean isStreamingExamples() {
+        return streamingExamples;
+    }
+
+    public void setStreamingExamples(boolean streamingExamples) {
+        this.streamingExamples = streamingExamples;
+    }
+
+    public int getExampleMaxDepth() {
+        return exampleMaxDepth;
+    }
+
+    public void setExampleMaxDepth(int exampleMaxDepth) {
+        this.exampleMaxDepth = exampleMaxDepth;
+    }
+
+    public int getExampleMaxItems() {
+        return exampleMaxItems;
+    }
+
+    public void setExampleMaxItems(int exampleMaxItems) {
+        this.exampleMaxItems = exampleMaxItems;
+    }
+
+    /**
+     * Starts profiling the generation phases. The generator has to be given the returned config instead of this
+     * one, e.g. <code>clientOptInput.config(config.profiled())</code>, so that language overrides and template
+     * rendering are recorded too.
+     *
+     * @return this config, with the phases the generator calls on it recorded by {@link #getProfiler()}
+     */
+    public CodegenConfig profiled() {
+        profiler = new GenerationProfiler();
+        return profiler.instrument(this);
+    }
+
+    /**
+     * @return the profiler of the last {@link #profiled()} call, null if the generation isn't profiled
+     */
+    public GenerationProfiler getProfiler() {
+        return profiler;
+    }
+
+    public boolean isParallelOperationConversion() {
+        return parallelOperationConversion;
+    }
+
+    public void setParallelOperationConversion(boolean parallelOperationConversion) {
+        this.parallelOperationConversion = parallelOperationConversion;
+    }
+
+    public int getConversionThreads() {
+        return conversionThreads;
+    }
+
+    public void setConversionThreads(int conversionThreads) {
+        this.conversionThreads = conversionThreads;
+    }
+
     public abstract String getDefaultTemplateDir();
 
     public boolean convertPropertyToBoolean(String propertyKey) {
@@ -4087,10 +5198,10 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         String templateEngineKey = additionalProperties.get(CodegenConstants.TEMPLATE_ENGINE) != null ? additionalProperties.get(CodegenConstants.TEMPLATE_ENGINE).toString() : null;
 
         if (templateEngineKey == null) {
-            templateEngine = new HandlebarTemplateEngine(this);
+            templateEngine = new CodegenHandlebarTemplateEngine(this);
         } else {
             if (CodegenConstants.HANDLEBARS_TEMPLATE_ENGINE.equalsIgnoreCase(templateEngineKey)) {
-                templateEngine = new HandlebarTemplateEngine(this);
+                templateEngine = new CodegenHandlebarTemplateEngine(this);
             } else {
                 templateEngine = new MustacheTemplateEngine(this);
             }
@@ -4164,6 +5275,9 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     }
 
     protected void configureDataForTestTemplate(CodegenOperation codegenOperation) {
+        if (!isTestTemplateDataReferenced()) {
+            return;
+        }
         final String httpMethod = codegenOperation.httpMethod;
         String path = codegenOperation.path;
         if ("GET".equalsIgnoreCase(httpMethod)) {
@@ -4218,6 +5332,19 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         codegenOperation.testPath = path;
     }
 
+    private boolean isTestTemplateDataReferenced() {
+        final TemplateUsage templateUsage = getTemplateUsage();
+        if (templateUsage.isReferenced("testPath")) {
+            return true;
+        }
+        for (String extension : TEST_TEMPLATE_EXTENSIONS) {
+            if (templateUsage.isExtensionReferenced(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected Set<String> getConsumesInfo(Operation operation) {
         if(operation.getRequestBody() == null || operation.getRequestBody().getContent() == null || operation.getRequestBody().getContent().isEmpty()) {
             return null;
@@ -4401,12 +5528,17 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         if (codegenParameters == null || codegenParameters.isEmpty()) {
             return;
         }
+        // how often each name is currently used, renaming a parameter moves it to its new name
+        final Map<String, Integer> counts = new HashMap<>();
         for (CodegenParameter codegenParameter : codegenParameters) {
-            long count = codegenParameters.stream()
-                    .filter(codegenParam -> codegenParam.paramName.equals(codegenParameter.paramName))
-                    .count();
-            if (count > 1l) {
+            counts.merge(codegenParameter.paramName, 1, Integer::sum);
+        }
+        for (CodegenParameter codegenParameter : codegenParameters) {
+            final int count = counts.get(codegenParameter.paramName);
+            if (count > 1) {
+                counts.put(codegenParameter.paramName, count - 1);
                 codegenParameter.paramName = generateNextName(codegenParameter.paramName);
+                counts.merge(codegenParameter.paramName, 1, Integer::sum);
             }
         }
     }
@@ -4425,6 +5557,10 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
         this.unflattenedOpenAPI = unflattenedOpenAPI;
     }
 
+    public OpenAPI getUnflattenedOpenAPI() {
+        return unflattenedOpenAPI;
+    }
+
     public boolean getIgnoreImportMapping() {
         return ignoreImportMapping;
     }
@@ -4444,4 +5580,99 @@ public abstract class DefaultCodegenConfig implements CodegenConfig {
     public OpenAPI getOpenAPI() {
         return this.openAPI;
     }
+
+    /**
+     * @return reference index of the spec being generated, null before preprocessOpenAPI
+     */
+    public OpenAPIRefIndex getRefIndex() {
+        final OpenAPI openAPI = this.openAPI;
+        if (openAPI == null) {
+            return null;
+        }
+        OpenAPIRefIndex refIndex = this.refIndex;
+        if (refIndex == null || refIndex.getOpenAPI() != openAPI) {
+            refIndex = new OpenAPIRefIndex(openAPI);
+            this.refIndex = refIndex;
+        }
+        return refIndex;
+    }
+
+    /**
+     * @return usage of names in the templates of this config, analysed on first call after processOpts
+     */
+    public TemplateUsage getTemplateUsage() {
+        TemplateUsage templateUsage = this.templateUsage;
+        if (templateUsage == null) {
+            synchronized (this) {
+                templateUsage = this.templateUsage;
+                if (templateUsage == null) {
+                    templateUsage = TemplateUsage.of(this);
+                    this.templateUsage = templateUsage;
+                }
+            }
+        }
+        return templateUsage;
+    }
+
+    protected ExampleGenerator createExampleGenerator(OpenAPI openAPI) {
+        final ExampleGenerator exampleGenerator = new ExampleGenerator(openAPI, getExampleCache(openAPI));
+        exampleGenerator.getWriter().setMaxDepth(exampleMaxDepth);
+        exampleGenerator.getWriter().setMaxItems(exampleMaxItems);
+        exampleGenerator.setStreaming(streamingExamples);
+        return exampleGenerator;
+    }
+
+    /**
+     * @return media types to generate response examples for: JSON as always, plus XML when streaming examples
+     * and the response has XML content. Null when JSON alone is needed.
+     */
+    protected List<String> getExampleMediaTypes(ApiResponse response) {
+        if (!streamingExamples || response.getContent() == null) {
+            return null;
+        }
+        for (String mediaType : response.getContent().keySet()) {
+            if (mediaType.startsWith("application/xml")) {
+                return Arrays.asList("application/json", mediaType);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return examples resolved so far for the given spec, shared by all operations of the spec
+     */
+    protected ExampleCache getExampleCache(OpenAPI openAPI) {
+        ExampleCache exampleCache = this.exampleCache;
+        if (exampleCache == null || exampleCache.getOpenAPI() != openAPI) {
+            synchronized (this) {
+                exampleCache = this.exampleCache;
+                if (exampleCache == null || exampleCache.getOpenAPI() != openAPI) {
+                    exampleCache = new ExampleCache(openAPI);
+                    this.exampleCache = exampleCache;
+                }
+            }
+        }
+        return exampleCache;
+    }
+
+    /**
+     * @return the values of an option given as a collection or as comma separated text
+     */
+    private static List<String> toList(Object value) {
+        final List<String> values = new ArrayList<>();
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element != null && StringUtils.isNotBlank(element.toString())) {
+                    values.add(element.toString().trim());
+                }
+            }
+        } else if (value != null) {
+            for (String element : value.toString().split(",")) {
+                if (StringUtils.isNotBlank(element)) {
+                    values.add(element.trim());
+                }
+            }
+        }
+        return values;
+    }
 }
@@ -0,0 +1,438 @@
+package io.swagger.codegen.v3.generators;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
+import io.swagger.codegen.v3.templates.TemplateEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Pool of generator configs for services running many generations in one JVM. Languages are looked up once
+ * through the {@link ServiceLoader}, instead of instantiating every config on each lookup like
+ * <code>CodegenConfigLoader</code>, and released configs are reset to their state right after construction and
+ * handed out again, so reserved words, type mappings, options and language arguments are not built anew.
+ * <p>
+ * The reset restores every instance field of the config and, deeply, the maps, collections, arrays and codegen
+ * objects (such as cli options) they reach. Configs reaching other mutable objects are not reset but dropped,
+ * the next request gets a new instance.
+ * <pre>
+ * try (GeneratorPool.Lease lease = pool.acquire("java")) {
+ *     final CodegenConfig config = lease.getConfig();
+ *     config.setOutputDir(outputDir);
+ *     new DefaultGenerator().opts(new ClientOptInput().opts(new ClientOpts()).openAPI(openAPI).config(config)).generate();
+ * }
+ * </pre>
+ */
+public class GeneratorPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorPool.class);
+
+    public static final int DEFAULT_MAX_IDLE = 2;
+
+    private final int maxIdle;
+    private final Map<String, Deque<Lease>> idle = new HashMap<>();
+    private volatile Map<String, Class<? extends CodegenConfig>> languages;
+
+    public GeneratorPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param maxIdle how many released configs to keep per language
+     */
+    public GeneratorPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @param language name of the language, or class name of the config
+     * @return a config in the state right after construction, to be closed after generating
+     */
+    public Lease acquire(String language) {
+        synchronized (idle) {
+            final Deque<Lease> leases = idle.get(language);
+            if (leases != null && !leases.isEmpty()) {
+                final Lease lease = leases.pop();
+                lease.released = false;
+                return lease;
+            }
+        }
+        final CodegenConfig config = newConfig(language);
+        return new Lease(language, config, new Snapshot(config));
+    }
+
+    /**
+     * Creates configs of the given language ahead of the first requests, and reads its language arguments so
+     * they are parsed and validated before.
+     */
+    public void warmUp(String language, int count) {
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, maxIdle); i++) {
+            leases.add(acquire(language));
+        }
+        if (!leases.isEmpty()) {
+            leases.get(0).getConfig().readLanguageArguments();
+        }
+        for (Lease lease : leases) {
+            lease.close();
+        }
+    }
+
+    public int getIdleCount(String language) {
+        synchronized (idle) {
+            final Deque<Lease> leases = idle.get(language);
+            return leases == null ? 0 : leases.size();
+        }
+    }
+
+    /**
+     * @return the names of the languages found by the service loader
+     */
+    public Set<String> getLanguages() {
+        return Collections.unmodifiableSet(getLanguageClasses().keySet());
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    private void release(Lease lease) {
+        if (!lease.snapshot.isRestorable()) {
+            LOGGER.debug("Dropping config of " + lease.language + " that can't be reset");
+            return;
+        }
+        try {
+            lease.snapshot.restore(lease.config);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Dropping config of " + lease.language + " that could not be reset", e);
+            return;
+        }
+        synchronized (idle) {
+            final Deque<Lease> leases = idle.computeIfAbsent(lease.language, key -> new ArrayDeque<>());
+            if (leases.size() < maxIdle) {
+                leases.push(lease);
+            }
+        }
+    }
+
+    private CodegenConfig newConfig(String language) {
+        final Class<? extends CodegenConfig> type = getLanguageClasses().get(language);
+        try {
+            if (type != null) {
+                return type.newInstance();
+            }
+            return (CodegenConfig) Class.forName(language).newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Can't load config class with name " + language + " Available: " + getLanguageClasses().keySet(), e);
+        }
+    }
+
+    private Map<String, Class<? extends CodegenConfig>> getLanguageClasses() {
+        if (languages == null) {
+            synchronized (this) {
+                if (languages == null) {
+                    final Map<String, Class<? extends CodegenConfig>> classes = new LinkedHashMap<>();
+                    for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+                        classes.putIfAbsent(config.getName(), config.getClass());
+                    }
+                    languages = classes;
+                }
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * A config handed out by the pool. Closing the lease resets the config and returns it to the pool, the
+     * config must not be used afterwards.
+     */
+    public final class Lease implements AutoCloseable {
+        private final String language;
+        private final CodegenConfig config;
+        private final Snapshot snapshot;
+        private boolean released;
+
+        private Lease(String language, CodegenConfig config, Snapshot snapshot) {
+            this.language = language;
+            this.config = config;
+            this.snapshot = snapshot;
+        }
+
+        public CodegenConfig getConfig() {
+            return config;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(this);
+        }
+    }
+
+    /**
+     * State of a config right after construction: its instance fields and, deeply, everything mutable they reach
+     * that the pool knows how to put back. Maps and collections get their entries back, arrays their elements and
+     * objects of codegen classes, such as cli options and supporting files, their fields. A config reaching other
+     * mutable objects can't be reset and is not pooled.
+     */
+    static final class Snapshot {
+        private final Object config;
+        private final Map<Object, State> states = new IdentityHashMap<>();
+        private String unrestorable;
+
+        Snapshot(Object config) {
+            this.config = config;
+            final Deque<Object> pending = new ArrayDeque<>();
+            pending.add(config);
+            while (!pending.isEmpty() && unrestorable == null) {
+                capture(pending.pop(), pending);
+            }
+        }
+
+        /**
+         * @return whether {@link #restore(Object)} puts back the whole state of the config
+         */
+        boolean isRestorable() {
+            return unrestorable == null;
+        }
+
+        void restore(Object config) {
+            if (config != this.config || unrestorable != null) {
+                throw new IllegalStateException("Config can't be reset, it refers to " + unrestorable);
+            }
+            for (State state : states.values()) {
+                state.restore();
+            }
+        }
+
+        private void capture(Object value, Deque<Object> pending) {
+            if (isImmutable(value) || states.containsKey(value)) {
+                return;
+            }
+            final State state;
+            if (value instanceof CopyOnWriteMap || value instanceof CopyOnWriteSet) {
+                // fields, so a shared table is shared again rather than copied back
+                state = new FieldsState(value);
+            } else if (value instanceof Map) {
+                state = new MapState((Map<?, ?>) value);
+            } else if (value instanceof Collection) {
+                state = new CollectionState((Collection<?>) value);
+            } else if (value.getClass().isArray()) {
+                state = new ArrayState(value);
+            } else if (isCodegenClass(value.getClass()) && !(value instanceof TemplateEngine)) {
+                state = new FieldsState(value);
+            } else if (value instanceof TemplateEngine || value instanceof Logger) {
+                // template engines are set anew by processOpts, loggers hold no state of the config
+                return;
+            } else {
+                unrestorable = value.getClass().getName();
+                return;
+            }
+            if (state.unrestorable != null) {
+                unrestorable = state.unrestorable;
+                return;
+            }
+            states.put(value, state);
+            pending.addAll(state.references());
+        }
+
+        private static boolean isImmutable(Object value) {
+            return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                    || value instanceof Enum || value instanceof Class || value instanceof File || value instanceof Pattern
+                    || value instanceof Locale || value instanceof Charset
+                    || (value instanceof Number && value.getClass().getName().startsWith("java."));
+        }
+
+        private static boolean isCodegenClass(Class<?> type) {
+            return type.getName().startsWith("io.swagger.codegen.");
+        }
+    }
+
+    private abstract static class State {
+        String unrestorable;
+
+        abstract Collection<?> references();
+
+        abstract void restore();
+    }
+
+    private static final class FieldsState extends State {
+        private final Object object;
+        private final List<Field> fields = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        private FieldsState(Object object) {
+            this.object = object;
+            for (Class<?> type = object.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if (!Snapshot.isCodegenClass(type)) {
+                        unrestorable = type.getName() + "." + field.getName();
+                        return;
+                    }
+                    field.setAccessible(true);
+                    try {
+                        values.add(field.get(object));
+                    } catch (IllegalAccessException e) {
+                        throw new RuntimeException("Could not read " + field, e);
+                    }
+                    fields.add(field);
+                }
+            }
+        }
+
+        @Override
+        Collection<?> references() {
+            return values;
+        }
+
+        @Override
+        void restore() {
+            for (int i = 0; i < fields.size(); i++) {
+                try {
+                    if (fields.get(i).get(object) != values.get(i)) {
+                        fields.get(i).set(object, values.get(i));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("Could not reset " + fields.get(i), e);
+                }
+            }
+        }
+    }
+
+    private static final class MapState extends State {
+        private final Map<Object, Object> map;
+        private final Map<Object, Object> content;
+
+        @SuppressWarnings("unchecked")
+        private MapState(Map<?, ?> map) {
+            this.map = (Map<Object, Object>) map;
+            this.content = new LinkedHashMap<>(map);
+        }
+
+        @Override
+        Collection<?> references() {
+            final List<Object> references = new ArrayList<>(content.keySet());
+            references.addAll(content.values());
+            return references;
+        }
+
+        @Override
+        void restore() {
+            if (isSame(map.entrySet(), content.entrySet())) {
+                return;
+            }
+            try {
+                map.clear();
+                map.putAll(content);
+            } catch (UnsupportedOperationException e) {
+                // unmodifiable, so unchanged
+            }
+        }
+    }
+
+    private static final class CollectionState extends State {
+        private final Collection<Object> collection;
+        private final List<Object> content;
+
+        @SuppressWarnings("unchecked")
+        private CollectionState(Collection<?> collection) {
+            this.collection = (Collection<Object>) collection;
+            this.content = new ArrayList<>(collection);
+        }
+
+        @Override
+        Collection<?> references() {
+            return content;
+        }
+
+        @Override
+        void restore() {
+            if (isSame(collection, content)) {
+                return;
+            }
+            try {
+                collection.clear();
+                collection.addAll(content);
+            } catch (UnsupportedOperationException e) {
+                // unmodifiable, so unchanged
+            }
+        }
+    }
+
+    private static final class ArrayState extends State {
+        private final Object array;
+        private final Object[] content;
+
+        private ArrayState(Object array) {
+            this.array = array;
+            this.content = new Object[Array.getLength(array)];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = Array.get(array, i);
+            }
+        }
+
+        @Override
+        Collection<?> references() {
+            return array.getClass().getComponentType().isPrimitive() ? Collections.emptyList() : Arrays.asList(content);
+        }
+
+        @Override
+        void restore() {
+            for (int i = 0; i < content.length; i++) {
+                Array.set(array, i, content[i]);
+            }
+        }
+    }
+
+    /**
+     * Compares element by element by identity, the elements may be models whose equals is expensive.
+     */
+    private static boolean isSame(Collection<?> current, Collection<?> original) {
+        if (current.size() != original.size()) {
+            return false;
+        }
+        final Iterator<?> originalElements = original.iterator();
+        for (Object element : current) {
+            final Object originalElement = originalElements.next();
+            if (element instanceof Map.Entry && originalElement instanceof Map.Entry) {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+                final Map.Entry<?, ?> originalEntry = (Map.Entry<?, ?>) originalElement;
+                if (entry.getKey() != originalEntry.getKey() || entry.getValue() != originalEntry.getValue()) {
+                    return false;
+                }
+            } else if (element != originalElement) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
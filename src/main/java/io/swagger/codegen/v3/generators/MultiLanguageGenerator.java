@@ -0,0 +1,315 @@
+package io.swagger.codegen.v3.generators;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.util.OpenAPICopier;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates several languages from one spec. Each target is described by a {@link CodegenConfigurator}, as for a
+ * single generation, but the spec is read, resolved and flattened once for all of them. Every target then runs on
+ * its own copy of the spec, since <code>preprocessOpenAPI</code> and the generator change the spec they are given.
+ * The copies are made with {@link OpenAPICopier}, which is much cheaper than parsing the spec again.
+ * <p>
+ * The spec and the config of every target are built by <code>CodegenConfigurator.toClientOptInput</code>, so targets
+ * get the same options as when generated one by one. To configure a target without reading the spec again, its
+ * configurator is given a minimal spec in place of the real one, which is then swapped for the copy.
+ * <p>
+ * Targets run concurrently on at most <code>threads</code> threads. A failing target does not stop the others; its
+ * error is part of its result. The configurators set their system properties, which apply to all targets running
+ * at the same time, so all targets must have the same ones.
+ * <pre>
+ * final MultiLanguageGenerator.Result result = new MultiLanguageGenerator().generate(Arrays.asList(
+ *         new CodegenConfigurator().setLang("java").setInputSpecURL("petstore.yaml").setOutputDir("out/java"),
+ *         new CodegenConfigurator().setLang("go").setInputSpecURL("petstore.yaml").setOutputDir("out/go")));
+ * </pre>
+ */
+public class MultiLanguageGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiLanguageGenerator.class);
+
+    private static final String PLACEHOLDER_SPEC = "openapi: 3.0.1\n"
+            + "info:\n"
+            + "  title: placeholder\n"
+            + "  version: '1'\n"
+            + "paths: {}\n";
+
+    private final int threads;
+
+    public MultiLanguageGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threads how many targets to generate at the same time
+     */
+    public MultiLanguageGenerator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Reads the spec of the targets and generates all of them from it. The targets must name the same spec with
+     * the same parse options. The unflattened spec, needed by some generators, is read once when the first of them
+     * asks for it.
+     */
+    public Result generate(List<CodegenConfigurator> targets) {
+        if (targets.isEmpty()) {
+            return new Result(Collections.emptyList(), 0L, 0L);
+        }
+        final CodegenConfigurator first = targets.get(0);
+        for (CodegenConfigurator target : targets) {
+            if (!Objects.equals(target.getInputSpecURL(), first.getInputSpecURL())
+                    || !Objects.equals(target.getInputSpec(), first.getInputSpec())
+                    || !Objects.equals(target.getAuth(), first.getAuth())
+                    || target.isResolveFully() != first.isResolveFully()
+                    || target.isFlattenInlineSchem() != first.isFlattenInlineSchem()
+                    || target.getSkipInlineModelMatches() != first.getSkipInlineModelMatches()) {
+                throw new IllegalArgumentException("all targets must read the same spec with the same options, "
+                        + target.getLang() + " differs from " + first.getLang());
+            }
+        }
+        checkSystemProperties(targets);
+        final long start = System.nanoTime();
+        final OpenAPI openAPI = read(first);
+        final long parseNanos = System.nanoTime() - start;
+        return generate(new Spec(openAPI, true), targets, parseNanos);
+    }
+
+    /**
+     * Generates all targets from an already parsed spec, which is left unchanged. The spec named by the targets is
+     * not read, generators needing the unflattened spec get a copy of the given one.
+     */
+    public Result generate(OpenAPI openAPI, List<CodegenConfigurator> targets) {
+        if (targets.isEmpty()) {
+            return new Result(Collections.emptyList(), 0L, 0L);
+        }
+        checkSystemProperties(targets);
+        return generate(new Spec(openAPI, false), targets, 0L);
+    }
+
+    private static void checkSystemProperties(List<CodegenConfigurator> targets) {
+        final CodegenConfigurator first = targets.get(0);
+        for (CodegenConfigurator target : targets) {
+            if (!Objects.equals(target.getSystemProperties(), first.getSystemProperties())) {
+                throw new IllegalArgumentException("all targets must have the same system properties, "
+                        + target.getLang() + " differs from " + first.getLang());
+            }
+        }
+    }
+
+    private Result generate(Spec spec, List<CodegenConfigurator> targets, long parseNanos) {
+        final long start = System.nanoTime();
+        final List<TargetResult> results = new ArrayList<>(targets.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, targets.size()));
+        try {
+            final List<Future<TargetResult>> futures = new ArrayList<>(targets.size());
+            for (CodegenConfigurator target : targets) {
+                futures.add(executor.submit(() -> generate(spec, target)));
+            }
+            for (Future<TargetResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(results, parseNanos, System.nanoTime() - start);
+    }
+
+    private TargetResult generate(Spec spec, CodegenConfigurator target) {
+        final long start = System.nanoTime();
+        try {
+            final ClientOptInput input = configure(target);
+            final CodegenConfig config = input.getConfig();
+            if (config.needsUnflattenedSpec()) {
+                config.setUnflattenedOpenAPI(spec.copyUnflattened(target));
+            }
+            input.openAPI(spec.copy());
+            final List<File> files = new DefaultGenerator().opts(input).generate();
+            return new TargetResult(target, files, System.nanoTime() - start, null);
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not generate " + target.getLang() + " to " + target.getOutputDir(), e);
+            return new TargetResult(target, Collections.emptyList(), System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Lets the configurator build the config of the target, reading the placeholder spec instead of the real one.
+     * The config gets back the input spec of the target, the spec itself is set by the caller.
+     */
+    private static ClientOptInput configure(CodegenConfigurator target) {
+        final ClientOptInput input;
+        synchronized (target) {
+            final String inputSpec = target.getInputSpec();
+            target.setInputSpec(PLACEHOLDER_SPEC);
+            try {
+                input = target.toClientOptInput();
+            } finally {
+                target.setInputSpec(inputSpec);
+            }
+            input.getConfig().setInputSpec(inputSpec);
+        }
+        return input;
+    }
+
+    private static OpenAPI read(CodegenConfigurator target) {
+        synchronized (target) {
+            final OpenAPI openAPI = target.toClientOptInput().getOpenAPI();
+            if (openAPI == null) {
+                throw new RuntimeException("Could not read "
+                        + StringUtils.defaultIfBlank(target.getInputSpecURL(), "input spec"));
+            }
+            return openAPI;
+        }
+    }
+
+    private static OpenAPI readUnflattened(CodegenConfigurator target) {
+        synchronized (target) {
+            final CodegenConfig config = target.toClientOptInput().getConfig();
+            if (!(config instanceof DefaultCodegenConfig)) {
+                throw new IllegalStateException("Could not get the unflattened spec of " + target.getLang());
+            }
+            return ((DefaultCodegenConfig) config).getUnflattenedOpenAPI();
+        }
+    }
+
+    /**
+     * The parsed spec, which is only read, and each target gets its own copy of.
+     */
+    private static final class Spec {
+        private final OpenAPI openAPI;
+        private final boolean readUnflattened;
+        private OpenAPI unflattenedOpenAPI;
+
+        private Spec(OpenAPI openAPI, boolean readUnflattened) {
+            this.openAPI = openAPI;
+            this.readUnflattened = readUnflattened;
+        }
+
+        private OpenAPI copy() {
+            return OpenAPICopier.copy(openAPI);
+        }
+
+        /**
+         * The unflattened spec is read by the configurator of the first target asking for it, as the configurator
+         * only reads it for generators that need it.
+         */
+        private OpenAPI copyUnflattened(CodegenConfigurator target) {
+            if (!readUnflattened) {
+                return copy();
+            }
+            synchronized (this) {
+                if (unflattenedOpenAPI == null) {
+                    unflattenedOpenAPI = readUnflattened(target);
+                }
+            }
+            return OpenAPICopier.copy(unflattenedOpenAPI);
+        }
+    }
+
+    /**
+     * Outcome of one target: the files written, the time it took and the error it failed with, if any.
+     */
+    public static class TargetResult {
+        private final CodegenConfigurator target;
+        private final List<File> files;
+        private final long nanos;
+        private final RuntimeException error;
+
+        private TargetResult(CodegenConfigurator target, List<File> files, long nanos, RuntimeException error) {
+            this.target = target;
+            this.files = files;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        public CodegenConfigurator getTarget() {
+            return target;
+        }
+
+        public List<File> getFiles() {
+            return files;
+        }
+
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        public RuntimeException getError() {
+            return error;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Results of all targets in the order they were given, with the time spent reading the spec and generating.
+     */
+    public static class Result {
+        private final List<TargetResult> targets;
+        private final long parseNanos;
+        private final long generateNanos;
+
+        private Result(List<TargetResult> targets, long parseNanos, long generateNanos) {
+            this.targets = Collections.unmodifiableList(targets);
+            this.parseNanos = parseNanos;
+            this.generateNanos = generateNanos;
+        }
+
+        public List<TargetResult> getTargets() {
+            return targets;
+        }
+
+        public long getParseMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(parseNanos);
+        }
+
+        public long getGenerateMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(generateNanos);
+        }
+
+        public boolean isSuccessful() {
+            for (TargetResult target : targets) {
+                if (!target.isSuccessful()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return milliseconds each language took, by language, in the order of the targets
+         */
+        public Map<String, Long> getMillisByLanguage() {
+            final Map<String, Long> millis = new LinkedHashMap<>();
+            for (TargetResult target : targets) {
+                millis.merge(target.getTarget().getLang(), target.getMillis(), Long::sum);
+            }
+            return millis;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.swagger.codegen.v3.CodegenModel;
 import io.swagger.codegen.v3.CodegenModelFactory;
 import io.swagger.codegen.v3.CodegenModelType;
 import io.swagger.codegen.v3.CodegenProperty;
+import io.swagger.codegen.v3.CodegenSchema;
 import io.swagger.codegen.v3.ISchemaHandler;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
@@ -11,10 +12,21 @@ import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
-
+import java.util.Set;
+
+/**
+ * Creates the models of composed schemas (oneOf, anyOf and inline allOf) and links them to the models they are
+ * made of. Properties and sub types are looked up through name indexes built once per model. With parallel model
+ * conversion enabled the models are processed on the conversion pool; changes to models other than the ones a
+ * task creates are then collected per model and applied in model order, so the result equals a serial run.
+ */
 public class SchemaHandler implements ISchemaHandler {
 
     public static final String ALL_OF_PREFFIX = "AllOf";
@@ -24,11 +36,38 @@ public class SchemaHandler implements ISchemaHandler {
 
     protected DefaultCodegenConfig codegenConfig;
     private List<CodegenModel> composedModels = new ArrayList<>();
+    private final Map<CodegenModel, Map<String, CodegenProperty>> varsByBaseName = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<CodegenModel, Set<String>> subTypeNames = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
 
     public SchemaHandler(DefaultCodegenConfig codegenConfig) {
         this.codegenConfig = codegenConfig;
     }
 
+    @Override
+    public void readProcessedModels(Map<String, Object> allProcessedModels) {
+        final List<CodegenSchema> codegenSchemas = new ArrayList<>();
+        final Map<String, CodegenModel> allModels = new HashMap<>();
+        for (Object processedModels : allProcessedModels.values()) {
+            final List<Map<String, Object>> models = (List<Map<String, Object>>) ((Map<String, Object>) processedModels).get("models");
+            for (Map<String, Object> model : models) {
+                final CodegenModel codegenModel = (CodegenModel) model.get("model");
+                codegenSchemas.add(new CodegenSchema(codegenModel, (Schema) model.get("schema")));
+                allModels.put(codegenModel.classname, codegenModel);
+            }
+        }
+        if (codegenSchemas.isEmpty()) {
+            return;
+        }
+        if (codegenConfig.isParallelModelConversion() && codegenSchemas.size() > 1) {
+            this.processInParallel(codegenSchemas, allModels);
+            return;
+        }
+        for (CodegenSchema codegenSchema : codegenSchemas) {
+            this.processComposedSchemas(codegenSchema.getCodegenModel(), codegenSchema.getSchema(), allModels);
+        }
+    }
+
     @Override
     public void processComposedSchemas(CodegenModel codegenModel, Schema schema, Map<String, CodegenModel> allModels) {
         if (schema instanceof ComposedSchema) {
@@ -44,14 +83,13 @@ public class SchemaHandler implements ISchemaHandler {
         }
         for (String name : properties.keySet()) {
             final Schema property = properties.get(name);
-            final Optional<CodegenProperty> optionalCodegenProperty = codegenModel.getVars()
-                .stream()
-                .filter(codegenProperty -> codegenProperty.baseName.equals(name))
-                .findFirst();
-            if (!optionalCodegenProperty.isPresent()) {
+            if (!(property instanceof ComposedSchema) && !(property instanceof ArraySchema)) {
+                continue;
+            }
+            final CodegenProperty codegenProperty = this.getVar(codegenModel, name);
+            if (codegenProperty == null) {
                 continue;
             }
-            final CodegenProperty codegenProperty = optionalCodegenProperty.get();
             final String codegenName = codegenModel.getName() + codegenConfig.toModelName(codegenProperty.getName());
             if (property instanceof ComposedSchema) {
                 this.addComposedModel(this.processComposedSchema(codegenName, codegenProperty, (ComposedSchema) property, allModels));
@@ -174,6 +212,11 @@ public class SchemaHandler implements ISchemaHandler {
         if (codegenModel == null) {
             return;
         }
+        final Batch batch = currentBatch.get();
+        if (batch != null && batch.sharedModels.containsKey(codegenModel)) {
+            batch.interfaceModels.add(new CodegenModel[] {codegenModel, interfaceModel});
+            return;
+        }
         if (codegenModel.getInterfaceModels() == null) {
             codegenModel.setInterfaceModels(new ArrayList<>());
         }
@@ -191,11 +234,7 @@ public class SchemaHandler implements ISchemaHandler {
             final CodegenModel model = allModels.get(codegenConfig.toModelName(schemaName));
             this.addInterfaceModel(model, codegenModel);
 
-            boolean subTypeAdded = false;
-            if (codegenModel.getSubTypes() != null) {
-                subTypeAdded = codegenModel.getSubTypes().stream().anyMatch(existingSubType -> existingSubType.classname.equalsIgnoreCase(model.classname));
-            }
-            if (!subTypeAdded) {
+            if (this.getSubTypeNames(codegenModel).add(subTypeName(model))) {
                 codegenModel.addSubType(model);
             }
 
@@ -203,17 +242,73 @@ public class SchemaHandler implements ISchemaHandler {
                 continue;
             }
             if (codegenModel.getDiscriminator() != null && StringUtils.isNotBlank(codegenModel.getDiscriminator().getPropertyName())) {
-                Optional<CodegenProperty> optionalProperty = model.vars.stream()
-                    .filter(codegenProperty -> codegenProperty.baseName.equals(codegenModel.getDiscriminator().getPropertyName())).findFirst();
-
-                optionalProperty.ifPresent(codegenProperty -> {
+                final CodegenProperty codegenProperty = this.getVar(model, codegenModel.getDiscriminator().getPropertyName());
+                if (codegenProperty != null) {
                     codegenModel.getVendorExtensions().put("x-discriminator-type", codegenProperty.datatypeWithEnum);
                     codegenModel.getVendorExtensions().put("x-discriminator-type-getter", codegenConfig.toGetter(codegenModel.getDiscriminator().getPropertyName()));
-                });
+                }
             }
         }
     }
 
+    /**
+     * @return the first property of the given model with the given base name, or null
+     */
+    protected CodegenProperty getVar(CodegenModel codegenModel, String baseName) {
+        return varsByBaseName.computeIfAbsent(codegenModel, SchemaHandler::indexVars).get(baseName);
+    }
+
+    private Set<String> getSubTypeNames(CodegenModel codegenModel) {
+        return subTypeNames.computeIfAbsent(codegenModel, model -> {
+            final Set<String> names = new HashSet<>();
+            if (model.getSubTypes() != null) {
+                for (CodegenModel subType : model.getSubTypes()) {
+                    names.add(subTypeName(subType));
+                }
+            }
+            return names;
+        });
+    }
+
+    private static String subTypeName(CodegenModel subType) {
+        return subType == null || subType.classname == null ? null : subType.classname.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, CodegenProperty> indexVars(CodegenModel codegenModel) {
+        final Map<String, CodegenProperty> vars = new HashMap<>();
+        if (codegenModel.vars != null) {
+            for (CodegenProperty codegenProperty : codegenModel.vars) {
+                vars.putIfAbsent(codegenProperty.baseName, codegenProperty);
+            }
+        }
+        return vars;
+    }
+
+    private void processInParallel(List<CodegenSchema> codegenSchemas, Map<String, CodegenModel> allModels) {
+        final Map<CodegenModel, Boolean> sharedModels = new IdentityHashMap<>();
+        for (CodegenModel codegenModel : allModels.values()) {
+            sharedModels.put(codegenModel, Boolean.TRUE);
+        }
+        final List<Batch> batches = new ArrayList<>();
+        for (CodegenSchema codegenSchema : codegenSchemas) {
+            batches.add(new Batch(codegenSchema, sharedModels));
+        }
+        codegenConfig.runInParallel(batches, batch -> {
+            currentBatch.set(batch);
+            try {
+                this.processComposedSchemas(batch.codegenSchema.getCodegenModel(), batch.codegenSchema.getSchema(), allModels);
+            } finally {
+                currentBatch.remove();
+            }
+        });
+        for (Batch batch : batches) {
+            for (CodegenModel[] interfaceModel : batch.interfaceModels) {
+                this.addInterfaceModel(interfaceModel[0], interfaceModel[1]);
+            }
+            this.composedModels.addAll(batch.composedModels);
+        }
+    }
+
     protected void configureModel(CodegenModel codegenModel, String name) {
         codegenModel.name = name;
         codegenModel.classname = codegenConfig.toModelName(name);
@@ -234,37 +329,47 @@ public class SchemaHandler implements ISchemaHandler {
         if (composedModel == null) {
             return;
         }
+        final Batch batch = currentBatch.get();
+        if (batch != null) {
+            batch.composedModels.add(composedModel);
+            return;
+        }
         this.composedModels.add(composedModel);
     }
 
     protected void updatePropertyDataType(CodegenProperty codegenProperty, String schemaName, ArraySchema arraySchema) {
-        final Schema items = arraySchema.getItems();
-        final Schema refSchema = new Schema();
-        refSchema.set$ref("#/components/schemas/" + schemaName);
-        arraySchema.setItems(refSchema);
-        codegenProperty.setDatatype(this.codegenConfig.getTypeDeclaration(arraySchema));
-        codegenProperty.setDatatypeWithEnum(codegenProperty.getDatatype());
-        codegenProperty.vendorExtensions.put("x-is-composed", true);
-
-        codegenProperty.defaultValue = this.codegenConfig.toDefaultValue(arraySchema);
-        codegenProperty.defaultValueWithParam = this.codegenConfig.toDefaultValueWithParam(codegenProperty.baseName, arraySchema);
-
-        arraySchema.setItems(items);
+        // the items are swapped for a moment, schemas may be shared by models processed in parallel
+        synchronized (arraySchema) {
+            final Schema items = arraySchema.getItems();
+            final Schema refSchema = new Schema();
+            refSchema.set$ref("#/components/schemas/" + schemaName);
+            arraySchema.setItems(refSchema);
+            codegenProperty.setDatatype(this.codegenConfig.getTypeDeclaration(arraySchema));
+            codegenProperty.setDatatypeWithEnum(codegenProperty.getDatatype());
+            codegenProperty.vendorExtensions.put("x-is-composed", true);
+
+            codegenProperty.defaultValue = this.codegenConfig.toDefaultValue(arraySchema);
+            codegenProperty.defaultValueWithParam = this.codegenConfig.toDefaultValueWithParam(codegenProperty.baseName, arraySchema);
+
+            arraySchema.setItems(items);
+        }
     }
 
     protected void updateArrayModel(CodegenModel codegenModel, String schemaName, ArraySchema arraySchema) {
-        final Schema items = arraySchema.getItems();
-        final Schema refSchema = new Schema();
-        refSchema.set$ref("#/components/schemas/" + schemaName);
-        arraySchema.setItems(refSchema);
-
-        this.codegenConfig.addParentContainer(codegenModel, codegenModel.name, arraySchema);
-        codegenModel.defaultValue = this.codegenConfig.toDefaultValue(arraySchema);
-        codegenModel.arrayModelType = this.codegenConfig.fromProperty(codegenModel.name, arraySchema).complexType;
-        boolean isInterface = codegenModel.arrayModelType.startsWith(ALL_OF_PREFFIX) || codegenModel.arrayModelType.startsWith(ONE_OF_PREFFIX) || codegenModel.arrayModelType.startsWith(ANY_OF_PREFFIX);
-        codegenModel.getVendorExtensions().put("x-array-model-type-is-interface", isInterface);
-
-        arraySchema.setItems(items);
+        synchronized (arraySchema) {
+            final Schema items = arraySchema.getItems();
+            final Schema refSchema = new Schema();
+            refSchema.set$ref("#/components/schemas/" + schemaName);
+            arraySchema.setItems(refSchema);
+
+            this.codegenConfig.addParentContainer(codegenModel, codegenModel.name, arraySchema);
+            codegenModel.defaultValue = this.codegenConfig.toDefaultValue(arraySchema);
+            codegenModel.arrayModelType = this.codegenConfig.fromProperty(codegenModel.name, arraySchema).complexType;
+            boolean isInterface = codegenModel.arrayModelType.startsWith(ALL_OF_PREFFIX) || codegenModel.arrayModelType.startsWith(ONE_OF_PREFFIX) || codegenModel.arrayModelType.startsWith(ANY_OF_PREFFIX);
+            codegenModel.getVendorExtensions().put("x-array-model-type-is-interface", isInterface);
+
+            arraySchema.setItems(items);
+        }
     }
 
     private void updatePropertyDataType(CodegenProperty codegenProperty, CodegenModel composedModel) {
@@ -274,4 +379,20 @@ public class SchemaHandler implements ISchemaHandler {
         codegenProperty.complexType = composedModel.getClassname();
         codegenProperty.vendorExtensions.put("x-is-composed", true);
     }
+
+    /**
+     * Work of one model processed in parallel: composed models it created and interface models to add to models
+     * shared with other tasks.
+     */
+    private static final class Batch {
+        private final CodegenSchema codegenSchema;
+        private final Map<CodegenModel, Boolean> sharedModels;
+        private final List<CodegenModel> composedModels = new ArrayList<>();
+        private final List<CodegenModel[]> interfaceModels = new ArrayList<>();
+
+        private Batch(CodegenSchema codegenSchema, Map<CodegenModel, Boolean> sharedModels) {
+            this.codegenSchema = codegenSchema;
+            this.sharedModels = sharedModels;
+        }
+    }
 }
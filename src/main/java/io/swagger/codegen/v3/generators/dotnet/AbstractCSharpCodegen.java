@@ -15,7 +15,10 @@ import io.swagger.codegen.v3.generators.handlebars.lambda.IndentedLambda;
 import io.swagger.codegen.v3.generators.handlebars.lambda.LowercaseLambda;
 import io.swagger.codegen.v3.generators.handlebars.lambda.TitlecaseLambda;
 import io.swagger.codegen.v3.generators.handlebars.lambda.UppercaseLambda;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
 import io.swagger.codegen.v3.generators.util.OpenAPIUtil;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 import io.swagger.codegen.v3.utils.ModelUtils;
 import io.swagger.codegen.v3.utils.URLPathUtil;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -40,6 +43,7 @@ import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +55,77 @@ import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBoo
 
 public abstract class AbstractCSharpCodegen extends DefaultCodegenConfig {
 
+    private static final TextEscaper UNSAFE_CHARACTER_ESCAPER = TextEscaper.builder()
+            .replace("*/", "*_/")
+            .then()
+            .replace("/*", "/_*")
+            .replace("--", "- -")
+            .replace("~~N1", "\n    /// ")
+            .replace("~~N2", "\n        /// ")
+            .build();
+
+    // tables shared by all instances, copied by an instance on its first change
+    private static final Set<String> LANGUAGE_SPECIFIC_PRIMITIVES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(
+                    "String",
+                    "string",
+                    "bool?",
+                    "double?",
+                    "decimal?",
+                    "int?",
+                    "long?",
+                    "float?",
+                    "byte[]",
+                    "ICollection",
+                    "Collection",
+                    "List",
+                    "Dictionary",
+                    "DateTime?",
+                    "DateTimeOffset?",
+                    "String",
+                    "Boolean",
+                    "Double",
+                    "Int32",
+                    "Int64",
+                    "Float",
+                    "Guid?",
+                    "System.IO.Stream", // not really a primitive, we include it to avoid model import
+                    "Object")
+    ));
+    private static final Map<String, String> INSTANTIATION_TYPES;
+    private static final Map<String, String> TYPE_MAPPING;
+
+    static {
+        final Map<String, String> instantiationTypes = new HashMap<>();
+        instantiationTypes.put("array", "List");
+        instantiationTypes.put("list", "List");
+        instantiationTypes.put("map", "Dictionary");
+        INSTANTIATION_TYPES = Collections.unmodifiableMap(instantiationTypes);
+
+        // Nullable types here assume C# 2 support is not part of base
+        final Map<String, String> typeMapping = new HashMap<>();
+        typeMapping.put("string", "string");
+        typeMapping.put("binary", "byte[]");
+        typeMapping.put("bytearray", "byte[]");
+        typeMapping.put("boolean", "bool?");
+        typeMapping.put("integer", "int?");
+        typeMapping.put("int", "int?");
+        typeMapping.put("float", "float?");
+        typeMapping.put("long", "long?");
+        typeMapping.put("double", "double?");
+        typeMapping.put("number", "decimal?");
+        typeMapping.put("BigDecimal", "decimal?");
+        typeMapping.put("datetime", "DateTime?");
+        typeMapping.put("date", "DateTime?");
+        typeMapping.put("file", "System.IO.Stream");
+        typeMapping.put("array", "List");
+        typeMapping.put("list", "List");
+        typeMapping.put("map", "Dictionary");
+        typeMapping.put("object", "Object");
+        typeMapping.put("uuid", "Guid?");
+        TYPE_MAPPING = Collections.unmodifiableMap(typeMapping);
+    }
+
     protected boolean optionalAssemblyInfoFlag = true;
     protected boolean optionalProjectFileFlag = true;
     protected boolean optionalEmitDefaultValue = false;
@@ -131,59 +206,9 @@ public abstract class AbstractCSharpCodegen extends DefaultCodegenConfig {
         );
 
         // TODO: Either include fully qualified names here or handle in DefaultCodegen via lastIndexOf(".") search
-        languageSpecificPrimitives = new HashSet<String>(
-                Arrays.asList(
-                        "String",
-                        "string",
-                        "bool?",
-                        "double?",
-                        "decimal?",
-                        "int?",
-                        "long?",
-                        "float?",
-                        "byte[]",
-                        "ICollection",
-                        "Collection",
-                        "List",
-                        "Dictionary",
-                        "DateTime?",
-                        "DateTimeOffset?",
-                        "String",
-                        "Boolean",
-                        "Double",
-                        "Int32",
-                        "Int64",
-                        "Float",
-                        "Guid?",
-                        "System.IO.Stream", // not really a primitive, we include it to avoid model import
-                        "Object")
-        );
-
-        instantiationTypes.put("array", "List");
-        instantiationTypes.put("list", "List");
-        instantiationTypes.put("map", "Dictionary");
-
-        // Nullable types here assume C# 2 support is not part of base
-        typeMapping = new HashMap<String, String>();
-        typeMapping.put("string", "string");
-        typeMapping.put("binary", "byte[]");
-        typeMapping.put("bytearray", "byte[]");
-        typeMapping.put("boolean", "bool?");
-        typeMapping.put("integer", "int?");
-        typeMapping.put("int", "int?");
-        typeMapping.put("float", "float?");
-        typeMapping.put("long", "long?");
-        typeMapping.put("double", "double?");
-        typeMapping.put("number", "decimal?");
-        typeMapping.put("BigDecimal", "decimal?");
-        typeMapping.put("datetime", "DateTime?");
-        typeMapping.put("date", "DateTime?");
-        typeMapping.put("file", "System.IO.Stream");
-        typeMapping.put("array", "List");
-        typeMapping.put("list", "List");
-        typeMapping.put("map", "Dictionary");
-        typeMapping.put("object", "Object");
-        typeMapping.put("uuid", "Guid?");
+        languageSpecificPrimitives = new CopyOnWriteSet<>(LANGUAGE_SPECIFIC_PRIMITIVES);
+        instantiationTypes = new CopyOnWriteMap<>(INSTANTIATION_TYPES);
+        typeMapping = new CopyOnWriteMap<>(TYPE_MAPPING);
     }
 
     public void setReturnICollection(boolean returnICollection) {
@@ -1082,12 +1107,7 @@ public abstract class AbstractCSharpCodegen extends DefaultCodegenConfig {
 
     @Override
     public String escapeUnsafeCharacters(String input) {
-        String intermediate = input.replace("*/", "*_/").replace("/*", "/_*").replace("--", "- -");
-
-        intermediate = intermediate.replaceAll("~~N1", "\n    /// ");
-        intermediate = intermediate.replaceAll("~~N2", "\n        /// ");
-
-        return intermediate;
+        return UNSAFE_CHARACTER_ESCAPER.escape(input);
     }
 
     @Override
@@ -0,0 +1,77 @@
+package io.swagger.codegen.v3.generators.examples;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Examples resolved for the schemas of one spec, shared by every {@link ExampleGenerator} working on it.
+ * Holds the example values built for object schemas, which earlier were stored on the schemas themselves,
+ * and the rendered examples of referenced models by media type. Safe for concurrent use.
+ */
+public class ExampleCache {
+
+    private final OpenAPI openAPI;
+    private final Map<SchemaKey, Object> examples = new ConcurrentHashMap<>();
+    private final Map<String, String> rendered = new ConcurrentHashMap<>();
+
+    public ExampleCache(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    /**
+     * @return the example given in the spec, otherwise the one resolved earlier for this schema instance
+     */
+    public Object getExample(Schema schema) {
+        if (schema.getExample() != null) {
+            return schema.getExample();
+        }
+        return examples.get(new SchemaKey(schema));
+    }
+
+    /**
+     * Remembers the example resolved for the schema instance, unless another one was stored meanwhile.
+     *
+     * @return the example stored for the schema
+     */
+    public Object putExample(Schema schema, Object example) {
+        final Object existing = examples.putIfAbsent(new SchemaKey(schema), example);
+        return existing != null ? existing : example;
+    }
+
+    public String getRendered(String ref, String mediaType) {
+        return rendered.get(mediaType + " " + ref);
+    }
+
+    public void putRendered(String ref, String mediaType, String example) {
+        rendered.putIfAbsent(mediaType + " " + ref, example);
+    }
+
+    public int size() {
+        return examples.size();
+    }
+
+    private static class SchemaKey {
+        private final Schema schema;
+
+        private SchemaKey(Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SchemaKey && ((SchemaKey) o).schema == schema;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(schema);
+        }
+    }
+}
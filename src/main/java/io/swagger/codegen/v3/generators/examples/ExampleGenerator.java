@@ -41,20 +41,52 @@ public class ExampleGenerator {
     private static final String CONTENT_TYPE = "contentType";
     private static final String OUTPUT = "output";
     private static final String NONE = "none";
-    private static final String URL = "url";
-    private static final String URI = "uri";
 
     protected Map<String, Schema> examples;
     private Random random;
     private OpenAPI openAPI;
+    private final ExampleCache cache;
+    private ExampleWriter writer;
+    private boolean streaming;
 
     public ExampleGenerator(OpenAPI openAPI) {
+        this(openAPI, new ExampleCache(openAPI));
+    }
+
+    /**
+     * @param cache examples already resolved for the spec, shared with other generators of the same spec
+     */
+    public ExampleGenerator(OpenAPI openAPI, ExampleCache cache) {
         //this.examples = examples;
         this.openAPI = openAPI;
+        this.cache = cache;
+        this.writer = new ExampleWriter(openAPI);
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
     }
 
+    /**
+     * @return writer of XML examples, and of JSON examples when streaming
+     */
+    public ExampleWriter getWriter() {
+        return writer;
+    }
+
+    public void setWriter(ExampleWriter writer) {
+        this.writer = writer;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * @param streaming write JSON examples with the {@link ExampleWriter} instead of building and serializing them
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public List<Map<String, String>> generateFromSchema(Schema schema, Set<String> producesInfo) {
         return null;
     }
@@ -77,19 +109,28 @@ public class ExampleGenerator {
                 kv.put(CONTENT_TYPE, mediaType);
 
                 if (mediaType.startsWith(MIME_TYPE_JSON)) {
-                    String example = Json.pretty(resolveSchemaToExample("", mediaType, schema, processedModels));
+                    String example = StringUtils.isNotBlank(schema.get$ref()) ? cache.getRendered(schema.get$ref(), mediaType) : null;
+                    if (example == null) {
+                        example = streaming ? writer.toJson(schema) : Json.pretty(resolveSchemaToExample("", mediaType, schema, processedModels));
+                        if (example != null && StringUtils.isNotBlank(schema.get$ref())) {
+                            // once resolved, the objects of a model are cached and its example doesn't change anymore
+                            cache.putRendered(schema.get$ref(), mediaType, example);
+                        }
+                    }
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (mediaType.startsWith(MIME_TYPE_XML)) {
-                    /** todo: add xml generator
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
-                    if (example != null) {
-                        kv.put(EXAMPLE, example);
-                        output.add(kv);
+                    String example = StringUtils.isNotBlank(schema.get$ref()) ? cache.getRendered(schema.get$ref(), mediaType) : null;
+                    if (example == null) {
+                        example = writer.toXml(schema);
+                        if (StringUtils.isNotBlank(schema.get$ref())) {
+                            cache.putRendered(schema.get$ref(), mediaType, example);
+                        }
                     }
-                     */
+                    kv.put(EXAMPLE, example);
+                    output.add(kv);
                 }
             }
         } else {
@@ -131,13 +172,10 @@ public class ExampleGenerator {
                     }
                 } else if (modelName != null && mediaType.startsWith(MIME_TYPE_XML)) {
                     final Schema schema = this.examples.get(modelName);
-                    /** todo: add xml example generator
-                     * String example = new XmlExampleGenerator(this.examples).toXml(schema, 0, Collections.<String>emptySet());
-                    if (example != null) {
-                        kv.put(EXAMPLE, example);
+                    if (schema != null) {
+                        kv.put(EXAMPLE, writer.toXml(schema, modelName));
                         output.add(kv);
                     }
-                    */
                 }
             }
         } else {
@@ -158,39 +196,20 @@ public class ExampleGenerator {
 
     private Object resolveSchemaToExample(String propertyName, String mediaType, Schema schema, Set<String> processedModels) {
         if (processedModels.contains(schema.get$ref())) {
-            return schema.getExample();
+            return cache.getExample(schema);
         }
         if (StringUtils.isNotBlank(schema.get$ref())) {
             processedModels.add(schema.get$ref());
         }
-        if (schema.getExample() != null) {
-            logger.debug("Example set in swagger spec, returning example: '{}'", schema.getExample().toString());
-            return schema.getExample();
+        final Object example = cache.getExample(schema);
+        if (example != null) {
+            logger.debug("Example set in swagger spec or resolved before, returning example: '{}'", example);
+            return example;
         } else if (schema instanceof StringSchema) {
             logger.debug("String property");
-            String defaultValue = ((StringSchema) schema).getDefault();
-            if (defaultValue != null && !defaultValue.isEmpty()) {
-                logger.debug("Default value found: '{}'", defaultValue);
-                return defaultValue;
-            }
-            List<String> enumValues = ((StringSchema) schema).getEnum();
-            if (enumValues != null && !enumValues.isEmpty()) {
-                logger.debug("Enum value found: '{}'", enumValues.get(0));
-                return enumValues.get(0);
-            }
-            String format = schema.getFormat();
-            if (format != null && (URI.equals(format) || URL.equals(format))) {
-                logger.debug("URI or URL format, without default or enum, generating random one.");
-                return "http://example.com/aeiou";
-            }
-            logger.debug("No values found, using property name " + propertyName + " as example");
-            return propertyName;
+            return ExampleValues.stringExample(propertyName, (StringSchema) schema);
         } else if (schema instanceof BooleanSchema) {
-            Object defaultValue = schema.getDefault();
-            if (defaultValue != null) {
-                return defaultValue;
-            }
-            return Boolean.TRUE;
+            return ExampleValues.booleanExample(schema);
         } else if (schema instanceof ArraySchema) {
             Schema innerType = ((ArraySchema) schema).getItems();
             if (innerType != null) {
@@ -207,25 +226,18 @@ public class ExampleGenerator {
                 return objectProperties;
             }
         } else if (schema instanceof DateSchema) {
-            return "2000-01-23";
+            return ExampleValues.DATE;
         } else if (schema instanceof DateTimeSchema) {
-            return "2000-01-23T04:56:07.000+00:00";
+            return ExampleValues.DATE_TIME;
         } else if (schema instanceof NumberSchema) {
-            Double min = schema.getMinimum() == null ? null : schema.getMinimum().doubleValue();
-            Double max = schema.getMaximum() == null ? null : schema.getMaximum().doubleValue();
             if(SchemaTypeUtil.FLOAT_FORMAT.equals(schema.getFormat())) {
-                return (float) randomNumber(min, max);
+                return (float) ExampleValues.randomNumber(random, schema);
             }
-            return randomNumber(min, max);
+            return ExampleValues.randomNumber(random, schema);
         } else if (schema instanceof FileSchema) {
             return "";  // TODO
         } else if (schema instanceof IntegerSchema) {
-            Double min = schema.getMinimum() == null ? null : schema.getMinimum().doubleValue();
-            Double max = schema.getMaximum() == null ? null : schema.getMaximum().doubleValue();
-            if(SchemaTypeUtil.INTEGER32_FORMAT.equals(schema.getFormat())) {
-                return (long) randomNumber(min, max);
-            }
-            return (int) randomNumber(min, max);
+            return ExampleValues.integerExample(random, schema);
         } else if (schema instanceof MapSchema && schema.getAdditionalProperties() != null && schema.getAdditionalProperties() instanceof Schema) {
             Map<String, Object> mp = new HashMap<String, Object>();
             if (schema.getName() != null) {
@@ -255,31 +267,18 @@ public class ExampleGenerator {
                     Schema schemaProperty = (Schema) schema.getProperties().get(propName.toString());
                     values.put(propName.toString(), resolveSchemaToExample(propName.toString(), mediaType, schemaProperty, processedModels));
                 }
-                schema.setExample(values);
+                return cache.putExample(schema, values);
             }
             return values;
         } else if (schema instanceof UUIDSchema) {
-            return "046b6c7f-0b8a-43b9-b35d-6489e6daee91";
+            return ExampleValues.UUID;
         }
         return "";
     }
 
-    private double randomNumber(Double min, Double max) {
-        if (min != null && max != null) {
-            double range = max - min;
-            return random.nextDouble() * range + min;
-        } else if (min != null) {
-            return random.nextDouble() + min;
-        } else if (max != null) {
-            return random.nextDouble() * max;
-        } else {
-            return random.nextDouble() * 10;
-        }
-    }
-
     private Object resolveModelToExample(String name, String mediaType, Schema schema, Set<String> processedModels) {
         if (processedModels.contains(schema.get$ref())) {
-            return schema.getExample();
+            return cache.getExample(schema);
         }
         if (StringUtils.isNotBlank(schema.get$ref())) {
             processedModels.add(schema.get$ref());
@@ -288,16 +287,17 @@ public class ExampleGenerator {
 
         logger.debug("Resolving model '{}' to example", name);
 
-        if (schema.getExample() != null) {
-            logger.debug("Using example from spec: {}", schema.getExample());
-            return schema.getExample();
+        final Object example = cache.getExample(schema);
+        if (example != null) {
+            logger.debug("Using example from spec or resolved before: {}", example);
+            return example;
         } else if (schema.getProperties() != null) {
             logger.debug("Creating example from model values");
             for (Object propertyName : schema.getProperties().keySet()) {
                 schema.getProperties().get(propertyName.toString());
                 values.put(propertyName.toString(), resolveSchemaToExample(propertyName.toString(), mediaType, schema, processedModels));
             }
-            schema.setExample(values);
+            return cache.putExample(schema, values);
         }
         return values;
     }
@@ -0,0 +1,81 @@
+package io.swagger.codegen.v3.generators.examples;
+
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.util.SchemaTypeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Example values of primitive schemas, shared by {@link ExampleGenerator} and {@link ExampleWriter}.
+ */
+final class ExampleValues {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExampleValues.class);
+
+    static final String DATE = "2000-01-23";
+    static final String DATE_TIME = "2000-01-23T04:56:07.000+00:00";
+    static final String UUID = "046b6c7f-0b8a-43b9-b35d-6489e6daee91";
+
+    private static final String URL = "url";
+    private static final String URI = "uri";
+
+    private ExampleValues() {
+    }
+
+    static String stringExample(String propertyName, StringSchema schema) {
+        String defaultValue = schema.getDefault();
+        if (defaultValue != null && !defaultValue.isEmpty()) {
+            logger.debug("Default value found: '{}'", defaultValue);
+            return defaultValue;
+        }
+        List<String> enumValues = schema.getEnum();
+        if (enumValues != null && !enumValues.isEmpty()) {
+            logger.debug("Enum value found: '{}'", enumValues.get(0));
+            return enumValues.get(0);
+        }
+        String format = schema.getFormat();
+        if (format != null && (URI.equals(format) || URL.equals(format))) {
+            logger.debug("URI or URL format, without default or enum, generating random one.");
+            return "http://example.com/aeiou";
+        }
+        logger.debug("No values found, using property name " + propertyName + " as example");
+        return propertyName;
+    }
+
+    static Object booleanExample(Schema schema) {
+        Object defaultValue = schema.getDefault();
+        if (defaultValue != null) {
+            return defaultValue;
+        }
+        return Boolean.TRUE;
+    }
+
+    /**
+     * @return a random integer within the bounds of the schema, a long for int64 and an int otherwise
+     */
+    static Object integerExample(Random random, Schema schema) {
+        if (SchemaTypeUtil.INTEGER64_FORMAT.equals(schema.getFormat())) {
+            return (long) randomNumber(random, schema);
+        }
+        return (int) randomNumber(random, schema);
+    }
+
+    static double randomNumber(Random random, Schema schema) {
+        Double min = schema.getMinimum() == null ? null : schema.getMinimum().doubleValue();
+        Double max = schema.getMaximum() == null ? null : schema.getMaximum().doubleValue();
+        if (min != null && max != null) {
+            double range = max - min;
+            return random.nextDouble() * range + min;
+        } else if (min != null) {
+            return random.nextDouble() + min;
+        } else if (max != null) {
+            return random.nextDouble() * max;
+        } else {
+            return random.nextDouble() * 10;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package io.swagger.codegen.v3.generators.examples;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.codegen.v3.generators.util.OpenAPIUtil;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.FileSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.UUIDSchema;
+import io.swagger.v3.oas.models.media.XML;
+import io.swagger.v3.parser.util.SchemaTypeUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes examples of a schema straight to a Jackson generator or an XML stream writer, without building
+ * the example as objects first. Nesting deeper than {@link #getMaxDepth()} is written empty, arrays get at
+ * most {@link #getMaxItems()} items and a single example at most {@link #getMaxValues()} values. Recursive
+ * references are written as <code>null</code> in JSON and left out in XML.
+ */
+public class ExampleWriter {
+
+    public static final int DEFAULT_MAX_DEPTH = 10;
+    public static final int DEFAULT_MAX_ITEMS = 10;
+    public static final int DEFAULT_MAX_VALUES = 10000;
+
+    private static final String INDENT = "  ";
+    private static final String DEFAULT_XML_ROOT = "root";
+    private static final String DEFAULT_MAP_KEY = "key";
+
+    private final OpenAPI openAPI;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private int maxItems = DEFAULT_MAX_ITEMS;
+    private int maxValues = DEFAULT_MAX_VALUES;
+
+    public ExampleWriter(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    public String toJson(Schema schema) {
+        final StringWriter out = new StringWriter();
+        try (JsonGenerator generator = Json.mapper().getFactory().createGenerator(out)) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            writeJson(schema, generator);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write JSON example", e);
+        }
+        return out.toString();
+    }
+
+    public void writeJson(Schema schema, JsonGenerator generator) throws IOException {
+        new JsonRun(generator).write("", schema, 0);
+    }
+
+    public String toXml(Schema schema) {
+        String name = DEFAULT_XML_ROOT;
+        if (schema != null && StringUtils.isNotBlank(schema.get$ref())) {
+            name = OpenAPIUtil.getSimpleRef(schema.get$ref());
+        }
+        return toXml(schema, name);
+    }
+
+    /**
+     * @param name name of the root element, unless the schema defines one
+     */
+    public String toXml(Schema schema, String name) {
+        final StringWriter out = new StringWriter();
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            writer.writeStartDocument("UTF-8", "1.0");
+            writeXml(schema, name, writer);
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not write XML example", e);
+        }
+        return out.toString();
+    }
+
+    public void writeXml(Schema schema, String name, XMLStreamWriter writer) throws XMLStreamException {
+        new XmlRun(writer).write(name, schema, 0);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public int getMaxValues() {
+        return maxValues;
+    }
+
+    public void setMaxValues(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * State of writing one example.
+     */
+    private abstract class Run {
+        // same seed as ExampleGenerator, numbers are reproducible
+        private final Random random = new Random("ExampleGenerator".hashCode());
+        private final Set<String> refs = new HashSet<>();
+        private int values;
+
+        boolean enterValue() {
+            return ++values <= maxValues;
+        }
+
+        boolean enterRef(String ref) {
+            return refs.add(ref);
+        }
+
+        void exitRef(String ref) {
+            refs.remove(ref);
+        }
+
+        Schema getModel(String ref) {
+            if (openAPI == null || openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null) {
+                return null;
+            }
+            return openAPI.getComponents().getSchemas().get(OpenAPIUtil.getSimpleRef(ref));
+        }
+
+        int arrayLength(Schema schema) {
+            final int length = schema.getMaxItems() != null ? schema.getMaxItems() : 2;
+            return Math.min(length, maxItems);
+        }
+
+        /**
+         * @return example of a primitive schema, null if the schema is not primitive
+         */
+        Object primitive(String propertyName, Schema schema) {
+            if (schema.getExample() != null) {
+                return schema.getExample();
+            } else if (schema instanceof StringSchema) {
+                return ExampleValues.stringExample(propertyName, (StringSchema) schema);
+            } else if (schema instanceof BooleanSchema) {
+                return ExampleValues.booleanExample(schema);
+            } else if (schema instanceof DateSchema) {
+                return ExampleValues.DATE;
+            } else if (schema instanceof DateTimeSchema) {
+                return ExampleValues.DATE_TIME;
+            } else if (schema instanceof NumberSchema) {
+                if (SchemaTypeUtil.FLOAT_FORMAT.equals(schema.getFormat())) {
+                    return (float) ExampleValues.randomNumber(random, schema);
+                }
+                return ExampleValues.randomNumber(random, schema);
+            } else if (schema instanceof IntegerSchema) {
+                return ExampleValues.integerExample(random, schema);
+            } else if (schema instanceof UUIDSchema) {
+                return ExampleValues.UUID;
+            } else if (schema instanceof FileSchema) {
+                return "";
+            }
+            return null;
+        }
+
+        boolean isObject(Schema schema) {
+            return schema instanceof ObjectSchema || schema.getProperties() != null;
+        }
+
+        boolean isMap(Schema schema) {
+            return schema instanceof MapSchema && schema.getAdditionalProperties() instanceof Schema;
+        }
+
+        /**
+         * @return properties of an object schema, or of all allOf parts of a composed one
+         */
+        Map<String, Schema> properties(Schema schema) {
+            final Map<String, Schema> properties = new LinkedHashMap<>();
+            if (schema instanceof ComposedSchema && ((ComposedSchema) schema).getAllOf() != null) {
+                for (Schema part : ((ComposedSchema) schema).getAllOf()) {
+                    if (part == null) {
+                        continue;
+                    }
+                    if (StringUtils.isNotBlank(part.get$ref())) {
+                        final String ref = part.get$ref();
+                        if (!enterRef(ref)) {
+                            continue;
+                        }
+                        final Schema model = getModel(ref);
+                        if (model != null) {
+                            properties.putAll(properties(model));
+                        }
+                        exitRef(ref);
+                    } else {
+                        properties.putAll(properties(part));
+                    }
+                }
+            }
+            if (schema.getProperties() != null) {
+                for (Object entry : schema.getProperties().entrySet()) {
+                    final Map.Entry<String, Schema> property = (Map.Entry<String, Schema>) entry;
+                    properties.put(property.getKey(), property.getValue());
+                }
+            }
+            return properties;
+        }
+
+        /**
+         * @return the first oneOf/anyOf alternative of a composed schema without allOf, otherwise null
+         */
+        Schema alternative(Schema schema) {
+            if (!(schema instanceof ComposedSchema) || ((ComposedSchema) schema).getAllOf() != null) {
+                return null;
+            }
+            final ComposedSchema composed = (ComposedSchema) schema;
+            final List<Schema> alternatives = new ArrayList<>();
+            if (composed.getOneOf() != null) {
+                alternatives.addAll(composed.getOneOf());
+            }
+            if (composed.getAnyOf() != null) {
+                alternatives.addAll(composed.getAnyOf());
+            }
+            return alternatives.isEmpty() ? null : alternatives.get(0);
+        }
+    }
+
+    private class JsonRun extends Run {
+        private final JsonGenerator generator;
+
+        private JsonRun(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        private void write(String propertyName, Schema schema, int depth) throws IOException {
+            if (schema == null || !enterValue()) {
+                generator.writeNull();
+                return;
+            }
+            final String ref = schema.get$ref();
+            if (StringUtils.isNotBlank(ref)) {
+                if (!enterRef(ref)) {
+                    generator.writeNull();
+                    return;
+                }
+                final Schema model = getModel(ref);
+                if (model == null) {
+                    generator.writeStartObject();
+                    generator.writeEndObject();
+                } else {
+                    write(propertyName, model, depth);
+                }
+                exitRef(ref);
+                return;
+            }
+            final Object primitive = primitive(propertyName, schema);
+            if (primitive != null) {
+                generator.writeObject(primitive);
+            } else if (schema instanceof ArraySchema) {
+                generator.writeStartArray();
+                final Schema items = ((ArraySchema) schema).getItems();
+                if (items != null && depth < maxDepth) {
+                    final int length = arrayLength(schema);
+                    for (int i = 0; i < length; i++) {
+                        write(propertyName, items, depth + 1);
+                    }
+                }
+                generator.writeEndArray();
+            } else if (isMap(schema)) {
+                generator.writeStartObject();
+                if (depth < maxDepth) {
+                    generator.writeFieldName(schema.getName() != null ? schema.getName() : DEFAULT_MAP_KEY);
+                    write(propertyName, (Schema) schema.getAdditionalProperties(), depth + 1);
+                }
+                generator.writeEndObject();
+            } else if (alternative(schema) != null) {
+                write(propertyName, alternative(schema), depth);
+            } else if (isObject(schema) || schema instanceof ComposedSchema) {
+                generator.writeStartObject();
+                if (depth < maxDepth) {
+                    for (Map.Entry<String, Schema> property : properties(schema).entrySet()) {
+                        generator.writeFieldName(property.getKey());
+                        write(property.getKey(), property.getValue(), depth + 1);
+                    }
+                }
+                generator.writeEndObject();
+            } else {
+                generator.writeString("");
+            }
+        }
+    }
+
+    private class XmlRun extends Run {
+        private final XMLStreamWriter writer;
+
+        private XmlRun(XMLStreamWriter writer) {
+            this.writer = writer;
+        }
+
+        private void write(String name, Schema schema, int depth) throws XMLStreamException {
+            if (schema == null || !enterValue()) {
+                return;
+            }
+            final String ref = schema.get$ref();
+            if (StringUtils.isNotBlank(ref)) {
+                if (!enterRef(ref)) {
+                    return;
+                }
+                final Schema model = getModel(ref);
+                if (model != null) {
+                    write(name, model, depth);
+                } else {
+                    startElement(name, null, depth);
+                    writer.writeEndElement();
+                }
+                exitRef(ref);
+                return;
+            }
+            final XML xml = schema.getXml();
+            final String elementName = xml != null && StringUtils.isNotBlank(xml.getName()) ? xml.getName() : name;
+            // structured examples given in the spec are JSON shaped, build those from the schema instead
+            final Object example = schema.getExample();
+            final boolean structured = example instanceof Map || example instanceof Collection || example instanceof Object[]
+                    || example instanceof JsonNode && ((JsonNode) example).isContainerNode();
+            final Object primitive = structured ? null : primitive(elementName, schema);
+            if (primitive != null) {
+                startElement(elementName, xml, depth);
+                writer.writeCharacters(String.valueOf(primitive));
+                writer.writeEndElement();
+            } else if (schema instanceof ArraySchema) {
+                final Schema items = ((ArraySchema) schema).getItems();
+                final boolean wrapped = xml != null && Boolean.TRUE.equals(xml.getWrapped());
+                int itemDepth = depth;
+                if (wrapped) {
+                    startElement(elementName, xml, depth);
+                    itemDepth = depth + 1;
+                }
+                if (items != null && depth < maxDepth) {
+                    final int length = arrayLength(schema);
+                    for (int i = 0; i < length; i++) {
+                        // items are named after the property unless they define a name
+                        write(name, items, itemDepth);
+                    }
+                }
+                if (wrapped) {
+                    endElement(depth);
+                }
+            } else if (isMap(schema)) {
+                startElement(elementName, xml, depth);
+                if (depth < maxDepth) {
+                    write(schema.getName() != null ? schema.getName() : DEFAULT_MAP_KEY, (Schema) schema.getAdditionalProperties(), depth + 1);
+                }
+                endElement(depth);
+            } else if (alternative(schema) != null) {
+                write(elementName, alternative(schema), depth);
+            } else if (isObject(schema) || schema instanceof ComposedSchema) {
+                startElement(elementName, xml, depth);
+                if (depth < maxDepth) {
+                    final Map<String, Schema> properties = properties(schema);
+                    final List<Map.Entry<String, Schema>> elements = new ArrayList<>();
+                    for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                        final Schema propertySchema = property.getValue();
+                        if (propertySchema != null && propertySchema.getXml() != null && Boolean.TRUE.equals(propertySchema.getXml().getAttribute())) {
+                            final Object value = primitive(property.getKey(), propertySchema);
+                            if (value != null && enterValue()) {
+                                final String attributeName = StringUtils.isNotBlank(propertySchema.getXml().getName()) ? propertySchema.getXml().getName() : property.getKey();
+                                writer.writeAttribute(attributeName, String.valueOf(value));
+                            }
+                        } else {
+                            elements.add(property);
+                        }
+                    }
+                    for (Map.Entry<String, Schema> property : elements) {
+                        write(property.getKey(), property.getValue(), depth + 1);
+                    }
+                }
+                endElement(depth);
+            } else {
+                startElement(elementName, xml, depth);
+                writer.writeEndElement();
+            }
+        }
+
+        private void startElement(String name, XML xml, int depth) throws XMLStreamException {
+            newLine(depth);
+            if (xml != null && StringUtils.isNotBlank(xml.getNamespace())) {
+                if (StringUtils.isNotBlank(xml.getPrefix())) {
+                    writer.writeStartElement(xml.getPrefix(), name, xml.getNamespace());
+                    writer.writeNamespace(xml.getPrefix(), xml.getNamespace());
+                } else {
+                    writer.writeStartElement("", name, xml.getNamespace());
+                    writer.writeDefaultNamespace(xml.getNamespace());
+                }
+            } else {
+                writer.writeStartElement(name);
+            }
+        }
+
+        private void endElement(int depth) throws XMLStreamException {
+            newLine(depth);
+            writer.writeEndElement();
+        }
+
+        private void newLine(int depth) throws XMLStreamException {
+            final StringBuilder indent = new StringBuilder("\n");
+            for (int i = 0; i < depth; i++) {
+                indent.append(INDENT);
+            }
+            writer.writeCharacters(indent.toString());
+        }
+    }
+}
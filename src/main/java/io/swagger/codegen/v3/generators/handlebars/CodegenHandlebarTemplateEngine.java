@@ -0,0 +1,62 @@
+package io.swagger.codegen.v3.generators.handlebars;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Template;
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.jfr.GenerationEvents;
+import io.swagger.codegen.v3.templates.CodegenTemplateLoader;
+import io.swagger.codegen.v3.templates.HandlebarTemplateEngine;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Handlebars engine of the generators. Compiles templates like {@link HandlebarTemplateEngine}, but once per JVM
+ * through the {@link CompiledTemplateCache} unless the config's <code>templateCache</code> option is false, and
+ * records the calls of the config's helpers as flight recorder events.
+ */
+public class CodegenHandlebarTemplateEngine extends HandlebarTemplateEngine {
+
+    private final CodegenConfig config;
+
+    public CodegenHandlebarTemplateEngine(CodegenConfig config) {
+        super(config);
+        this.config = config;
+    }
+
+    @Override
+    public String getRendered(String templateFile, Map<String, Object> templateData) throws IOException {
+        return compile(templateFile).apply(templateData);
+    }
+
+    protected Template compile(String templateFile) throws IOException {
+        final Handlebars handlebars;
+        if (isTemplateCache()) {
+            handlebars = CompiledTemplateCache.getInstance().getHandlebars(config, this::createHandlebars);
+        } else {
+            handlebars = createHandlebars();
+        }
+        return handlebars.compile(templateFile.replace("\\", "/"));
+    }
+
+    protected Handlebars createHandlebars() {
+        final String templateDir = config.templateDir().replace("\\", "/");
+        final String customTemplateDir = config.customTemplateDir() != null ? config.customTemplateDir().replace("\\", "/") : null;
+        final CodegenTemplateLoader templateLoader = new CodegenTemplateLoader()
+                .templateDir(templateDir)
+                .customTemplateDir(customTemplateDir);
+        final Handlebars handlebars = new Handlebars(templateLoader);
+        handlebars.prettyPrint(true);
+        final Map<Helper<?>, String> builtInHelpers = GenerationEvents.helpers(handlebars);
+        config.addHandlebarHelpers(handlebars);
+        GenerationEvents.instrumentHelpers(config, handlebars, builtInHelpers);
+        return handlebars;
+    }
+
+    private boolean isTemplateCache() {
+        final Object templateCache = config.additionalProperties().get(DefaultCodegenConfig.TEMPLATE_CACHE);
+        return templateCache == null || Boolean.parseBoolean(templateCache.toString());
+    }
+}
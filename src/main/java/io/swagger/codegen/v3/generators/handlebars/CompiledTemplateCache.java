@@ -0,0 +1,200 @@
+package io.swagger.codegen.v3.generators.handlebars;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.io.TemplateSource;
+import com.github.jknack.handlebars.io.URLTemplateSource;
+import io.swagger.codegen.v3.CodegenConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Handlebars instances shared by all generations of the JVM, each with its compiled templates and partials.
+ * An instance is keyed by config class, template dir, custom template dir and library; the helpers a config
+ * registers must only depend on its class. The least recently used instances are evicted beyond
+ * {@link #getMaxEntries()}. Templates read from files, such as those of a custom template dir, are compiled again
+ * when the file changes.
+ */
+public class CompiledTemplateCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final CompiledTemplateCache INSTANCE = new CompiledTemplateCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<Key, Handlebars> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxEntries;
+
+    public CompiledTemplateCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the cache of the JVM
+     */
+    public static CompiledTemplateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param factory creates the Handlebars of the given config, with its helpers, if none is cached
+     * @return the Handlebars of the given config
+     */
+    public Handlebars getHandlebars(CodegenConfig config, Supplier<Handlebars> factory) {
+        final Key key = new Key(config);
+        synchronized (entries) {
+            final Handlebars handlebars = entries.get(key);
+            if (handlebars != null) {
+                return handlebars;
+            }
+        }
+        final Handlebars handlebars = factory.get().with(new FileAwareTemplateCache());
+        synchronized (entries) {
+            final Handlebars raced = entries.putIfAbsent(key, handlebars);
+            if (raced != null) {
+                return raced;
+            }
+            while (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+            return handlebars;
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        synchronized (entries) {
+            this.maxEntries = maxEntries;
+            while (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> configClass;
+        private final String templateDir;
+        private final String customTemplateDir;
+        private final String library;
+
+        private Key(CodegenConfig config) {
+            this.configClass = config.getClass();
+            this.templateDir = config.templateDir();
+            this.customTemplateDir = config.customTemplateDir();
+            this.library = config.getLibrary();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return configClass == key.configClass
+                    && Objects.equals(templateDir, key.templateDir)
+                    && Objects.equals(customTemplateDir, key.customTemplateDir)
+                    && Objects.equals(library, key.library);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(configClass, templateDir, customTemplateDir, library);
+        }
+    }
+
+    /**
+     * Compiled templates and partials of one Handlebars, by source. Sources that are files are checked for
+     * changes on every lookup, classpath sources are compiled once. Handlebars indents standalone partials by
+     * wrapping their source under the same name, so wrapped sources are told apart by content.
+     */
+    static class FileAwareTemplateCache implements TemplateCache {
+
+        private final Map<String, Entry> templates = new ConcurrentHashMap<>();
+
+        @Override
+        public void clear() {
+            templates.clear();
+        }
+
+        @Override
+        public void evict(TemplateSource source) {
+            try {
+                templates.remove(key(source));
+            } catch (IOException e) {
+                templates.clear();
+            }
+        }
+
+        @Override
+        public Template get(TemplateSource source, Parser parser) throws IOException {
+            final String key = key(source);
+            final Entry entry = templates.get(key);
+            if (entry != null && !entry.isModified()) {
+                return entry.template;
+            }
+            final File file = new File(source.filename());
+            final Entry parsed = file.isFile()
+                    ? new Entry(file, file.lastModified(), file.length(), parser.parse(source))
+                    : new Entry(null, 0, 0, parser.parse(source));
+            templates.put(key, parsed);
+            return parsed.template;
+        }
+
+        private static String key(TemplateSource source) throws IOException {
+            if (source instanceof URLTemplateSource) {
+                return source.filename();
+            }
+            return source.filename() + '\u0000' + source.content(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public TemplateCache setReload(boolean reload) {
+            // file sources are always reloaded on change
+            return this;
+        }
+
+        private static final class Entry {
+            private final File file;
+            private final long lastModified;
+            private final long length;
+            private final Template template;
+
+            private Entry(File file, long lastModified, long length, Template template) {
+                this.file = file;
+                this.lastModified = lastModified;
+                this.length = length;
+                this.template = template;
+            }
+
+            private boolean isModified() {
+                return file != null && (file.lastModified() != lastModified || file.length() != length);
+            }
+        }
+    }
+}
@@ -37,9 +37,13 @@ public class HtmlSchemaHandler extends SchemaHandler {
         if (codegenProperties == null || codegenProperties.isEmpty()) {
             return;
         }
+        Map<String, Schema> allOfProperties = null;
         for (CodegenProperty codegenProperty : codegenProperties) {
             if (codegenProperty.getIsListContainer()) {
-                Schema schemaProperty = OpenAPIUtil.getPropertyFromAllOfSchema(codegenProperty.baseName, composedSchema.getAllOf(), this.codegenConfig.getOpenAPI());
+                if (allOfProperties == null) {
+                    allOfProperties = OpenAPIUtil.getPropertiesFromAllOfSchema(composedSchema.getAllOf(), this.codegenConfig.getOpenAPI());
+                }
+                Schema schemaProperty = allOfProperties.get(codegenProperty.baseName);
                 if (schemaProperty == null || !(schemaProperty instanceof ArraySchema)) {
                     continue;
                 }
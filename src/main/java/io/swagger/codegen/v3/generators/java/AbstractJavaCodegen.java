@@ -11,6 +11,9 @@ import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
 import io.swagger.codegen.v3.generators.features.NotNullAnnotationFeatures;
 import io.swagger.codegen.v3.generators.handlebars.java.JavaHelper;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -32,15 +35,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static io.swagger.codegen.v3.CodegenConstants.HAS_ENUMS_EXT_NAME;
@@ -50,6 +57,35 @@ import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBoo
 
 public abstract class AbstractJavaCodegen extends DefaultCodegenConfig {
     private static Logger LOGGER = LoggerFactory.getLogger(AbstractJavaCodegen.class);
+
+    // tables shared by all instances, copied by an instance on its first change
+    private static final Set<String> LANGUAGE_SPECIFIC_PRIMITIVES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(
+                    "String",
+                    "boolean",
+                    "Boolean",
+                    "Double",
+                    "Integer",
+                    "Long",
+                    "Float",
+                    "Object",
+                    "byte[]")
+    ));
+    private static final Map<String, String> INSTANTIATION_TYPES;
+    private static final Map<String, String> TYPE_MAPPING;
+
+    static {
+        final Map<String, String> instantiationTypes = new HashMap<>();
+        instantiationTypes.put("array", "ArrayList");
+        instantiationTypes.put("map", "HashMap");
+        INSTANTIATION_TYPES = Collections.unmodifiableMap(instantiationTypes);
+
+        final Map<String, String> typeMapping = new HashMap<>(getDefaultTypeMapping());
+        typeMapping.put("date", "Date");
+        typeMapping.put("file", "File");
+        typeMapping.put("binary", "File");
+        TYPE_MAPPING = Collections.unmodifiableMap(typeMapping);
+    }
     public static final String FULL_JAVA_UTIL = "fullJavaUtil";
     public static final String DEFAULT_LIBRARY = "<default>";
     public static final String DATE_LIBRARY = "dateLibrary";
@@ -119,23 +155,9 @@ public abstract class AbstractJavaCodegen extends DefaultCodegenConfig {
                         "native", "super", "while", "null")
         );
 
-        languageSpecificPrimitives = new HashSet<String>(
-                Arrays.asList(
-                        "String",
-                        "boolean",
-                        "Boolean",
-                        "Double",
-                        "Integer",
-                        "Long",
-                        "Float",
-                        "Object",
-                        "byte[]")
-        );
-        instantiationTypes.put("array", "ArrayList");
-        instantiationTypes.put("map", "HashMap");
-        typeMapping.put("date", "Date");
-        typeMapping.put("file", "File");
-        typeMapping.put("binary", "File");
+        languageSpecificPrimitives = new CopyOnWriteSet<>(LANGUAGE_SPECIFIC_PRIMITIVES);
+        instantiationTypes = new CopyOnWriteMap<>(INSTANTIATION_TYPES);
+        typeMapping = new CopyOnWriteMap<>(TYPE_MAPPING);
 
         cliOptions.add(new CliOption(CodegenConstants.MODEL_PACKAGE, CodegenConstants.MODEL_PACKAGE_DESC));
         cliOptions.add(new CliOption(CodegenConstants.API_PACKAGE, CodegenConstants.API_PACKAGE_DESC));
@@ -1034,32 +1056,66 @@ public abstract class AbstractJavaCodegen extends DefaultCodegenConfig {
             return;
         }
 
+        final List<ParentVars> ancestorVars = new ArrayList<>();
+        for (CodegenModel parentModel : getParentModels(codegenModel, allModels)) {
+            if (parentModel.vars != null && !parentModel.vars.isEmpty()) {
+                ancestorVars.add(new ParentVars(parentModel.vars));
+            }
+        }
         for (CodegenProperty codegenProperty : codegenModel.vars) {
-            CodegenModel parentModel = codegenModel.parentModel;
-            
-            while (parentModel != null) {
-                if (parentModel.vars == null || parentModel.vars.isEmpty()) {
-                    parentModel = parentModel.parentModel;
-                    continue;
-                }
-                boolean hasConflict = parentModel.vars.stream()
-                    .anyMatch(parentProperty ->
-                        (parentProperty.name.equals(codegenProperty.name) ||
-                            parentProperty.getGetter().equals(codegenProperty.getGetter()) ||
-                            parentProperty.getSetter().equals(codegenProperty.getSetter()) &&
-                        !parentProperty.datatype.equals(codegenProperty.datatype)));
-                if (hasConflict) {
+            for (ParentVars parentVars : ancestorVars) {
+                if (parentVars.hasConflict(codegenProperty)) {
                     codegenProperty.name = toVarName(codegenModel.name + "_" + codegenProperty.name);
                     codegenProperty.nameInCamelCase = camelize(codegenProperty.name, false);
                     codegenProperty.getter = toGetter(codegenProperty.name);
                     codegenProperty.setter = toSetter(codegenProperty.name);
                     break;
                 }
-                parentModel = parentModel.parentModel;
             }
         }
     }
 
+    private List<CodegenModel> getParentModels(CodegenModel codegenModel, Map<String, CodegenModel> allModels) {
+        final List<CodegenModel> parentModels = getInheritanceGraph(allModels).getAncestors(codegenModel);
+        if (!parentModels.isEmpty()) {
+            return parentModels;
+        }
+        // not part of the given models, follow the parent models set on it
+        final List<CodegenModel> chain = new ArrayList<>();
+        final Set<CodegenModel> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CodegenModel parentModel = codegenModel.parentModel; parentModel != null && visited.add(parentModel); parentModel = parentModel.parentModel) {
+            chain.add(parentModel);
+        }
+        return chain;
+    }
+
+    /**
+     * Names, getters and setters of the properties of a parent model, to find the properties of a child that
+     * clash with them.
+     */
+    private static class ParentVars {
+        private final Set<String> names = new HashSet<>();
+        private final Set<String> getters = new HashSet<>();
+        private final Map<String, Set<String>> datatypesBySetter = new HashMap<>();
+
+        private ParentVars(List<CodegenProperty> vars) {
+            for (CodegenProperty parentProperty : vars) {
+                names.add(parentProperty.name);
+                getters.add(parentProperty.getGetter());
+                datatypesBySetter.computeIfAbsent(parentProperty.getSetter(), setter -> new HashSet<>()).add(parentProperty.datatype);
+            }
+        }
+
+        private boolean hasConflict(CodegenProperty codegenProperty) {
+            if (names.contains(codegenProperty.name) || getters.contains(codegenProperty.getGetter())) {
+                return true;
+            }
+            // same setter for a different type
+            final Set<String> datatypes = datatypesBySetter.get(codegenProperty.getSetter());
+            return datatypes != null && (datatypes.size() > 1 || !datatypes.contains(codegenProperty.datatype));
+        }
+    }
+
     @Override
     public void postProcessParameter(CodegenParameter parameter) { }
 
@@ -1572,7 +1628,7 @@ public abstract class AbstractJavaCodegen extends DefaultCodegenConfig {
 
     @Override
     public String escapeUnsafeCharacters(String input) {
-        return input.replace("*/", "*_/").replace("/*", "/_*");
+        return TextEscaper.BLOCK_COMMENT.escape(input);
     }
 
     /*
@@ -93,6 +93,7 @@ public abstract class AbstractJavaJAXRSServerCodegen extends AbstractJavaCodegen
     @Override
     public void preprocessOpenAPI(OpenAPI openAPI) {
         //this.openAPIUtil = new OpenAPIUtil(openAPI);
+        pruneOpenAPI(openAPI);
         this.openAPI = openAPI;
         if (!this.additionalProperties.containsKey("serverPort")) {
             final URL urlInfo = URLPathUtil.getServerURL(openAPI);
@@ -10,7 +10,10 @@ import io.swagger.codegen.v3.CodegenParameter;
 import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.CodegenType;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
 import io.swagger.codegen.v3.SupportingFile;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.info.Info;
@@ -42,6 +45,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static io.swagger.codegen.v3.CodegenConstants.HAS_ENUMS_EXT_NAME;
@@ -52,6 +56,48 @@ public class JavaScriptClientCodegen extends DefaultCodegenConfig {
     @SuppressWarnings("hiding")
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaScriptClientCodegen.class);
 
+    // tables shared by all instances, copied by an instance on its first change
+    private static final Set<String> LANGUAGE_SPECIFIC_PRIMITIVES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("String", "Boolean", "Number", "Array", "Object", "Date", "File", "Blob")
+    ));
+    private static final Map<String, String> INSTANTIATION_TYPES;
+    private static final Map<String, String> TYPE_MAPPING;
+
+    static {
+        final Map<String, String> instantiationTypes = new HashMap<>();
+        instantiationTypes.put("array", "Array");
+        instantiationTypes.put("list", "Array");
+        instantiationTypes.put("map", "Object");
+        INSTANTIATION_TYPES = Collections.unmodifiableMap(instantiationTypes);
+
+        final Map<String, String> typeMapping = new HashMap<>();
+        typeMapping.put("array", "Array");
+        typeMapping.put("map", "Object");
+        typeMapping.put("List", "Array");
+        typeMapping.put("boolean", "Boolean");
+        typeMapping.put("string", "String");
+        typeMapping.put("int", "Number");
+        typeMapping.put("float", "Number");
+        typeMapping.put("number", "Number");
+        typeMapping.put("BigDecimal", "Number");
+        typeMapping.put("DateTime", "Date");
+        typeMapping.put("date", "Date");
+        typeMapping.put("long", "Number");
+        typeMapping.put("short", "Number");
+        typeMapping.put("char", "String");
+        typeMapping.put("double", "Number");
+        typeMapping.put("object", "Object");
+        typeMapping.put("integer", "Number");
+        // binary not supported in JavaScript client right now, using String as a workaround
+        typeMapping.put("ByteArray", "Blob"); // I don't see ByteArray defined in the Swagger docs.
+        typeMapping.put("binary", "File");
+        typeMapping.put("binary", "Blob");
+        typeMapping.put("file", "File");
+        typeMapping.put("URI", "String");
+        typeMapping.put("UUID", "String");
+        TYPE_MAPPING = Collections.unmodifiableMap(typeMapping);
+    }
+
     public static final String PROJECT_NAME = "projectName";
     public static final String MODULE_NAME = "moduleName";
     public static final String PROJECT_DESCRIPTION = "projectDescription";
@@ -152,39 +198,11 @@ public class JavaScriptClientCodegen extends DefaultCodegenConfig {
                         "prototype", "String", "toString", "undefined", "valueOf")
         );
 
-        languageSpecificPrimitives = new HashSet<String>(
-                Arrays.asList("String", "Boolean", "Number", "Array", "Object", "Date", "File", "Blob")
-        );
-        defaultIncludes = new HashSet<String>(languageSpecificPrimitives);
+        languageSpecificPrimitives = new CopyOnWriteSet<>(LANGUAGE_SPECIFIC_PRIMITIVES);
+        defaultIncludes = new CopyOnWriteSet<>(LANGUAGE_SPECIFIC_PRIMITIVES);
 
-        instantiationTypes.put("array", "Array");
-        instantiationTypes.put("list", "Array");
-        instantiationTypes.put("map", "Object");
-        typeMapping.clear();
-        typeMapping.put("array", "Array");
-        typeMapping.put("map", "Object");
-        typeMapping.put("List", "Array");
-        typeMapping.put("boolean", "Boolean");
-        typeMapping.put("string", "String");
-        typeMapping.put("int", "Number");
-        typeMapping.put("float", "Number");
-        typeMapping.put("number", "Number");
-        typeMapping.put("BigDecimal", "Number");
-        typeMapping.put("DateTime", "Date");
-        typeMapping.put("date", "Date");
-        typeMapping.put("long", "Number");
-        typeMapping.put("short", "Number");
-        typeMapping.put("char", "String");
-        typeMapping.put("double", "Number");
-        typeMapping.put("object", "Object");
-        typeMapping.put("integer", "Number");
-        // binary not supported in JavaScript client right now, using String as a workaround
-        typeMapping.put("ByteArray", "Blob"); // I don't see ByteArray defined in the Swagger docs.
-        typeMapping.put("binary", "File");
-        typeMapping.put("binary", "Blob");
-        typeMapping.put("file", "File");
-        typeMapping.put("URI", "String");
-        typeMapping.put("UUID", "String");
+        instantiationTypes = new CopyOnWriteMap<>(INSTANTIATION_TYPES);
+        typeMapping = new CopyOnWriteMap<>(TYPE_MAPPING);
 
         importMapping.clear();
 
@@ -1457,7 +1475,7 @@ public class JavaScriptClientCodegen extends DefaultCodegenConfig {
 
     @Override
     public String escapeUnsafeCharacters(String input) {
-        return input.replace("*/", "*_/").replace("/*", "/_*");
+        return TextEscaper.BLOCK_COMMENT.escape(input);
     }
 
 }
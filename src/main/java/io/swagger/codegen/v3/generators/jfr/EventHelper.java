@@ -0,0 +1,40 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Options;
+
+import java.io.IOException;
+
+/**
+ * Handlebars helper committing a {@link HelperCallEvent} per call of the helper it wraps.
+ */
+class EventHelper<T> implements Helper<T> {
+
+    private final String language;
+    private final String library;
+    private final String name;
+    private final Helper<T> helper;
+
+    EventHelper(String language, String library, String name, Helper<T> helper) {
+        this.language = language;
+        this.library = library;
+        this.name = name;
+        this.helper = helper;
+    }
+
+    @Override
+    public Object apply(T context, Options options) throws IOException {
+        final HelperCallEvent event = new HelperCallEvent();
+        event.begin();
+        final Object result = helper.apply(context, options);
+        event.end();
+        if (event.shouldCommit()) {
+            event.helper = name;
+            event.template = GenerationEvents.TEMPLATE.get();
+            event.language = language;
+            event.library = library;
+            event.commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.templates.TemplateEngine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Template engine committing a {@link TemplateRenderEvent} per render of the engine it wraps.
+ */
+class EventTemplateEngine implements TemplateEngine {
+
+    private final CodegenConfig config;
+    private final TemplateEngine templateEngine;
+
+    EventTemplateEngine(CodegenConfig config, TemplateEngine templateEngine) {
+        this.config = config;
+        this.templateEngine = templateEngine;
+    }
+
+    @Override
+    public String getRendered(String templateFile, Map<String, Object> templateData) throws IOException {
+        final String template = GenerationEvents.TEMPLATE.get();
+        final TemplateRenderEvent event = new TemplateRenderEvent();
+        event.begin();
+        final String rendered;
+        GenerationEvents.TEMPLATE.set(templateFile);
+        try {
+            rendered = templateEngine.getRendered(templateFile, templateData);
+        } finally {
+            GenerationEvents.TEMPLATE.set(template);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.template = templateFile;
+            event.bytes = rendered == null ? 0 : rendered.getBytes(StandardCharsets.UTF_8).length;
+            event.language = config.getName();
+            event.library = config.getLibrary();
+            event.commit();
+        }
+        return rendered;
+    }
+
+    @Override
+    public String getName() {
+        return templateEngine.getName();
+    }
+
+    static void fileSkipped(CodegenConfig config, String filename) {
+        final FileSkipEvent event = new FileSkipEvent();
+        if (event.shouldCommit()) {
+            event.targetFile = filename;
+            event.language = config.getName();
+            event.library = config.getLibrary();
+            event.commit();
+        }
+    }
+}
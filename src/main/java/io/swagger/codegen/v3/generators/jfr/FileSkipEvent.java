@@ -0,0 +1,23 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.swagger.codegen.FileSkip")
+@Label("File Skip")
+@Category({"Swagger Codegen"})
+@Description("File the config decided not to render in shouldOverwrite")
+class FileSkipEvent extends Event {
+
+    @Label("Target File")
+    String targetFile;
+
+    @Label("Language")
+    String language;
+
+    @Label("Library")
+    String library;
+}
@@ -0,0 +1,95 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Helper;
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.templates.TemplateEngine;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder events of the generation: template renders, files the config skipped and calls of the
+ * Handlebars helpers registered by the config. Renders are recorded by the template engine, not where the generator
+ * writes, so they carry the template rather than the file; files left out by <code>.swagger-codegen-ignore</code>
+ * are rendered but not written. On JVMs without JFR every method is a no-op and the given engine
+ * and helpers are used as they are. While no recording is running the events cost a few checks per render or
+ * helper call.
+ * <p>
+ * The events compile against <code>jdk.jfr</code>, so building needs a JDK with JFR (8u262 or later, or 11 or
+ * later), which the enforcer plugin checks. The availability check only protects runtimes without it.
+ */
+public final class GenerationEvents {
+
+    private static final boolean AVAILABLE = isFlightRecorderPresent();
+
+    // template being rendered, for the helper calls
+    static final ThreadLocal<String> TEMPLATE = new ThreadLocal<>();
+
+    private GenerationEvents() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * @return the given engine, committing a template render event per render
+     */
+    public static TemplateEngine instrument(CodegenConfig config, TemplateEngine templateEngine) {
+        if (!AVAILABLE || templateEngine == null || templateEngine instanceof EventTemplateEngine) {
+            return templateEngine;
+        }
+        return new EventTemplateEngine(config, templateEngine);
+    }
+
+    /**
+     * Wraps the helpers the config registered on the given Handlebars since <code>before</code> was taken.
+     *
+     * @param before the helpers of the given Handlebars before the config's, see {@link #helpers(Handlebars)}
+     */
+    public static void instrumentHelpers(CodegenConfig config, Handlebars handlebars, Map<Helper<?>, String> before) {
+        if (!AVAILABLE) {
+            return;
+        }
+        final List<Map.Entry<String, Helper<?>>> helpers = new ArrayList<>(handlebars.helpers());
+        for (Map.Entry<String, Helper<?>> helper : helpers) {
+            if (!before.containsKey(helper.getValue()) && !(helper.getValue() instanceof EventHelper)) {
+                handlebars.registerHelper(helper.getKey(), new EventHelper<>(config.getName(), config.getLibrary(), helper.getKey(), helper.getValue()));
+            }
+        }
+    }
+
+    /**
+     * @return the helpers currently registered on the given Handlebars, empty if there are no events
+     */
+    public static Map<Helper<?>, String> helpers(Handlebars handlebars) {
+        final Map<Helper<?>, String> helpers = new IdentityHashMap<>();
+        if (AVAILABLE) {
+            for (Map.Entry<String, Helper<?>> helper : handlebars.helpers()) {
+                helpers.put(helper.getValue(), helper.getKey());
+            }
+        }
+        return helpers;
+    }
+
+    /**
+     * Commits a file skip event for a file the config decided not to render.
+     */
+    public static void fileSkipped(CodegenConfig config, String filename) {
+        if (AVAILABLE) {
+            EventTemplateEngine.fileSkipped(config, filename);
+        }
+    }
+
+    private static boolean isFlightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, GenerationEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
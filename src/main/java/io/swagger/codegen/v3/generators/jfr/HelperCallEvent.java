@@ -0,0 +1,26 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.swagger.codegen.HelperCall")
+@Label("Handlebars Helper Call")
+@Category({"Swagger Codegen"})
+@Description("Call of a Handlebars helper registered by the config")
+class HelperCallEvent extends Event {
+
+    @Label("Helper")
+    String helper;
+
+    @Label("Template")
+    String template;
+
+    @Label("Language")
+    String language;
+
+    @Label("Library")
+    String library;
+}
@@ -0,0 +1,29 @@
+package io.swagger.codegen.v3.generators.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.swagger.codegen.TemplateRender")
+@Label("Template Render")
+@Category({"Swagger Codegen"})
+@Description("Rendering of one template, whether or not the generator writes the result")
+class TemplateRenderEvent extends Event {
+
+    @Label("Template")
+    String template;
+
+    @Label("Rendered Bytes")
+    @Description("Size of the rendered content in UTF-8")
+    @DataAmount
+    long bytes;
+
+    @Label("Language")
+    String language;
+
+    @Label("Library")
+    String library;
+}
@@ -4,7 +4,7 @@ import io.swagger.codegen.v3.CliOption;
 import io.swagger.codegen.v3.CodegenType;
 import io.swagger.codegen.v3.SupportingFile;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
-import io.swagger.codegen.v3.templates.HandlebarTemplateEngine;
+import io.swagger.codegen.v3.generators.handlebars.CodegenHandlebarTemplateEngine;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.apache.commons.io.FileUtils;
@@ -128,7 +128,7 @@ public class OpenAPIGenerator extends DefaultCodegenConfig {
 
     @Override
     protected void setTemplateEngine() {
-        templateEngine = new HandlebarTemplateEngine(this);
+        templateEngine = new CodegenHandlebarTemplateEngine(this);
     }
 
     @Override
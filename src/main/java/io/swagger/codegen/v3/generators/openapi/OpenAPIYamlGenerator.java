@@ -36,6 +36,7 @@ public class OpenAPIYamlGenerator extends OpenAPIGenerator {
 
     @Override
     public void preprocessOpenAPI(OpenAPI openAPI) {
+        pruneOpenAPI(openAPI);
         this.openAPI = openAPI;
         try {
             final String outputString;
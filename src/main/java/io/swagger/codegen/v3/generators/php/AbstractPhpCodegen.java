@@ -6,6 +6,7 @@ import io.swagger.codegen.v3.CodegenOperation;
 import io.swagger.codegen.v3.CodegenParameter;
 import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 
 import java.io.File;
 import java.util.Arrays;
@@ -27,6 +28,10 @@ import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBoo
 public abstract class AbstractPhpCodegen extends DefaultCodegenConfig {
     private static Logger LOGGER = LoggerFactory.getLogger(AbstractPhpCodegen.class);
 
+    private static final TextEscaper UNSAFE_CHARACTER_ESCAPER = TextEscaper.builder()
+            .replace("*/", "")
+            .build();
+
     public static final String VARIABLE_NAMING_CONVENTION = "variableNamingConvention";
     public static final String PACKAGE_PATH = "packagePath";
     public static final String SRC_BASE_PATH = "srcBasePath";
@@ -660,7 +665,7 @@ public abstract class AbstractPhpCodegen extends DefaultCodegenConfig {
 
     @Override
     public String escapeUnsafeCharacters(String input) {
-        return input.replace("*/", "");
+        return UNSAFE_CHARACTER_ESCAPER.escape(input);
     }
 
     protected String extractSimpleName(String phpClassName) {
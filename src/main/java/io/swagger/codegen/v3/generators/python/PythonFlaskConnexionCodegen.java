@@ -14,6 +14,7 @@ import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.CodegenType;
 import io.swagger.codegen.v3.SupportingFile;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -42,6 +43,10 @@ public class PythonFlaskConnexionCodegen extends DefaultCodegenConfig {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PythonFlaskConnexionCodegen.class);
 
+    private static final TextEscaper UNSAFE_CHARACTER_ESCAPER = TextEscaper.builder()
+            .replace("'''", "'_'_'")
+            .build();
+
     public static final String CONTROLLER_PACKAGE = "controllerPackage";
     public static final String DEFAULT_CONTROLLER = "defaultController";
     public static final String SUPPORT_PYTHON2= "supportPython2";
@@ -639,7 +644,7 @@ public class PythonFlaskConnexionCodegen extends DefaultCodegenConfig {
     @Override
     public String escapeUnsafeCharacters(String input) {
         // remove multiline comment
-        return input.replace("'''", "'_'_'");
+        return UNSAFE_CHARACTER_ESCAPER.escape(input);
     }
 
     @Override
@@ -0,0 +1,294 @@
+package io.swagger.codegen.v3.generators.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Map reading from a table shared by many instances, such as the type mapping of a language, until it is first
+ * changed. The first change copies the table into a map of its own, so the shared table is never changed.
+ * <p>
+ * The key, value and entry views always read the current entries, and changes through them copy the shared table
+ * like changes to the map itself. Not thread-safe, like the maps it replaces.
+ */
+public class CopyOnWriteMap<K, V> implements Map<K, V> {
+
+    private Map<K, V> map;
+    private boolean shared;
+
+    /**
+     * @param table entries to start with, shared and never changed
+     */
+    public CopyOnWriteMap(Map<K, V> table) {
+        this.map = table;
+        this.shared = true;
+    }
+
+    /**
+     * @return whether the map still reads from the shared table
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    private Map<K, V> writable() {
+        if (shared) {
+            map = new HashMap<>(map);
+            shared = false;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return map.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (shared && !map.containsKey(key)) {
+            return null;
+        }
+        return writable().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        writable().putAll(entries);
+    }
+
+    @Override
+    public void clear() {
+        map = new HashMap<>();
+        shared = false;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        writable().replaceAll(function);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return map.containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!map.containsKey(o)) {
+                    return false;
+                }
+                CopyOnWriteMap.this.remove(o);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CopyOnWriteMap.this.clear();
+            }
+
+            @Override
+            public Iterator<K> iterator() {
+                final Iterator<Entry<K, V>> entries = new EntryIterator();
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return entries.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return map.containsValue(o);
+            }
+
+            @Override
+            public void clear() {
+                CopyOnWriteMap.this.clear();
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                final Iterator<Entry<K, V>> entries = new EntryIterator();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return entries.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return map.entrySet().contains(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!contains(o)) {
+                    return false;
+                }
+                CopyOnWriteMap.this.remove(((Entry<?, ?>) o).getKey());
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CopyOnWriteMap.this.clear();
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    /**
+     * Iterates the entries of the map at the time it was created. Changes through the iterator and its entries go
+     * to the map, so a shared table is copied first instead of changed.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Map<K, V> source = map;
+        private final Iterator<Entry<K, V>> entries = source.entrySet().iterator();
+        private Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            final Entry<K, V> entry = entries.next();
+            last = entry;
+            return new AbstractMap.SimpleEntry<K, V>(entry) {
+                @Override
+                public V setValue(V value) {
+                    CopyOnWriteMap.this.put(getKey(), value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (source == map && !shared) {
+                entries.remove();
+            } else {
+                CopyOnWriteMap.this.remove(last.getKey());
+            }
+            last = null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || map.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
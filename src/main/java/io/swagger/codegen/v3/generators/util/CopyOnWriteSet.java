@@ -0,0 +1,169 @@
+package io.swagger.codegen.v3.generators.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Set reading from a table shared by many instances, such as the reserved words of a language, until it is first
+ * changed. The first change copies the table into a set of its own, so the shared table is never changed.
+ * <p>
+ * Removing through the iterator copies the shared table like changes to the set itself. Not thread-safe, like the
+ * sets it replaces.
+ */
+public class CopyOnWriteSet<E> implements Set<E> {
+
+    private Set<E> set;
+    private boolean shared;
+
+    /**
+     * @param table elements to start with, shared and never changed
+     */
+    public CopyOnWriteSet(Set<E> table) {
+        this.set = table;
+        this.shared = true;
+    }
+
+    /**
+     * @return whether the set still reads from the shared table
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    private Set<E> writable() {
+        if (shared) {
+            set = new HashSet<>(set);
+            shared = false;
+        }
+        return set;
+    }
+
+    @Override
+    public int size() {
+        return set.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return set.contains(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return set.containsAll(c);
+    }
+
+    /**
+     * @return iterator over the elements at the time it was created; removing through it copies a shared table
+     * first instead of changing it
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Set<E> source = set;
+        final Iterator<E> elements = source.iterator();
+        return new Iterator<E>() {
+            private E last;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = elements.next();
+                removable = true;
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+                if (source == set && !shared) {
+                    elements.remove();
+                } else {
+                    CopyOnWriteSet.this.remove(last);
+                }
+                removable = false;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return set.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return set.toArray(a);
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (shared && set.contains(e)) {
+            return false;
+        }
+        return writable().add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (shared && !set.contains(o)) {
+            return false;
+        }
+        return writable().remove(o);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return writable().addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return writable().retainAll(c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return writable().removeAll(c);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return writable().removeIf(filter);
+    }
+
+    @Override
+    public void clear() {
+        set = new HashSet<>();
+        shared = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || set.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return set.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return set.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.v3.core.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fingerprints of the last generation run, stored in the output folder. A model or api file is only
+ * rendered again when its fingerprint differs from the one recorded here.
+ */
+public class GenerationManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String LOCATION = ".swagger-codegen" + File.separator + "generation-manifest.json";
+
+    private String generation;
+    private Map<String, String> models = new TreeMap<>();
+    private Map<String, String> apis = new TreeMap<>();
+
+    public GenerationManifest() {
+    }
+
+    public GenerationManifest(String generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * @return the manifest stored in the given output folder, null if there is none or it can't be read
+     */
+    public static GenerationManifest read(String outputFolder) {
+        final File file = new File(outputFolder, LOCATION);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return Json.mapper().readValue(file, GenerationManifest.class);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable generation manifest " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(String outputFolder) {
+        final File file = new File(outputFolder, LOCATION);
+        try {
+            file.getParentFile().mkdirs();
+            Json.pretty().writeValue(file, this);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write generation manifest " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fingerprint of everything every generated file depends on: generator, options, templates and global
+     * parts of the spec. When it changes no file is considered unchanged.
+     */
+    public String getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(String generation) {
+        this.generation = generation;
+    }
+
+    public Map<String, String> getModels() {
+        return models;
+    }
+
+    public void setModels(Map<String, String> models) {
+        this.models = models;
+    }
+
+    public Map<String, String> getApis() {
+        return apis;
+    }
+
+    public void setApis(Map<String, String> apis) {
+        this.apis = apis;
+    }
+}
@@ -0,0 +1,319 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.templates.TemplateEngine;
+import io.swagger.v3.core.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records wall time, CPU time and allocated bytes of the generation phases, in total and per model, operation
+ * and template, and reports them as JSON with the slowest entries of each phase first.
+ * <p>
+ * The generator calls every phase on the config, so {@link #instrument(CodegenConfig)} wraps the config in a
+ * proxy timing those calls, overrides of the language included. With parallel conversion the first
+ * <code>fromModel</code> and <code>fromOperation</code> calls carry the conversion of the whole spec.
+ */
+public class GenerationProfiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationProfiler.class);
+
+    public static final int DEFAULT_TOP = 20;
+
+    public enum Phase {
+        PROCESS_OPTS("processOpts"),
+        PREPROCESS_OPENAPI("preprocessOpenAPI"),
+        FROM_MODEL("fromModel"),
+        POST_PROCESS_ALL_MODELS("postProcessAllModels"),
+        POST_PROCESS_MODELS("postProcessModels"),
+        FROM_OPERATION("fromOperation"),
+        POST_PROCESS_OPERATIONS_WITH_MODELS("postProcessOperationsWithModels"),
+        POST_PROCESS_SUPPORTING_FILE_DATA("postProcessSupportingFileData"),
+        RENDER("render");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final Map<String, Phase> PHASES_BY_METHOD = new HashMap<>();
+
+    static {
+        for (Phase phase : Phase.values()) {
+            if (phase != Phase.RENDER) {
+                PHASES_BY_METHOD.put(phase.getName(), phase);
+            }
+        }
+    }
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTime;
+    private final boolean allocatedBytes;
+    private final Map<Phase, Stats> totals = new EnumMap<>(Phase.class);
+    private final Map<Phase, Map<String, Stats>> entries = new EnumMap<>(Phase.class);
+
+    public GenerationProfiler() {
+        this.cpuTime = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        this.allocatedBytes = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return the given config, with every phase the generator calls on it recorded by this profiler
+     */
+    public CodegenConfig instrument(CodegenConfig config) {
+        return (CodegenConfig) Proxy.newProxyInstance(CodegenConfig.class.getClassLoader(),
+                new Class<?>[]{CodegenConfig.class}, new ProfilingHandler(config));
+    }
+
+    /**
+     * @return the given engine, with every render recorded by this profiler under the template's name
+     */
+    public TemplateEngine instrument(TemplateEngine templateEngine) {
+        return new ProfilingTemplateEngine(templateEngine);
+    }
+
+    /**
+     * @return counters of the current thread, to be passed to {@link #record(Phase, String, Sample)} at the end
+     * of the phase
+     */
+    public Sample start() {
+        return new Sample(System.nanoTime(), cpuTime(), allocatedBytes());
+    }
+
+    /**
+     * Records the phase started with the given sample on the current thread.
+     *
+     * @param name the model, operation or template the phase worked on, null for none
+     */
+    public void record(Phase phase, String name, Sample start) {
+        final long wall = System.nanoTime() - start.wall;
+        final long cpu = cpuTime ? cpuTime() - start.cpu : -1;
+        final long allocated = allocatedBytes ? allocatedBytes() - start.allocated : -1;
+        synchronized (this) {
+            totals.computeIfAbsent(phase, p -> new Stats(null)).add(wall, cpu, allocated);
+            if (name != null) {
+                entries.computeIfAbsent(phase, p -> new HashMap<>()).computeIfAbsent(name, Stats::new).add(wall, cpu, allocated);
+            }
+        }
+    }
+
+    public synchronized Stats getTotal(Phase phase) {
+        return totals.get(phase);
+    }
+
+    /**
+     * @return the entries of the given phase with the longest wall time first, at most top of them
+     */
+    public synchronized List<Stats> getSlowest(Phase phase, int top) {
+        final Map<String, Stats> phaseEntries = entries.get(phase);
+        final List<Stats> slowest = new ArrayList<>();
+        if (phaseEntries == null) {
+            return slowest;
+        }
+        slowest.addAll(phaseEntries.values());
+        slowest.sort((one, another) -> {
+            final int compared = Long.compare(another.wallNanos, one.wallNanos);
+            return compared != 0 ? compared : one.name.compareTo(another.name);
+        });
+        return new ArrayList<>(slowest.subList(0, Math.min(top, slowest.size())));
+    }
+
+    /**
+     * @return the report: totals per phase under "phases", the slowest entries per phase under "slowest"
+     */
+    public synchronized Map<String, Object> getReport(int top) {
+        final Map<String, Object> phases = new LinkedHashMap<>();
+        final Map<String, Object> slowest = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            if (totals.containsKey(phase)) {
+                phases.put(phase.getName(), totals.get(phase));
+            }
+            if (entries.containsKey(phase)) {
+                slowest.put(phase.getName(), getSlowest(phase, top));
+            }
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("cpuTimeSupported", cpuTime);
+        report.put("allocatedBytesSupported", allocatedBytes);
+        report.put("phases", phases);
+        report.put("slowest", slowest);
+        return report;
+    }
+
+    public String toJson(int top) {
+        try {
+            return Json.pretty().writeValueAsString(getReport(top));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize generation profile", e);
+        }
+    }
+
+    public void write(File file, int top) {
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            Json.pretty().writeValue(file, getReport(top));
+            LOGGER.info("Wrote generation profile to " + file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write generation profile " + file + ": " + e.getMessage());
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTime ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long allocatedBytes() {
+        return allocatedBytes ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static String entryName(Phase phase, Object[] args) {
+        switch (phase) {
+            case FROM_MODEL:
+                return (String) args[0];
+            case FROM_OPERATION:
+                return OpenAPIRefIndex.operationKey((String) args[1], (String) args[0]);
+            case POST_PROCESS_MODELS:
+                final List<Map<String, Object>> models = (List<Map<String, Object>>) ((Map<String, Object>) args[0]).get("models");
+                if (models != null && !models.isEmpty() && models.get(0).get("model") instanceof CodegenModel) {
+                    return ((CodegenModel) models.get(0).get("model")).name;
+                }
+                return null;
+            case POST_PROCESS_OPERATIONS_WITH_MODELS:
+                final Object operations = ((Map<String, Object>) args[0]).get("operations");
+                if (operations instanceof Map) {
+                    return (String) ((Map<String, Object>) operations).get("classname");
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    public static class Sample {
+        private final long wall;
+        private final long cpu;
+        private final long allocated;
+
+        private Sample(long wall, long cpu, long allocated) {
+            this.wall = wall;
+            this.cpu = cpu;
+            this.allocated = allocated;
+        }
+    }
+
+    /**
+     * Sums of one phase or of one entry of a phase. CPU time and allocated bytes are -1 where the JVM does not
+     * measure them.
+     */
+    public static class Stats {
+        private final String name;
+        private int count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        private void add(long wall, long cpu, long allocated) {
+            count++;
+            wallNanos += wall;
+            cpuNanos = cpu < 0 ? -1 : cpuNanos + cpu;
+            allocatedBytes = allocated < 0 ? -1 : allocatedBytes + allocated;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    private class ProfilingHandler implements InvocationHandler {
+        private final CodegenConfig config;
+
+        private ProfilingHandler(CodegenConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final Phase phase = PHASES_BY_METHOD.get(method.getName());
+            final Sample start = phase != null ? start() : null;
+            final Object result;
+            try {
+                result = method.invoke(config, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (phase != null) {
+                record(phase, entryName(phase, args), start);
+            } else if (result instanceof TemplateEngine && !(result instanceof ProfilingTemplateEngine)) {
+                return instrument((TemplateEngine) result);
+            }
+            return result;
+        }
+    }
+
+    private class ProfilingTemplateEngine implements TemplateEngine {
+        private final TemplateEngine templateEngine;
+
+        private ProfilingTemplateEngine(TemplateEngine templateEngine) {
+            this.templateEngine = templateEngine;
+        }
+
+        @Override
+        public String getRendered(String templateFile, Map<String, Object> templateData) throws IOException {
+            final Sample start = start();
+            final String rendered = templateEngine.getRendered(templateFile, templateData);
+            record(Phase.RENDER, new File(templateFile).getName(), start);
+            return rendered;
+        }
+
+        @Override
+        public String getName() {
+            return templateEngine.getName();
+        }
+    }
+}
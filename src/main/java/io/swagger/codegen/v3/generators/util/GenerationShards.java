@@ -0,0 +1,130 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.codegen.v3.ignore.CodegenIgnoreProcessor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic partition of a generation into shards, each rendered by its own process. Models are assigned by
+ * schema name and api files by the operation group they render, as the generator names it when asking for the
+ * file names, so every shard of every process agrees on the owner of a file without talking to the others.
+ * <p>
+ * A shard still converts the whole spec, which keeps data spanning models, like parents, children and imports, the
+ * same as in a single run, but only renders the model and api files it owns. Sharding therefore divides rendering
+ * and writing, not conversion. Supporting files need all models and
+ * operations and are rendered by a separate merge run, which also checks that the files of all shards are present.
+ * Shards write into the same output folder, or their outputs are copied together before the merge run. Files not
+ * assigned to a shard, like model and api tests, are rendered by every shard as they would be in a single run.
+ */
+public class GenerationShards {
+
+    /**
+     * Index of the merge run.
+     */
+    public static final int MERGE = -1;
+
+    private final int count;
+    private final int index;
+    // owning shard of the model and api files, by normalized file name
+    private final Map<String, Integer> owners = new HashMap<>();
+    private final Map<String, String> modelNames = new HashMap<>();
+    private final Set<String> expected = new LinkedHashSet<>();
+
+    /**
+     * @param count number of shards, at least 1
+     * @param index shard rendered by this run, from 0 to count - 1, or {@link #MERGE}
+     */
+    public GenerationShards(int count, int index) {
+        if (count < 1 || index < MERGE || index >= count) {
+            throw new IllegalArgumentException("Shard " + index + " out of " + count + " shards");
+        }
+        this.count = count;
+        this.index = index;
+    }
+
+    /**
+     * @return the shard owning the given key, the same in every process
+     */
+    public static int shardOf(String key, int count) {
+        // spread the String hash, names of a spec often differ in their last characters only
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return Math.floorMod(hash, count);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isMerge() {
+        return index == MERGE;
+    }
+
+    /**
+     * Assigns a file of the model converted from the given schema.
+     */
+    public void addModelFile(String schemaName, String modelName, String filename) {
+        final String file = normalize(filename);
+        owners.put(file, shardOf("model:" + schemaName, count));
+        modelNames.put(file, modelName);
+    }
+
+    /**
+     * Assigns a file rendering the operations of the given group.
+     */
+    public void addApiFile(String group, String filename) {
+        owners.put(normalize(filename), shardOf("api:" + group, count));
+    }
+
+    /**
+     * @return whether this run renders the given file: model and api files of its shard for a shard, the files
+     * of no shard, like supporting files, for the merge run
+     */
+    public boolean isRendered(String filename) {
+        final String file = normalize(filename);
+        final Integer owner = owners.get(file);
+        if (owner == null) {
+            return isMerge();
+        }
+        expected.add(file);
+        return owner == index;
+    }
+
+    /**
+     * @return the model name of the given model file, null for other files
+     */
+    public String getModelName(String filename) {
+        return modelNames.get(normalize(filename));
+    }
+
+    /**
+     * @return model and api files of other shards that were asked for in this run, but are missing in the output
+     * folder and not excluded by its <code>.swagger-codegen-ignore</code>
+     */
+    public List<String> getMissingFiles(String outputFolder) {
+        final CodegenIgnoreProcessor ignoreProcessor = new CodegenIgnoreProcessor(outputFolder);
+        final List<String> missing = new ArrayList<>();
+        for (String file : expected) {
+            if (owners.get(file) != index && !new File(file).exists() && ignoreProcessor.allowsFile(new File(file))) {
+                missing.add(file);
+            }
+        }
+        return missing;
+    }
+
+    private static String normalize(String filename) {
+        return new File(filename).getAbsoluteFile().toPath().normalize().toString();
+    }
+}
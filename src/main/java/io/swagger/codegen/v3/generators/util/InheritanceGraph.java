@@ -0,0 +1,192 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.codegen.v3.CodegenModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inheritance and interface graph of the models of a generation, built once from the models keyed by model
+ * name. Parents are resolved by {@link CodegenModel#parent} and interfaces by {@link CodegenModel#interfaces}.
+ * <p>
+ * A model listed under several names is a single node. A parent chain that runs into a cycle is cut at the model
+ * closing it, which then has no parent. Models are ordered parents first, ancestors are computed along that
+ * order and descendants on first use.
+ */
+public class InheritanceGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InheritanceGraph.class);
+
+    private final Map<String, CodegenModel> allModels;
+    private final Map<CodegenModel, Node> nodes = new IdentityHashMap<>();
+    private final List<CodegenModel> models = new ArrayList<>();
+
+    public InheritanceGraph(Map<String, CodegenModel> allModels) {
+        this.allModels = allModels;
+        final List<Node> ordered = new ArrayList<>();
+        for (CodegenModel codegenModel : allModels.values()) {
+            if (codegenModel != null && !nodes.containsKey(codegenModel)) {
+                final Node node = new Node(codegenModel);
+                nodes.put(codegenModel, node);
+                ordered.add(node);
+            }
+        }
+        for (Node node : ordered) {
+            if (node.model.parent != null) {
+                node.parent = nodes.get(allModels.get(node.model.parent));
+            }
+        }
+        for (Node node : ordered) {
+            sort(node);
+        }
+        for (Node node : ordered) {
+            if (node.parent != null) {
+                node.parent.directChildren.add(node);
+            }
+            // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy above it
+            for (CodegenModel ancestor : node.ancestors) {
+                nodes.get(ancestor).children.add(node.model);
+                if (ancestor.discriminator != null) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the models the graph was built from
+     */
+    public Map<String, CodegenModel> getAllModels() {
+        return allModels;
+    }
+
+    /**
+     * @return all models, each parent before its children
+     */
+    public List<CodegenModel> getModels() {
+        return Collections.unmodifiableList(models);
+    }
+
+    /**
+     * @return the parent of the given model, or null
+     */
+    public CodegenModel getParent(CodegenModel codegenModel) {
+        final Node node = nodes.get(codegenModel);
+        return node == null || node.parent == null ? null : node.parent.model;
+    }
+
+    /**
+     * @return the parent chain of the given model, nearest first
+     */
+    public List<CodegenModel> getAncestors(CodegenModel codegenModel) {
+        final Node node = nodes.get(codegenModel);
+        return node == null ? Collections.emptyList() : node.ancestors;
+    }
+
+    /**
+     * @return the children of the given model in the hierarchy: its descendants, except those inheriting from it
+     * through a model with a discriminator
+     */
+    public List<CodegenModel> getChildren(CodegenModel codegenModel) {
+        final Node node = nodes.get(codegenModel);
+        return node == null ? Collections.emptyList() : Collections.unmodifiableList(node.children);
+    }
+
+    /**
+     * @return all models inheriting from the given model, directly or not
+     */
+    public Set<CodegenModel> getDescendants(CodegenModel codegenModel) {
+        final Node node = nodes.get(codegenModel);
+        if (node == null) {
+            return Collections.emptySet();
+        }
+        if (node.descendants == null) {
+            final Set<CodegenModel> descendants = new LinkedHashSet<>();
+            for (Node child : node.directChildren) {
+                descendants.add(child.model);
+                descendants.addAll(getDescendants(child.model));
+            }
+            node.descendants = Collections.unmodifiableSet(descendants);
+        }
+        return node.descendants;
+    }
+
+    /**
+     * @return the models of the interfaces of the given model that are part of the generation
+     */
+    public List<CodegenModel> getInterfaces(CodegenModel codegenModel) {
+        if (codegenModel.interfaces == null || codegenModel.interfaces.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<CodegenModel> interfaceModels = new ArrayList<>(codegenModel.interfaces.size());
+        for (String intf : codegenModel.interfaces) {
+            final CodegenModel interfaceModel = allModels.get(intf);
+            if (interfaceModel != null) {
+                interfaceModels.add(interfaceModel);
+            }
+        }
+        return interfaceModels;
+    }
+
+    private void sort(Node start) {
+        final List<Node> path = new ArrayList<>();
+        Node node = start;
+        while (node != null && node.state == State.NEW) {
+            node.state = State.VISITING;
+            path.add(node);
+            node = node.parent;
+        }
+        if (node != null && node.state == State.VISITING) {
+            final Node last = path.get(path.size() - 1);
+            LOGGER.warn("Inheritance cycle between " + cycle(path, node) + ", ignoring parent " + last.model.parent
+                    + " of " + last.model.name);
+            last.parent = null;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            final Node sorted = path.get(i);
+            if (sorted.parent == null) {
+                sorted.ancestors = Collections.emptyList();
+            } else {
+                final List<CodegenModel> ancestors = new ArrayList<>(sorted.parent.ancestors.size() + 1);
+                ancestors.add(sorted.parent.model);
+                ancestors.addAll(sorted.parent.ancestors);
+                sorted.ancestors = Collections.unmodifiableList(ancestors);
+            }
+            sorted.state = State.DONE;
+            models.add(sorted.model);
+        }
+    }
+
+    private static List<String> cycle(List<Node> path, Node start) {
+        final List<String> names = new ArrayList<>();
+        for (int i = path.indexOf(start); i < path.size(); i++) {
+            names.add(path.get(i).model.name);
+        }
+        return names;
+    }
+
+    private enum State {
+        NEW, VISITING, DONE
+    }
+
+    private static final class Node {
+        private final CodegenModel model;
+        private final List<CodegenModel> children = new ArrayList<>();
+        private final List<Node> directChildren = new ArrayList<>();
+        private Node parent;
+        private List<CodegenModel> ancestors;
+        private Set<CodegenModel> descendants;
+        private State state = State.NEW;
+
+        private Node(CodegenModel model) {
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.swagger.codegen.v3.generators.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe memo for pure name transformations (camelize, underscore, sanitizeName, ...).
+ * Every cache created through {@link #create(String)} is registered so hit/miss counters can be reported
+ * for a whole generation run.
+ */
+public class NameTransformationCache {
+
+    public static final int DEFAULT_MAX_SIZE = 20000;
+
+    private static final Map<String, NameTransformationCache> CACHES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxSize;
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public NameTransformationCache(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    public static NameTransformationCache create(String name) {
+        return CACHES.computeIfAbsent(name, key -> new NameTransformationCache(key, DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * @return all registered caches by name
+     */
+    public static Map<String, NameTransformationCache> getCaches() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(CACHES));
+    }
+
+    public static void resetAll() {
+        for (NameTransformationCache cache : CACHES.values()) {
+            cache.reset();
+        }
+    }
+
+    /**
+     * Returns the transformed value of the given input, computing and remembering it on a miss.
+     * Null inputs are never cached.
+     */
+    public String get(String input, Function<String, String> transformation) {
+        if (input == null) {
+            return transformation.apply(null);
+        }
+        final String cached = values.get(input);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        final String value = transformation.apply(input);
+        if (value != null) {
+            if (values.size() >= maxSize) {
+                // identifiers of one spec are few, a full cache means we are serving many specs: start over
+                values.clear();
+            }
+            values.put(input, value);
+        }
+        return value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void reset() {
+        values.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + " [hits=" + getHits() + ", misses=" + getMisses() + ", size=" + size() + "]";
+    }
+}
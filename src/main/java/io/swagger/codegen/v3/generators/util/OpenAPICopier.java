@@ -0,0 +1,145 @@
+package io.swagger.codegen.v3.generators.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Deep copy of a parsed spec. Unlike writing the spec as JSON and reading it back, the copy keeps the exact
+ * classes of the schemas, an untyped schema with properties does not come back as an <code>ObjectSchema</code>,
+ * and decimals keep their scale.
+ * <p>
+ * Objects of the swagger model are copied field by field, collections and maps into ones of the same kind and
+ * JSON nodes, found in examples and extensions, with {@link JsonNode#deepCopy()}. Strings, numbers, enums and
+ * other values are shared. An object referenced from several places is copied once, so the copy shares the
+ * same instances where the original does, cycles included.
+ */
+public class OpenAPICopier {
+
+    private static final String MODEL_PACKAGE = "io.swagger.v3.oas.models.";
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<List<Field>>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current.getName().startsWith(MODEL_PACKAGE); current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private OpenAPICopier() {
+    }
+
+    public static OpenAPI copy(OpenAPI openAPI) {
+        return (OpenAPI) new OpenAPICopier().copyValue(openAPI);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum) {
+            return value;
+        }
+        final Object existing = copies.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+            return copyModel(value);
+        }
+        if (value instanceof Map) {
+            final Map<Object, Object> map = value instanceof SortedMap
+                    ? new TreeMap<>(((SortedMap<Object, Object>) value).comparator())
+                    : new LinkedHashMap<>();
+            copies.put(value, map);
+            copyEntries((Map<Object, Object>) value, map);
+            return map;
+        }
+        if (value instanceof Collection) {
+            final Collection<Object> collection;
+            if (value instanceof SortedSet) {
+                collection = new TreeSet<>(((SortedSet<Object>) value).comparator());
+            } else if (value instanceof Set) {
+                collection = new LinkedHashSet<>();
+            } else {
+                collection = new ArrayList<>(((Collection<Object>) value).size());
+            }
+            copies.put(value, collection);
+            for (Object element : (Collection<Object>) value) {
+                collection.add(copyValue(element));
+            }
+            return collection;
+        }
+        if (value instanceof JsonNode) {
+            return remember(value, ((JsonNode) value).deepCopy());
+        }
+        if (value instanceof Date) {
+            return remember(value, ((Date) value).clone());
+        }
+        if (value instanceof byte[]) {
+            return remember(value, ((byte[]) value).clone());
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyModel(Object value) {
+        final Object copy;
+        try {
+            final Constructor<?> constructor = value.getClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            copy = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not copy " + value.getClass().getName(), e);
+        }
+        copies.put(value, copy);
+        try {
+            for (Field field : FIELDS.get(value.getClass())) {
+                field.set(copy, copyValue(field.get(value)));
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Could not copy " + value.getClass().getName(), e);
+        }
+        // maps of the model such as Paths and ApiResponses
+        if (value instanceof Map) {
+            copyEntries((Map<Object, Object>) value, (Map<Object, Object>) copy);
+        }
+        return copy;
+    }
+
+    private void copyEntries(Map<Object, Object> source, Map<Object, Object> target) {
+        for (Map.Entry<Object, Object> entry : source.entrySet()) {
+            target.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+        }
+    }
+
+    private Object remember(Object value, Object copy) {
+        copies.put(value, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,402 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference graph of a spec: which components each component or operation refers to, and the reverse, who
+ * refers to a given component. Discriminator mappings count as references of the schema declaring them.
+ * <p>
+ * The graph is built on first use and reflects the spec at that time, i.e. after preprocessOpenAPI. The component
+ * getters are plain lookups in the live component maps, for walking the graph; they are no faster than the
+ * {@link OpenAPIUtil} lookups the generators use.
+ * Operations are keyed by {@link #operationKey(String, String)}, e.g. <code>GET /pet/{petId}</code>.
+ */
+public class OpenAPIRefIndex {
+
+    public static final String COMPONENTS_PREFIX = "#/components/";
+
+    private final OpenAPI openAPI;
+    private volatile Graph graph;
+
+    public OpenAPIRefIndex(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    public static String operationKey(String httpMethod, String path) {
+        return httpMethod.toUpperCase() + " " + path;
+    }
+
+    public Schema getSchema(String ref) {
+        final Components components = openAPI.getComponents();
+        return components == null || components.getSchemas() == null ? null : components.getSchemas().get(OpenAPIUtil.getSimpleRef(ref));
+    }
+
+    public Parameter getParameter(String ref) {
+        final Components components = openAPI.getComponents();
+        // parameters are looked up by the last segment of any ref, not only of local component refs
+        return components == null || components.getParameters() == null ? null : components.getParameters().get(ref.substring(ref.lastIndexOf('/') + 1));
+    }
+
+    public RequestBody getRequestBody(String ref) {
+        final Components components = openAPI.getComponents();
+        return components == null || components.getRequestBodies() == null ? null : components.getRequestBodies().get(OpenAPIUtil.getSimpleRef(ref));
+    }
+
+    public ApiResponse getResponse(String ref) {
+        final Components components = openAPI.getComponents();
+        return components == null || components.getResponses() == null ? null : components.getResponses().get(OpenAPIUtil.getSimpleRef(ref));
+    }
+
+    public Header getHeader(String ref) {
+        final Components components = openAPI.getComponents();
+        return components == null || components.getHeaders() == null ? null : components.getHeaders().get(OpenAPIUtil.getSimpleRef(ref));
+    }
+
+    /**
+     * @param source a component reference (e.g. <code>#/components/schemas/Pet</code>) or an operation key
+     * @return references found directly in the given component or operation
+     */
+    public Set<String> getReferences(String source) {
+        return unmodifiable(getGraph().references.get(source));
+    }
+
+    /**
+     * @return references used by the operation, including the parameters of its path item
+     */
+    public Set<String> getOperationReferences(String httpMethod, String path) {
+        return getReferences(operationKey(httpMethod, path));
+    }
+
+    /**
+     * @return components and operations referring directly to the given component reference
+     */
+    public Set<String> getReferrers(String ref) {
+        return unmodifiable(getGraph().referrers.get(ref));
+    }
+
+    /**
+     * @return components and operations referring to the given component reference, directly or through other
+     * components. This is everything affected by a change of the component.
+     */
+    public Set<String> getTransitiveReferrers(String ref) {
+        final Graph graph = getGraph();
+        final Set<String> visited = new LinkedHashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(ref);
+        while (!pending.isEmpty()) {
+            final Set<String> referrers = graph.referrers.get(pending.pop());
+            if (referrers == null) {
+                continue;
+            }
+            for (String referrer : referrers) {
+                if (visited.add(referrer)) {
+                    pending.add(referrer);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static Set<String> unmodifiable(Set<String> values) {
+        return values == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(values);
+    }
+
+    private Graph getGraph() {
+        Graph graph = this.graph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = this.graph;
+                if (graph == null) {
+                    graph = new Graph();
+                    graph.build(openAPI);
+                    this.graph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static class Graph {
+        private final Map<String, Set<String>> references = new HashMap<>();
+        private final Map<String, Set<String>> referrers = new HashMap<>();
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private void build(OpenAPI openAPI) {
+            final Components components = openAPI.getComponents();
+            if (components != null) {
+                if (components.getSchemas() != null) {
+                    for (Map.Entry<String, Schema> entry : components.getSchemas().entrySet()) {
+                        schema(source("schemas", entry.getKey()), entry.getValue());
+                    }
+                }
+                if (components.getParameters() != null) {
+                    for (Map.Entry<String, Parameter> entry : components.getParameters().entrySet()) {
+                        parameter(source("parameters", entry.getKey()), entry.getValue());
+                    }
+                }
+                if (components.getRequestBodies() != null) {
+                    for (Map.Entry<String, RequestBody> entry : components.getRequestBodies().entrySet()) {
+                        requestBody(source("requestBodies", entry.getKey()), entry.getValue());
+                    }
+                }
+                if (components.getResponses() != null) {
+                    for (Map.Entry<String, ApiResponse> entry : components.getResponses().entrySet()) {
+                        response(source("responses", entry.getKey()), entry.getValue());
+                    }
+                }
+                if (components.getHeaders() != null) {
+                    for (Map.Entry<String, Header> entry : components.getHeaders().entrySet()) {
+                        header(source("headers", entry.getKey()), entry.getValue());
+                    }
+                }
+                if (components.getExamples() != null) {
+                    for (Map.Entry<String, Example> entry : components.getExamples().entrySet()) {
+                        ref(source("examples", entry.getKey()), entry.getValue() == null ? null : entry.getValue().get$ref());
+                    }
+                }
+                if (components.getLinks() != null) {
+                    for (Map.Entry<String, Link> entry : components.getLinks().entrySet()) {
+                        ref(source("links", entry.getKey()), entry.getValue() == null ? null : entry.getValue().get$ref());
+                    }
+                }
+                if (components.getSecuritySchemes() != null) {
+                    for (Map.Entry<String, SecurityScheme> entry : components.getSecuritySchemes().entrySet()) {
+                        ref(source("securitySchemes", entry.getKey()), entry.getValue() == null ? null : entry.getValue().get$ref());
+                    }
+                }
+                if (components.getCallbacks() != null) {
+                    for (Map.Entry<String, Callback> entry : components.getCallbacks().entrySet()) {
+                        callback(source("callbacks", entry.getKey()), entry.getValue());
+                    }
+                }
+            }
+            if (openAPI.getPaths() != null) {
+                for (Map.Entry<String, PathItem> entry : openAPI.getPaths().entrySet()) {
+                    final PathItem pathItem = entry.getValue();
+                    if (pathItem == null) {
+                        continue;
+                    }
+                    for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+                        final String source = operationKey(operation.getKey().name(), entry.getKey());
+                        visited.clear();
+                        ref(source, pathItem.get$ref());
+                        parameters(source, pathItem.getParameters());
+                        operation(source, operation.getValue());
+                    }
+                }
+            }
+            visited.clear();
+        }
+
+        private String source(String section, String name) {
+            visited.clear();
+            final String source = COMPONENTS_PREFIX + section + "/" + name;
+            references.computeIfAbsent(source, key -> new LinkedHashSet<>());
+            return source;
+        }
+
+        private void ref(String source, String ref) {
+            if (StringUtils.isBlank(ref)) {
+                return;
+            }
+            references.computeIfAbsent(source, key -> new LinkedHashSet<>()).add(ref);
+            referrers.computeIfAbsent(ref, key -> new LinkedHashSet<>()).add(source);
+        }
+
+        private void operation(String source, Operation operation) {
+            if (operation == null) {
+                return;
+            }
+            parameters(source, operation.getParameters());
+            requestBody(source, operation.getRequestBody());
+            if (operation.getResponses() != null) {
+                for (ApiResponse response : operation.getResponses().values()) {
+                    response(source, response);
+                }
+            }
+            if (operation.getCallbacks() != null) {
+                for (Callback callback : operation.getCallbacks().values()) {
+                    callback(source, callback);
+                }
+            }
+        }
+
+        private void callback(String source, Callback callback) {
+            if (callback == null || !visited.add(callback)) {
+                return;
+            }
+            ref(source, callback.get$ref());
+            for (PathItem pathItem : callback.values()) {
+                if (pathItem == null) {
+                    continue;
+                }
+                ref(source, pathItem.get$ref());
+                parameters(source, pathItem.getParameters());
+                for (Operation operation : pathItem.readOperations()) {
+                    operation(source, operation);
+                }
+            }
+        }
+
+        private void parameters(String source, List<Parameter> parameters) {
+            if (parameters == null) {
+                return;
+            }
+            for (Parameter parameter : parameters) {
+                parameter(source, parameter);
+            }
+        }
+
+        private void parameter(String source, Parameter parameter) {
+            if (parameter == null) {
+                return;
+            }
+            ref(source, parameter.get$ref());
+            schema(source, parameter.getSchema());
+            content(source, parameter.getContent());
+            examples(source, parameter.getExamples());
+        }
+
+        private void requestBody(String source, RequestBody requestBody) {
+            if (requestBody == null) {
+                return;
+            }
+            ref(source, requestBody.get$ref());
+            content(source, requestBody.getContent());
+        }
+
+        private void response(String source, ApiResponse response) {
+            if (response == null) {
+                return;
+            }
+            ref(source, response.get$ref());
+            content(source, response.getContent());
+            headers(source, response.getHeaders());
+            if (response.getLinks() != null) {
+                for (Link link : response.getLinks().values()) {
+                    ref(source, link == null ? null : link.get$ref());
+                }
+            }
+        }
+
+        private void headers(String source, Map<String, Header> headers) {
+            if (headers == null) {
+                return;
+            }
+            for (Header header : headers.values()) {
+                header(source, header);
+            }
+        }
+
+        private void header(String source, Header header) {
+            if (header == null) {
+                return;
+            }
+            ref(source, header.get$ref());
+            schema(source, header.getSchema());
+            content(source, header.getContent());
+            examples(source, header.getExamples());
+        }
+
+        private void examples(String source, Map<String, Example> examples) {
+            if (examples == null) {
+                return;
+            }
+            for (Example example : examples.values()) {
+                ref(source, example == null ? null : example.get$ref());
+            }
+        }
+
+        private void content(String source, Content content) {
+            if (content == null) {
+                return;
+            }
+            for (MediaType mediaType : content.values()) {
+                if (mediaType == null) {
+                    continue;
+                }
+                schema(source, mediaType.getSchema());
+                examples(source, mediaType.getExamples());
+                if (mediaType.getEncoding() != null) {
+                    for (Encoding encoding : mediaType.getEncoding().values()) {
+                        headers(source, encoding == null ? null : encoding.getHeaders());
+                    }
+                }
+            }
+        }
+
+        private void schema(String source, Schema schema) {
+            if (schema == null || !visited.add(schema)) {
+                return;
+            }
+            ref(source, schema.get$ref());
+            if (schema.getProperties() != null) {
+                for (Object property : schema.getProperties().values()) {
+                    schema(source, (Schema) property);
+                }
+            }
+            if (schema instanceof ArraySchema) {
+                schema(source, ((ArraySchema) schema).getItems());
+            }
+            if (schema.getAdditionalProperties() instanceof Schema) {
+                schema(source, (Schema) schema.getAdditionalProperties());
+            }
+            if (schema.getNot() != null) {
+                schema(source, schema.getNot());
+            }
+            if (schema instanceof ComposedSchema) {
+                final ComposedSchema composed = (ComposedSchema) schema;
+                schemas(source, composed.getAllOf());
+                schemas(source, composed.getOneOf());
+                schemas(source, composed.getAnyOf());
+            }
+            if (schema.getDiscriminator() != null && schema.getDiscriminator().getMapping() != null) {
+                for (String value : schema.getDiscriminator().getMapping().values()) {
+                    // mapping values are references or plain schema names
+                    ref(source, value == null || value.contains("/") ? value : COMPONENTS_PREFIX + "schemas/" + value);
+                }
+            }
+        }
+
+        private void schemas(String source, List<Schema> schemas) {
+            if (schemas == null) {
+                return;
+            }
+            for (Schema schema : schemas) {
+                schema(source, schema);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +32,7 @@ public class OpenAPIUtil {
     }
 
     public static String getSimpleRef(String ref) {
-        if (ref.startsWith("#/components/")) {
+        if (ref.startsWith(OpenAPIRefIndex.COMPONENTS_PREFIX)) {
             ref = ref.substring(ref.lastIndexOf("/") + 1);
         }
         return ref;
@@ -85,4 +86,27 @@ public class OpenAPIUtil {
         }
         return null;
     }
+
+    /**
+     * @return the properties of the given allOf schemas by name; like {@link #getPropertyFromAllOfSchema(String, List, OpenAPI)}
+     * the first schema declaring a property wins
+     */
+    public static Map<String, Schema> getPropertiesFromAllOfSchema(List<Schema> schemas, OpenAPI openAPI) {
+        final Map<String, Schema> properties = new HashMap<>();
+        for (Schema schema : schemas) {
+            if (StringUtils.isNotBlank(schema.get$ref())) {
+                schema = getSchemaFromRefSchema(schema, openAPI);
+            }
+            if (schema == null || schema.getProperties() == null) {
+                continue;
+            }
+            final Map<String, Schema> schemaProperties = schema.getProperties();
+            for (Map.Entry<String, Schema> property : schemaProperties.entrySet()) {
+                if (!properties.containsKey(property.getKey())) {
+                    properties.put(property.getKey(), property.getValue());
+                }
+            }
+        }
+        return properties;
+    }
 }
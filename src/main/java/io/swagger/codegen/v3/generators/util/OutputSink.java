@@ -0,0 +1,377 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.codegen.v3.templates.TemplateEngine;
+import io.swagger.v3.core.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skips writing files of the output folder whose content would not change. The config tells the sink which
+ * template and data each model and api file is rendered from, see {@link #addSource(String, String, Map)}. When
+ * the generator asks whether to write such a file, see {@link #beforeWrite(String, TemplateEngine)}, the sink
+ * renders it and answers no if the file already has exactly that content; otherwise the generator writes the
+ * content rendered by the sink, which {@link #instrument(TemplateEngine)} hands over instead of rendering again.
+ * <p>
+ * The sink needs the template file the generator passes to the engine, which it learns from the first render of
+ * each template, after checking that the generator renders the data the config named. The first file of each
+ * template is therefore always written, as are files without a known source, like supporting files and tests.
+ * <p>
+ * The report stored in the output folder lists the written, skipped and removed files with the hashes of all
+ * generated files, which tell later runs whether a file was edited since.
+ */
+public class OutputSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputSink.class);
+
+    public static final String LOCATION = ".swagger-codegen" + File.separator + "output-report.json";
+
+    private final Path outputFolder;
+    private final Report previous;
+    // template and data of the model and api files, by file name relative to the output folder
+    private final Map<String, Source> sources = new HashMap<>();
+    // template file the generator passes to the engine, by template name, learned from the first render
+    private final Map<String, String> templateFiles = new ConcurrentHashMap<>();
+    // file the generator is about to render on this thread, with the content rendered by the sink if any
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+    private final Set<String> written = new LinkedHashSet<>();
+    private final Map<String, String> kept = new LinkedHashMap<>();
+
+    public OutputSink(String outputFolder) {
+        this.outputFolder = new File(outputFolder).getAbsoluteFile().toPath().normalize();
+        this.previous = readReport(this.outputFolder.resolve(LOCATION).toFile());
+    }
+
+    /**
+     * Names the template and the data the generator renders the given file from.
+     */
+    public synchronized void addSource(String filename, String templateName, Map<String, Object> data) {
+        sources.put(relativize(resolve(filename)), new Source(templateName, data));
+    }
+
+    /**
+     * Renders the given file if its source and template file are known and compares it with the existing file.
+     *
+     * @param templateEngine engine to render with
+     * @return false if the file exists with the content it would be written with, true if it is to be written
+     */
+    public boolean beforeWrite(String filename, TemplateEngine templateEngine) {
+        final Path path = resolve(filename);
+        final String name = relativize(path);
+        final Source source;
+        synchronized (this) {
+            source = sources.get(name);
+        }
+        final String templateFile = source == null ? null : templateFiles.get(source.templateName);
+        if (templateFile == null || !Files.isRegularFile(path)) {
+            pending.set(new Pending(name, source, null, null));
+            return write(name);
+        }
+        final String rendered;
+        try {
+            rendered = templateEngine.getRendered(templateFile, source.data);
+            if (Arrays.equals(Files.readAllBytes(path), rendered.getBytes(StandardCharsets.UTF_8))) {
+                keep(name, SpecFingerprints.sha256Hex(rendered));
+                return false;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not compare " + path + ", it will be written: " + e.getMessage());
+            pending.set(new Pending(name, source, null, null));
+            return write(name);
+        }
+        pending.set(new Pending(name, source, templateFile, rendered));
+        return write(name);
+    }
+
+    private synchronized boolean write(String name) {
+        written.add(name);
+        return true;
+    }
+
+    private synchronized void keep(String name, String hash) {
+        kept.put(name, hash);
+    }
+
+    /**
+     * @return the given engine, handing over the content the sink rendered for the file about to be written
+     */
+    public TemplateEngine instrument(TemplateEngine templateEngine) {
+        return new SinkTemplateEngine(templateEngine);
+    }
+
+    /**
+     * Records a file the generator decided not to write, so it stays part of the generated files.
+     */
+    public void keep(String filename) {
+        final Path path = resolve(filename);
+        final String name = relativize(path);
+        final String hash = previous.files.get(name);
+        if (hash != null && Files.isRegularFile(path)) {
+            keep(name, hash);
+        }
+    }
+
+    /**
+     * @return true if the given file was generated by the last run and not edited since
+     */
+    public boolean isUnmodified(String filename) {
+        final Path path = resolve(filename);
+        final String hash = previous.files.get(relativize(path));
+        if (hash == null || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            return hash.equals(digest(path));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hashes the written files, handles the files generated by the last run but not by this one and writes the
+     * report.
+     *
+     * @param removeStaleFiles whether to delete files of the last run that were not generated again, unless edited
+     * @return the report
+     */
+    public synchronized Report finish(boolean removeStaleFiles) {
+        final Report report = new Report();
+        for (String name : written) {
+            final Path path = outputFolder.resolve(name);
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            try {
+                report.files.put(name, digest(path));
+            } catch (IOException e) {
+                LOGGER.warn("Could not hash " + path + ": " + e.getMessage());
+            }
+            report.written.add(name);
+        }
+        for (Map.Entry<String, String> entry : kept.entrySet()) {
+            if (!report.files.containsKey(entry.getKey())) {
+                report.files.put(entry.getKey(), entry.getValue());
+                report.skipped.add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, String> entry : previous.files.entrySet()) {
+            if (report.files.containsKey(entry.getKey()) || entry.getKey().equals(LOCATION.replace(File.separatorChar, '/'))) {
+                continue;
+            }
+            final Path path = outputFolder.resolve(entry.getKey());
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            if (removeStaleFiles && isUnmodified(path.toString())) {
+                try {
+                    Files.delete(path);
+                    report.removed.add(entry.getKey());
+                    continue;
+                } catch (IOException e) {
+                    LOGGER.warn("Could not remove " + path + ": " + e.getMessage());
+                }
+            }
+            // still listed, so that a later run can remove it
+            report.files.put(entry.getKey(), entry.getValue());
+            report.stale.add(entry.getKey());
+        }
+        writeReport(report);
+        written.clear();
+        kept.clear();
+        sources.clear();
+        return report;
+    }
+
+    private Path resolve(String filename) {
+        return outputFolder.resolve(new File(filename).toPath()).toAbsolutePath().normalize();
+    }
+
+    private String relativize(Path path) {
+        final String name = path.startsWith(outputFolder) ? outputFolder.relativize(path).toString() : path.toString();
+        return name.replace(File.separatorChar, '/');
+    }
+
+    private static String digest(Path path) throws IOException {
+        final MessageDigest digest = SpecFingerprints.sha256();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return SpecFingerprints.toHex(digest.digest());
+    }
+
+    private static Report readReport(File file) {
+        if (!file.isFile()) {
+            return new Report();
+        }
+        try {
+            return Json.mapper().readValue(file, Report.class);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable output report " + file + ": " + e.getMessage());
+            return new Report();
+        }
+    }
+
+    private void writeReport(Report report) {
+        final File file = outputFolder.resolve(LOCATION).toFile();
+        try {
+            file.getParentFile().mkdirs();
+            Json.pretty().writeValue(file, report);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write output report " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Source {
+        private final String templateName;
+        private final Map<String, Object> data;
+
+        private Source(String templateName, Map<String, Object> data) {
+            this.templateName = templateName;
+            this.data = data;
+        }
+
+        /**
+         * @return whether the generator renders this source with the given template file and data
+         */
+        private boolean isRenderedAs(String templateFile, Map<String, Object> templateData) {
+            final String file = templateFile.replace('\\', '/');
+            return data == templateData && (file.equals(templateName) || file.endsWith("/" + templateName));
+        }
+    }
+
+    private static final class Pending {
+        private final String name;
+        private final Source source;
+        private final String templateFile;
+        private final String rendered;
+
+        private Pending(String name, Source source, String templateFile, String rendered) {
+            this.name = name;
+            this.source = source;
+            this.templateFile = templateFile;
+            this.rendered = rendered;
+        }
+    }
+
+    /**
+     * Learns the template files from the renders of the generator, and hands over the content the sink already
+     * rendered for the file being written.
+     */
+    private class SinkTemplateEngine implements TemplateEngine {
+
+        private final TemplateEngine templateEngine;
+
+        private SinkTemplateEngine(TemplateEngine templateEngine) {
+            this.templateEngine = templateEngine;
+        }
+
+        @Override
+        public String getRendered(String templateFile, Map<String, Object> templateData) throws IOException {
+            final Pending current = pending.get();
+            pending.remove();
+            if (current == null || current.source == null || !current.source.isRenderedAs(templateFile, templateData)) {
+                return templateEngine.getRendered(templateFile, templateData);
+            }
+            if (current.rendered != null && templateFile.equals(current.templateFile)) {
+                return current.rendered;
+            }
+            templateFiles.putIfAbsent(current.source.templateName, templateFile);
+            return templateEngine.getRendered(templateFile, templateData);
+        }
+
+        @Override
+        public String getName() {
+            return templateEngine.getName();
+        }
+    }
+
+    /**
+     * Files of one run, relative to the output folder.
+     */
+    public static class Report {
+        private List<String> written = new ArrayList<>();
+        private List<String> skipped = new ArrayList<>();
+        private List<String> removed = new ArrayList<>();
+        private List<String> stale = new ArrayList<>();
+        private Map<String, String> files = new TreeMap<>();
+
+        /**
+         * @return files written with new content
+         */
+        public List<String> getWritten() {
+            return written;
+        }
+
+        public void setWritten(List<String> written) {
+            this.written = written;
+        }
+
+        /**
+         * @return files not written, as their content would not change or they were not to be overwritten
+         */
+        public List<String> getSkipped() {
+            return skipped;
+        }
+
+        public void setSkipped(List<String> skipped) {
+            this.skipped = skipped;
+        }
+
+        /**
+         * @return files of the last run that were not generated again and have been deleted
+         */
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        public void setRemoved(List<String> removed) {
+            this.removed = removed;
+        }
+
+        /**
+         * @return files of the last run that were not generated again and have been left in place
+         */
+        public List<String> getStale() {
+            return stale;
+        }
+
+        public void setStale(List<String> stale) {
+            this.stale = stale;
+        }
+
+        /**
+         * @return content hashes of all generated files, including stale ones
+         */
+        public Map<String, String> getFiles() {
+            return files;
+        }
+
+        public void setFiles(Map<String, String> files) {
+            this.files = files;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.swagger.codegen.v3.generators.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Content hashes of the parts of a spec. The fingerprint of a component or an operation covers its own
+ * serialized form plus every component reachable through its <code>$ref</code>s, so it changes whenever
+ * anything the generated code may depend on changes.
+ */
+public class SpecFingerprints {
+
+    private static final String COMPONENTS_PREFIX = "#/components/";
+    private static final String SCHEMAS_PREFIX = COMPONENTS_PREFIX + "schemas/";
+
+    private final OpenAPI openAPI;
+    private final Map<String, ComponentNode> components = new HashMap<>();
+    private final Map<String, String> closureFingerprints = new HashMap<>();
+
+    public SpecFingerprints(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    /**
+     * @return fingerprint of the component schema and its $ref closure, null if there is no such schema
+     */
+    public String schemaFingerprint(String name) {
+        return componentFingerprint(SCHEMAS_PREFIX + name);
+    }
+
+    /**
+     * @param ref a local component reference, e.g. <code>#/components/parameters/limit</code>
+     * @return fingerprint of the component and its $ref closure, null if the component does not exist
+     */
+    public String componentFingerprint(String ref) {
+        final String cached = closureFingerprints.get(ref);
+        if (cached != null) {
+            return cached;
+        }
+        final ComponentNode component = getComponent(ref);
+        if (component == null) {
+            return null;
+        }
+        final String fingerprint = hash(ref, component.hash, closureOf(component.refs));
+        closureFingerprints.put(ref, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * @return fingerprint of the operation, the parameters of its path item and their $ref closure,
+     * null if the spec has no such operation
+     */
+    public String operationFingerprint(String path, String httpMethod) {
+        if (openAPI.getPaths() == null || openAPI.getPaths().get(path) == null) {
+            return null;
+        }
+        final PathItem pathItem = openAPI.getPaths().get(path);
+        final Operation operation = pathItem.readOperationsMap().get(PathItem.HttpMethod.valueOf(httpMethod.toUpperCase()));
+        if (operation == null) {
+            return null;
+        }
+        final JsonNode operationNode = Json.mapper().valueToTree(operation);
+        final JsonNode parametersNode = Json.mapper().valueToTree(pathItem.getParameters());
+        final Set<String> refs = new LinkedHashSet<>();
+        collectRefs(operationNode, refs);
+        collectRefs(parametersNode, refs);
+        return hash(httpMethod.toLowerCase(), path, operationNode.toString(), parametersNode.toString(), closureOf(refs));
+    }
+
+    /**
+     * @return hex encoded SHA-256 of the given parts
+     */
+    public static String hash(String... parts) {
+        final StringBuilder builder = new StringBuilder();
+        for (String part : parts) {
+            builder.append(part == null ? 0 : part.length()).append(':').append(part).append('\n');
+        }
+        return sha256Hex(builder.toString());
+    }
+
+    public static String sha256Hex(String value) {
+        return toHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private String closureOf(Set<String> refs) {
+        final Set<String> visited = new TreeSet<>();
+        final Deque<String> pending = new ArrayDeque<>(refs);
+        while (!pending.isEmpty()) {
+            final String ref = pending.pop();
+            if (!visited.add(ref)) {
+                continue;
+            }
+            final ComponentNode component = getComponent(ref);
+            if (component != null) {
+                pending.addAll(component.refs);
+            }
+        }
+        final StringBuilder closure = new StringBuilder();
+        for (String ref : visited) {
+            final ComponentNode component = getComponent(ref);
+            closure.append(ref).append('=').append(component == null ? "unresolved" : component.hash).append('\n');
+        }
+        return closure.toString();
+    }
+
+    private ComponentNode getComponent(String ref) {
+        if (components.containsKey(ref)) {
+            return components.get(ref);
+        }
+        final Object component = resolve(ref);
+        ComponentNode node = null;
+        if (component != null) {
+            final JsonNode json = Json.mapper().valueToTree(component);
+            final Set<String> refs = new LinkedHashSet<>();
+            collectRefs(json, refs);
+            node = new ComponentNode(sha256Hex(json.toString()), refs);
+        }
+        components.put(ref, node);
+        return node;
+    }
+
+    private Object resolve(String ref) {
+        final Components components = openAPI.getComponents();
+        if (components == null || ref == null || !ref.startsWith(COMPONENTS_PREFIX)) {
+            return null;
+        }
+        final String[] parts = ref.substring(COMPONENTS_PREFIX.length()).split("/", 2);
+        if (parts.length != 2) {
+            return null;
+        }
+        final Map<String, ?> section;
+        switch (parts[0]) {
+            case "schemas":
+                section = components.getSchemas();
+                break;
+            case "responses":
+                section = components.getResponses();
+                break;
+            case "parameters":
+                section = components.getParameters();
+                break;
+            case "examples":
+                section = components.getExamples();
+                break;
+            case "requestBodies":
+                section = components.getRequestBodies();
+                break;
+            case "headers":
+                section = components.getHeaders();
+                break;
+            case "securitySchemes":
+                section = components.getSecuritySchemes();
+                break;
+            case "links":
+                section = components.getLinks();
+                break;
+            case "callbacks":
+                section = components.getCallbacks();
+                break;
+            default:
+                section = null;
+        }
+        return section == null ? null : section.get(parts[1]);
+    }
+
+    private static void collectRefs(JsonNode node, Set<String> refs) {
+        if (node == null) {
+            return;
+        }
+        final List<JsonNode> pending = new ArrayList<>();
+        pending.add(node);
+        while (!pending.isEmpty()) {
+            final JsonNode current = pending.remove(pending.size() - 1);
+            if (current.isObject()) {
+                final Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+                while (fields.hasNext()) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                        refs.add(field.getValue().asText());
+                    } else {
+                        pending.add(field.getValue());
+                    }
+                }
+            } else if (current.isArray()) {
+                for (JsonNode element : current) {
+                    pending.add(element);
+                }
+            }
+        }
+    }
+
+    private static class ComponentNode {
+        private final String hash;
+        private final Set<String> refs;
+
+        private ComponentNode(String hash, Set<String> refs) {
+            this.hash = hash;
+            this.refs = refs;
+        }
+    }
+}
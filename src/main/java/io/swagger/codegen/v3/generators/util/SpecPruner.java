@@ -0,0 +1,225 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Prunes a spec down to selected operations and the component schemas they reach, so that only those schemas are
+ * converted to models and rendered. Operations are selected by tag and by path; an operation must match both when
+ * both are given. Without any selection all operations are kept and only schemas no operation reaches are removed.
+ * <p>
+ * Schemas are reached through the parameters, request bodies, responses, headers and callbacks of the operations,
+ * including the components these refer to, and from schema to schema through properties, items, additional
+ * properties, allOf, oneOf, anyOf, not and discriminator mappings, as indexed by {@link OpenAPIRefIndex}. A reached
+ * schema with a discriminator also reaches the schemas extending it through allOf, its subtypes.
+ * <pre>
+ * new SpecPruner(Arrays.asList("pet"), Arrays.asList("/store/*"), config::sanitizeTag).prune(openAPI);
+ * </pre>
+ */
+public class SpecPruner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecPruner.class);
+
+    public static final String DEFAULT_TAG = "default";
+
+    private static final String SCHEMAS_PREFIX = OpenAPIRefIndex.COMPONENTS_PREFIX + "schemas/";
+
+    private final Set<String> tags = new HashSet<>();
+    private final Set<String> paths = new HashSet<>();
+    private final List<String> pathPrefixes = new ArrayList<>();
+    private final Function<String, String> tagSanitizer;
+
+    /**
+     * @param tags         tags of the operations to keep, operations without tags have the tag <code>default</code>.
+     *                     Null or empty to keep operations of any tag
+     * @param paths        paths of the operations to keep, a path ending with <code>*</code> keeps all paths
+     *                     starting with it. Null or empty to keep operations of any path
+     * @param tagSanitizer sanitizes tags the way operations are grouped, a tag also matches by its sanitized name
+     */
+    public SpecPruner(Collection<String> tags, Collection<String> paths, Function<String, String> tagSanitizer) {
+        if (tags != null) {
+            for (String tag : tags) {
+                if (StringUtils.isNotBlank(tag)) {
+                    this.tags.add(tag.trim());
+                }
+            }
+        }
+        if (paths != null) {
+            for (String path : paths) {
+                if (StringUtils.isBlank(path)) {
+                    continue;
+                }
+                if (path.trim().endsWith("*")) {
+                    pathPrefixes.add(StringUtils.removeEnd(path.trim(), "*"));
+                } else {
+                    this.paths.add(path.trim());
+                }
+            }
+        }
+        this.tagSanitizer = tagSanitizer == null ? Function.identity() : tagSanitizer;
+    }
+
+    /**
+     * @return whether operations are selected by tag or path, otherwise all operations are kept
+     */
+    public boolean hasSelection() {
+        return !tags.isEmpty() || !paths.isEmpty() || !pathPrefixes.isEmpty();
+    }
+
+    public boolean isSelected(String path, Operation operation) {
+        return isSelectedPath(path) && isSelectedTag(operation);
+    }
+
+    private boolean isSelectedPath(String path) {
+        if (paths.isEmpty() && pathPrefixes.isEmpty()) {
+            return true;
+        }
+        if (paths.contains(path)) {
+            return true;
+        }
+        for (String prefix : pathPrefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSelectedTag(Operation operation) {
+        if (tags.isEmpty()) {
+            return true;
+        }
+        final List<String> operationTags = operation.getTags() == null || operation.getTags().isEmpty()
+                ? Collections.singletonList(DEFAULT_TAG) : operation.getTags();
+        for (String tag : operationTags) {
+            if (tags.contains(tag) || tags.contains(tagSanitizer.apply(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the operations not selected, paths left without operations, and the component schemas the
+     * remaining operations do not reach. The spec is changed in place.
+     *
+     * @return names of the schemas kept
+     */
+    public Set<String> prune(OpenAPI openAPI) {
+        final int operations = removeUnselectedOperations(openAPI);
+        final Set<String> reachable = getReachableSchemas(openAPI);
+        final Map<String, Schema> schemas = openAPI.getComponents() == null ? null : openAPI.getComponents().getSchemas();
+        if (schemas != null) {
+            final int count = schemas.size();
+            schemas.keySet().retainAll(reachable);
+            LOGGER.info("Pruned " + operations + " operations and " + (count - schemas.size()) + " of " + count
+                    + " schemas not reachable from the selected operations");
+        }
+        return reachable;
+    }
+
+    /**
+     * @return names of the component schemas reached from the selected operations of the spec, which is not changed
+     */
+    public Set<String> getReachableSchemas(OpenAPI openAPI) {
+        final OpenAPIRefIndex refIndex = new OpenAPIRefIndex(openAPI);
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> entry : openAPI.getPaths().entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                for (Map.Entry<PathItem.HttpMethod, Operation> operation : entry.getValue().readOperationsMap().entrySet()) {
+                    if (isSelected(entry.getKey(), operation.getValue())) {
+                        pending.add(OpenAPIRefIndex.operationKey(operation.getKey().name(), entry.getKey()));
+                    }
+                }
+            }
+        }
+        final Set<String> reachable = new LinkedHashSet<>();
+        while (!pending.isEmpty()) {
+            final String source = pending.pop();
+            for (String ref : refIndex.getReferences(source)) {
+                if (visited.add(ref)) {
+                    pending.add(ref);
+                }
+            }
+            if (!source.startsWith(SCHEMAS_PREFIX)) {
+                continue;
+            }
+            final Schema schema = refIndex.getSchema(source);
+            if (schema == null) {
+                continue;
+            }
+            reachable.add(OpenAPIUtil.getSimpleRef(source));
+            if (schema.getDiscriminator() == null) {
+                continue;
+            }
+            for (String referrer : refIndex.getReferrers(source)) {
+                if (referrer.startsWith(SCHEMAS_PREFIX) && extendsSchema(refIndex.getSchema(referrer), source) && visited.add(referrer)) {
+                    pending.add(referrer);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private static boolean extendsSchema(Schema schema, String ref) {
+        if (!(schema instanceof ComposedSchema) || ((ComposedSchema) schema).getAllOf() == null) {
+            return false;
+        }
+        for (Schema parent : ((ComposedSchema) schema).getAllOf()) {
+            if (parent != null && ref.equals(parent.get$ref())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int removeUnselectedOperations(OpenAPI openAPI) {
+        if (!hasSelection() || openAPI.getPaths() == null) {
+            return 0;
+        }
+        int removed = 0;
+        final Iterator<Map.Entry<String, PathItem>> entries = openAPI.getPaths().entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, PathItem> entry = entries.next();
+            final PathItem pathItem = entry.getValue();
+            if (pathItem == null) {
+                continue;
+            }
+            int removedOfPath = 0;
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+                if (!isSelected(entry.getKey(), operation.getValue())) {
+                    pathItem.operation(operation.getKey(), null);
+                    removedOfPath++;
+                }
+            }
+            if (removedOfPath > 0 && pathItem.readOperations().isEmpty()) {
+                entries.remove();
+            }
+            removed += removedOfPath;
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,312 @@
+package io.swagger.codegen.v3.generators.util;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.SupportingFile;
+import io.swagger.codegen.v3.VendorExtendable;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text of the template set a config renders: its model, api, doc, test and supporting file templates plus
+ * every partial they include, resolved the same way the generator and the template loader do (custom
+ * template dir and library first). Tells whether a template field or vendor extension is referenced at all,
+ * so values no template reads need not be computed.
+ * <p>
+ * Only the text inside <code>{{ }}</code> tags is looked at, except in templates changing the delimiters, whose
+ * whole text is. When a template can't be resolved the analysis is incomplete and every name is reported as
+ * referenced.
+ * <p>
+ * The analysis of a template set read from the classpath only, without a custom template dir, is kept and shared
+ * by all configs of the same language and library, see {@link #of(CodegenConfig)}.
+ */
+public class TemplateUsage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateUsage.class);
+
+    private static final String TEMPLATE_SUFFIX = ".mustache";
+    private static final Pattern PARTIAL_PATTERN = Pattern.compile("\\{\\{#?>\\s*([^\\s}]+)\\s*}}");
+    private static final Pattern TAG_PATTERN = Pattern.compile("\\{\\{(.*?)}}", Pattern.DOTALL);
+    private static final Pattern WORD_PATTERN = Pattern.compile("[\\w-]+");
+    private static final Pattern VENDOR_EXTENSIONS_PATTERN = Pattern.compile("vendorExtensions(?![\\w.-])");
+    private static final String SET_DELIMITER = "{{=";
+    private static final String VENDOR_EXTENSIONS = "vendorExtensions";
+
+    private static final int MAX_CACHED = 256;
+    private static final Map<List<Object>, TemplateUsage> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, String> templates = new LinkedHashMap<>();
+    // text the templates can reference names in, by template
+    private final Map<String, String> referencingText = new LinkedHashMap<>();
+    private final Set<String> words = new HashSet<>();
+    private final Map<String, Boolean> references = new ConcurrentHashMap<>();
+    private boolean complete = true;
+    private boolean fromClasspath = true;
+    private boolean allExtensionsReferenced;
+
+    private final String templateDir;
+    private final String customTemplateDir;
+    private final String embeddedTemplateDir;
+    private final String library;
+
+    public TemplateUsage(CodegenConfig config) {
+        this(config.templateDir(), config.customTemplateDir(), config.embeddedTemplateDir(), config.getLibrary(),
+                getTemplateFiles(config));
+    }
+
+    private TemplateUsage(String templateDir, String customTemplateDir, String embeddedTemplateDir, String library,
+                          Set<String> templateFiles) {
+        this.templateDir = templateDir;
+        this.customTemplateDir = customTemplateDir;
+        this.embeddedTemplateDir = embeddedTemplateDir;
+        this.library = library;
+
+        if (templateDir == null) {
+            complete = false;
+            return;
+        }
+        final Deque<String> partials = new ArrayDeque<>();
+        for (String templateFile : templateFiles) {
+            add(templateFile, readTemplate(templateFile), partials);
+        }
+        while (!partials.isEmpty()) {
+            final String partial = partials.pop();
+            if (!templates.containsKey(partial)) {
+                add(partial, readPartial(partial), partials);
+            }
+        }
+    }
+
+    /**
+     * @return the analysis of the templates of the given config, shared with configs rendering the same templates
+     * from the classpath
+     */
+    public static TemplateUsage of(CodegenConfig config) {
+        final Set<String> templateFiles = getTemplateFiles(config);
+        if (config.customTemplateDir() != null || config.templateDir() == null) {
+            return new TemplateUsage(config.templateDir(), config.customTemplateDir(), config.embeddedTemplateDir(),
+                    config.getLibrary(), templateFiles);
+        }
+        final List<Object> key = Arrays.asList(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(),
+                new ArrayList<>(templateFiles));
+        final TemplateUsage cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final TemplateUsage templateUsage = new TemplateUsage(config.templateDir(), null, config.embeddedTemplateDir(),
+                config.getLibrary(), templateFiles);
+        if (templateUsage.fromClasspath && CACHE.size() < MAX_CACHED) {
+            CACHE.putIfAbsent(key, templateUsage);
+        }
+        return templateUsage;
+    }
+
+    /**
+     * @return true if all templates could be read, otherwise {@link #isReferenced(String)} always answers true
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return names of the templates and partials analysed
+     */
+    public Set<String> getTemplates() {
+        return templates.keySet();
+    }
+
+    /**
+     * @param name a field, extension or helper name, e.g. <code>modelJson</code>
+     * @return true if any template mentions the given name as a whole word
+     */
+    public boolean isReferenced(String name) {
+        if (!complete) {
+            return true;
+        }
+        if (WORD_PATTERN.matcher(name).matches()) {
+            return words.contains(name);
+        }
+        return references.computeIfAbsent(name, key -> {
+            final Pattern pattern = Pattern.compile("(?<![\\w-])" + Pattern.quote(key) + "(?![\\w-])");
+            for (String content : referencingText.values()) {
+                if (pattern.matcher(content).find()) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * @param extension name of a vendor extension, e.g. <code>x-is-get-method</code>
+     * @return true if any template reads the extension, by name or through the <code>is</code> and
+     * <code>has</code> helpers, or goes through all extensions of an object
+     */
+    public boolean isExtensionReferenced(String extension) {
+        if (!complete || allExtensionsReferenced || isReferenced(extension)) {
+            return true;
+        }
+        for (String prefix : new String[]{VendorExtendable.PREFIX_IS, VendorExtendable.PREFIX_HAS}) {
+            if (extension.startsWith(prefix) && isReferenced(extension.substring(prefix.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param type a codegen object, e.g. <code>CodegenOperation.class</code>
+     * @return names of the public fields of the type some template references
+     */
+    public Set<String> getReferencedFields(Class<?> type) {
+        final Set<String> fields = new TreeSet<>();
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && isReferenced(field.getName())) {
+                fields.add(field.getName());
+            }
+        }
+        return fields;
+    }
+
+    private static Set<String> getTemplateFiles(CodegenConfig config) {
+        final Set<String> templateFiles = new LinkedHashSet<>();
+        templateFiles.addAll(config.modelTemplateFiles().keySet());
+        templateFiles.addAll(config.apiTemplateFiles().keySet());
+        templateFiles.addAll(config.modelDocTemplateFiles().keySet());
+        templateFiles.addAll(config.apiDocTemplateFiles().keySet());
+        templateFiles.addAll(config.modelTestTemplateFiles().keySet());
+        templateFiles.addAll(config.apiTestTemplateFiles().keySet());
+        for (SupportingFile supportingFile : config.supportingFiles()) {
+            if (supportingFile.templateFile != null && supportingFile.templateFile.endsWith(TEMPLATE_SUFFIX)) {
+                templateFiles.add(supportingFile.templateFile);
+            }
+        }
+        return templateFiles;
+    }
+
+    private void add(String name, String content, Deque<String> partials) {
+        if (content == null) {
+            LOGGER.debug("Template " + name + " not found, assuming every field is used");
+            complete = false;
+            templates.put(name, StringUtils.EMPTY);
+            return;
+        }
+        templates.put(name, content);
+        index(name, content);
+        final Matcher matcher = PARTIAL_PATTERN.matcher(content);
+        while (matcher.find()) {
+            String partial = matcher.group(1);
+            if (!partial.endsWith(TEMPLATE_SUFFIX)) {
+                partial = partial + TEMPLATE_SUFFIX;
+            }
+            partials.add(partial);
+        }
+    }
+
+    private void index(String name, String content) {
+        final String text;
+        if (content.contains(SET_DELIMITER)) {
+            text = content;
+        } else {
+            final StringBuilder tags = new StringBuilder();
+            final Matcher tag = TAG_PATTERN.matcher(content);
+            while (tag.find()) {
+                tags.append(tag.group(1)).append('\n');
+            }
+            text = tags.toString();
+        }
+        referencingText.put(name, text);
+        final Matcher word = WORD_PATTERN.matcher(text);
+        while (word.find()) {
+            words.add(word.group());
+        }
+        if (!allExtensionsReferenced && text.contains(VENDOR_EXTENSIONS)) {
+            // a section on vendorExtensions reads the extensions inside by name, anything else may read all of them
+            final Matcher vendorExtensions = VENDOR_EXTENSIONS_PATTERN.matcher(text);
+            while (vendorExtensions.find()) {
+                final int start = vendorExtensions.start();
+                final char before = start == 0 ? '\n' : text.charAt(start - 1);
+                if (before != '#' && before != '/' && before != '^') {
+                    allExtensionsReferenced = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private String readTemplate(String templateFile) {
+        if (StringUtils.isNotEmpty(library)) {
+            final String content = readAny(libraryPath(customTemplateDir, templateFile), libraryPath(templateDir, templateFile));
+            if (content != null) {
+                return content;
+            }
+        }
+        String content = readAny(path(customTemplateDir, templateFile), path(templateDir, templateFile));
+        if (content == null && StringUtils.isNotEmpty(library)) {
+            content = readAny(libraryPath(embeddedTemplateDir, templateFile));
+        }
+        if (content == null) {
+            content = readAny(path(embeddedTemplateDir, templateFile));
+        }
+        return content;
+    }
+
+    private String readPartial(String partial) {
+        return readAny(path(customTemplateDir, partial), path(templateDir, partial), path(embeddedTemplateDir, partial));
+    }
+
+    private String libraryPath(String dir, String templateFile) {
+        return path(dir, "libraries" + File.separator + library + File.separator + templateFile);
+    }
+
+    private static String path(String dir, String templateFile) {
+        return dir == null ? null : dir + File.separator + templateFile;
+    }
+
+    private String readAny(String... locations) {
+        for (String location : locations) {
+            if (location == null) {
+                continue;
+            }
+            final File file = new File(location);
+            try {
+                if (file.isFile()) {
+                    fromClasspath = false;
+                    return FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+                }
+                final String resource = location.replace(File.separatorChar, '/');
+                try (InputStream in = TemplateUsage.class.getClassLoader().getResourceAsStream(resource)) {
+                    if (in != null) {
+                        return IOUtils.toString(in, StandardCharsets.UTF_8);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Could not read template " + location + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+}
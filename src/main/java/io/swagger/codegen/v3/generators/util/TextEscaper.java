@@ -0,0 +1,175 @@
+package io.swagger.codegen.v3.generators.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table driven escaper replacing character sequences of a text in a single pass, instead of one copy of the text
+ * per <code>replace</code> call. A text without any of the sequences is returned as is, without being copied.
+ * <p>
+ * Replacements of a pass are applied together: at each position the longest matching sequence is replaced and the
+ * replacement is not looked at again. Replacements that must see the output of earlier ones, like chained
+ * <code>replace</code> calls whose sequences overlap, go in a following pass started with {@link Builder#then()}.
+ * <pre>
+ * TextEscaper.builder()
+ *         .replace("*&#47;", "*_/")
+ *         .then()
+ *         .replace("/*", "/_*")
+ *         .build();
+ * </pre>
+ * Escapers are immutable and can be shared by threads.
+ */
+public final class TextEscaper {
+
+    /**
+     * Breaks block comments of C like languages, the same as <code>replace("*&#47;", "*_/").replace("/*", "/_*")</code>.
+     */
+    public static final TextEscaper BLOCK_COMMENT = builder()
+            .replace("*/", "*_/")
+            .then()
+            .replace("/*", "/_*")
+            .build();
+
+    private static final int TABLE_SIZE = 128;
+
+    private final Pass[] passes;
+
+    private TextEscaper(Pass[] passes) {
+        this.passes = passes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the escaped text, the same instance when nothing was replaced
+     */
+    public String escape(String input) {
+        if (input == null) {
+            return null;
+        }
+        String text = input;
+        for (Pass pass : passes) {
+            text = pass.apply(text);
+        }
+        return text;
+    }
+
+    private static final class Rule {
+        private final String target;
+        private final String replacement;
+
+        private Rule(String target, String replacement) {
+            this.target = target;
+            this.replacement = replacement;
+        }
+    }
+
+    private static final class Pass {
+        // rules by first character of their target, longest target first
+        private final Rule[][] table = new Rule[TABLE_SIZE][];
+        private final Map<Character, Rule[]> others = new HashMap<>();
+
+        private Pass(Map<String, String> replacements) {
+            final Map<Character, List<Rule>> rules = new HashMap<>();
+            for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+                rules.computeIfAbsent(replacement.getKey().charAt(0), key -> new ArrayList<>())
+                        .add(new Rule(replacement.getKey(), replacement.getValue()));
+            }
+            for (Map.Entry<Character, List<Rule>> entry : rules.entrySet()) {
+                final Rule[] candidates = entry.getValue().toArray(new Rule[0]);
+                Arrays.sort(candidates, Comparator.comparingInt((Rule rule) -> rule.target.length()).reversed());
+                if (entry.getKey() < TABLE_SIZE) {
+                    table[entry.getKey()] = candidates;
+                } else {
+                    others.put(entry.getKey(), candidates);
+                }
+            }
+        }
+
+        private String apply(String input) {
+            StringBuilder builder = null;
+            int copied = 0;
+            final int length = input.length();
+            for (int i = 0; i < length; ) {
+                final char c = input.charAt(i);
+                final Rule[] candidates = c < TABLE_SIZE ? table[c] : others.isEmpty() ? null : others.get(c);
+                final Rule rule = candidates == null ? null : match(input, i, candidates);
+                if (rule == null) {
+                    i++;
+                    continue;
+                }
+                if (builder == null) {
+                    builder = new StringBuilder(length + 16);
+                }
+                builder.append(input, copied, i).append(rule.replacement);
+                i += rule.target.length();
+                copied = i;
+            }
+            if (builder == null) {
+                return input;
+            }
+            return builder.append(input, copied, length).toString();
+        }
+
+        private static Rule match(String input, int offset, Rule[] candidates) {
+            for (Rule candidate : candidates) {
+                if (input.startsWith(candidate.target, offset)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Map<String, String>> passes = new ArrayList<>();
+        private Map<String, String> current = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder replace(char target, String replacement) {
+            return replace(String.valueOf(target), replacement);
+        }
+
+        /**
+         * Replaces the sequence in the current pass.
+         */
+        public Builder replace(String target, String replacement) {
+            if (target == null || target.isEmpty() || replacement == null) {
+                throw new IllegalArgumentException("Replacement of an empty sequence, or with null: " + target);
+            }
+            if (current.putIfAbsent(target, replacement) != null) {
+                throw new IllegalArgumentException("Sequence " + target + " is already replaced in this pass");
+            }
+            return this;
+        }
+
+        /**
+         * Starts a pass over the output of the replacements declared so far.
+         */
+        public Builder then() {
+            if (!current.isEmpty()) {
+                passes.add(current);
+                current = new LinkedHashMap<>();
+            }
+            return this;
+        }
+
+        public TextEscaper build() {
+            then();
+            final Pass[] built = new Pass[passes.size()];
+            for (int i = 0; i < built.length; i++) {
+                built[i] = new Pass(passes.get(i));
+            }
+            return new TextEscaper(built);
+        }
+    }
+}
@@ -2,11 +2,26 @@ package io.swagger.codegen.v3.generators;
 
 import io.swagger.codegen.v3.CodegenArgument;
 import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.CodegenModel;
 import io.swagger.codegen.v3.CodegenOperation;
 import io.swagger.codegen.v3.CodegenParameter;
 import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.CodegenResponse;
 import io.swagger.codegen.v3.CodegenType;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteSet;
+import io.swagger.codegen.v3.generators.util.NameTransformationCache;
+import io.swagger.codegen.v3.generators.html.StaticHtml2Codegen;
+import io.swagger.codegen.v3.generators.dotnet.CSharpClientCodegen;
+import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
+import io.swagger.codegen.v3.generators.java.SpringCodegen;
+import io.swagger.codegen.v3.generators.python.PythonClientCodegen;
+import io.swagger.codegen.v3.generators.r.RClientCodegen;
+import io.swagger.codegen.v3.generators.ruby.RubyClientCodegen;
+import io.swagger.codegen.v3.generators.util.OpenAPIRefIndex;
+import io.swagger.codegen.v3.generators.util.SpecPruner;
+import io.swagger.codegen.v3.generators.util.TemplateUsage;
+import io.swagger.codegen.v3.generators.util.TextEscaper;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -17,10 +32,12 @@ import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.IntegerSchema;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.parser.OpenAPIV3Parser;
 
 import org.testng.Assert;
@@ -28,11 +45,21 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static io.swagger.codegen.v3.generators.handlebars.ExtensionHelper.getBooleanValue;
 
 public class DefaultCodegenConfigTest {
 
@@ -328,6 +355,562 @@ public class DefaultCodegenConfigTest {
         };
     }
 
+    @DataProvider(name = "modelSpecs")
+    public Object[][] modelSpecs() {
+        return new Object[][] {
+                {"src/test/resources/3_0_0/petstore.yaml"},
+                {"src/test/resources/3_0_0/composed_schemas.yaml"},
+                {"src/test/resources/3_0_0/polymorphicSchema.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "modelSpecs")
+    public void testParallelModelConversion(String location) {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read(location);
+        final Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+
+        final P_DefaultCodegenConfig serial = new P_DefaultCodegenConfig();
+        serial.processOpts();
+        final P_DefaultCodegenConfig parallel = new P_DefaultCodegenConfig();
+        parallel.additionalProperties().put(DefaultCodegenConfig.PARALLEL_MODEL_CONVERSION, true);
+        parallel.additionalProperties().put(DefaultCodegenConfig.CONVERSION_THREADS, 4);
+        parallel.processOpts();
+        Assert.assertTrue(parallel.isParallelModelConversion());
+
+        for (String name : new TreeMap<>(schemas).keySet()) {
+            final CodegenModel expected = serial.fromModel(name, schemas.get(name), schemas);
+            final CodegenModel actual = parallel.fromModel(name, schemas.get(name), schemas);
+            Assert.assertEquals(actual, expected, name);
+            Assert.assertEquals(actual.vars, expected.vars, name);
+            Assert.assertEquals(actual.imports, expected.imports, name);
+        }
+
+        final Map<String, CodegenModel> models = parallel.fromModels(schemas, schemas);
+        Assert.assertEquals(new ArrayList<>(models.keySet()), new ArrayList<>(schemas.keySet()));
+        for (String name : schemas.keySet()) {
+            Assert.assertEquals(models.get(name), serial.fromModel(name, schemas.get(name), schemas), name);
+        }
+    }
+
+    @Test
+    public void testAddOperationToGroupUniqueOperationIds() {
+        final P_DefaultCodegenConfig codegen = new P_DefaultCodegenConfig();
+        final Map<String, List<CodegenOperation>> operations = new TreeMap<>();
+        for (String operationId : Arrays.asList("a", "a", "a", "a_0", "a", "b")) {
+            final CodegenOperation co = new CodegenOperation();
+            co.operationId = operationId;
+            codegen.addOperationToGroup("tag", "/path", new Operation(), co, operations);
+        }
+        // a list changed outside of addOperationToGroup is picked up as well
+        final CodegenOperation added = new CodegenOperation();
+        added.operationId = "b_0";
+        operations.get("tag").add(added);
+        final CodegenOperation co = new CodegenOperation();
+        co.operationId = "b";
+        codegen.addOperationToGroup("tag", "/path", new Operation(), co, operations);
+
+        final List<String> operationIds = new ArrayList<>();
+        for (CodegenOperation operation : operations.get("tag")) {
+            operationIds.add(operation.operationId);
+            Assert.assertEquals(operation.baseName, operation == added ? null : "tag");
+        }
+        Assert.assertEquals(operationIds, Arrays.asList("a", "a_0", "a_1", "a_0_0", "a_2", "b", "b_0", "b_1"));
+    }
+
+    @Test(description = "import mapped object types of a wide model are reconciled in a single pass")
+    public void testAddVarsImportMappingOfWideModel() {
+        final CodegenModel codegenModel = wideModel(1000);
+        Assert.assertEquals(codegenModel.vars.size(), 1000);
+        for (CodegenProperty codegenProperty : codegenModel.vars) {
+            if (!Boolean.TRUE.equals(codegenProperty.getVendorExtensions().get("x-is-object"))) {
+                Assert.assertEquals(codegenProperty.datatype, "com.example.Payload", codegenProperty.name);
+            }
+        }
+        Assert.assertFalse(codegenModel.imports.contains("Object"));
+
+        // four times the properties take four times the import mapping lookups, sixteen if reconciling was quadratic
+        final CountingMap small = new CountingMap();
+        wideModel(1000, small);
+        final CountingMap large = new CountingMap();
+        wideModel(4000, large);
+        Assert.assertTrue(small.lookups >= 1000, String.valueOf(small.lookups));
+        Assert.assertTrue(large.lookups <= 4 * small.lookups + 100, small.lookups + " lookups for 1000 properties, " + large.lookups + " for 4000");
+    }
+
+    @Test
+    public void testEnsureUniqueParameters() {
+        final List<CodegenParameter> codegenParameters = new ArrayList<>();
+        for (String paramName : Arrays.asList("a", "a", "a2", "b")) {
+            final CodegenParameter codegenParameter = new CodegenParameter();
+            codegenParameter.paramName = paramName;
+            codegenParameters.add(codegenParameter);
+        }
+        new P_DefaultCodegenConfig().ensureUniqueParameters(codegenParameters);
+
+        final List<String> paramNames = new ArrayList<>();
+        for (CodegenParameter codegenParameter : codegenParameters) {
+            paramNames.add(codegenParameter.paramName);
+        }
+        Assert.assertEquals(paramNames, Arrays.asList("a2", "a", "a3", "b"));
+    }
+
+    @Test(description = "language arguments are parsed once and handed out as new arguments on every read")
+    public void testReadLanguageArguments() {
+        final List<CodegenArgument> first = new JavaClientCodegen().readLanguageArguments();
+        Assert.assertEquals(first.get(0).getOption(), "--test-option");
+        first.get(0).setValue("changed");
+
+        final List<CodegenArgument> second = new JavaClientCodegen().readLanguageArguments();
+        Assert.assertEquals(second.size(), first.size());
+        Assert.assertNotSame(second.get(0), first.get(0));
+        Assert.assertNull(second.get(0).getValue());
+        Assert.assertEquals(second.get(1).getOption(), "--use-oas2");
+        Assert.assertEquals(second.get(1).getType(), "boolean");
+    }
+
+    @Test
+    public void testGetOptionValue() {
+        final P_DefaultCodegenConfig codegen = new P_DefaultCodegenConfig();
+        Assert.assertNull(codegen.getOptionValue("--use-oas2"));
+
+        final List<CodegenArgument> arguments = new ArrayList<>();
+        arguments.add(new CodegenArgument().option("--Use-Oas2").value("true"));
+        arguments.add(new CodegenArgument().option("--use-oas2").value("false"));
+        codegen.setLanguageArguments(arguments);
+        Assert.assertEquals(codegen.getOptionValue("--use-oas2"), "true");
+        Assert.assertNull(codegen.getOptionValue("--interface-only"));
+
+        arguments.add(new CodegenArgument().option("--interface-only").value("true"));
+        Assert.assertEquals(codegen.getOptionValue("--interface-only"), "true");
+
+        codegen.setLanguageArguments(Collections.singletonList(new CodegenArgument().option("--use-oas2").value("false")));
+        Assert.assertEquals(codegen.getOptionValue("--use-oas2"), "false");
+    }
+
+    @Test(description = "configs share their language tables until one of them changes its own")
+    public void testSharedLanguageTables() {
+        final JavaClientCodegen first = new JavaClientCodegen();
+        final JavaClientCodegen second = new JavaClientCodegen();
+        Assert.assertTrue(((CopyOnWriteMap<String, String>) first.typeMapping()).isShared());
+        Assert.assertTrue(((CopyOnWriteSet<String>) first.reservedWords()).isShared());
+        Assert.assertEquals(first.typeMapping().get("date"), "Date");
+        Assert.assertTrue(first.isReservedWord("Class"));
+
+        first.typeMapping().put("date", "LocalDate");
+        first.reservedWords().add("foo");
+        first.importMapping().remove("LocalDate");
+        Assert.assertEquals(first.typeMapping().get("date"), "LocalDate");
+        Assert.assertTrue(first.isReservedWord("foo"));
+        Assert.assertFalse(first.importMapping().containsKey("LocalDate"));
+        Assert.assertEquals(second.typeMapping().get("date"), "Date");
+        Assert.assertFalse(second.isReservedWord("foo"));
+        Assert.assertTrue(second.importMapping().containsKey("LocalDate"));
+        Assert.assertTrue(((CopyOnWriteMap<String, String>) second.typeMapping()).isShared());
+        Assert.assertEquals(new JavaClientCodegen().typeMapping().get("date"), "Date");
+    }
+
+    @Test(description = "views of a shared table follow the map and copy the table when changed through them")
+    public void testSharedTableViews() {
+        final JavaClientCodegen first = new JavaClientCodegen();
+        final Set<String> keys = first.typeMapping().keySet();
+        final Collection<String> values = first.typeMapping().values();
+        Assert.assertTrue(keys.remove("date"));
+        Assert.assertFalse(first.typeMapping().containsKey("date"));
+        Assert.assertTrue(new JavaClientCodegen().typeMapping().containsKey("date"));
+
+        first.typeMapping().put("uuid", "Identifier");
+        Assert.assertTrue(values.contains("Identifier"));
+        Assert.assertEquals(keys.size(), first.typeMapping().size());
+
+        final JavaClientCodegen second = new JavaClientCodegen();
+        for (Map.Entry<String, String> entry : second.typeMapping().entrySet()) {
+            if (entry.getKey().equals("date")) {
+                entry.setValue("LocalDate");
+            }
+        }
+        Assert.assertEquals(second.typeMapping().get("date"), "LocalDate");
+        final Iterator<String> words = second.reservedWords().iterator();
+        final String word = words.next();
+        words.remove();
+        Assert.assertFalse(second.reservedWords().contains(word));
+        Assert.assertTrue(new JavaClientCodegen().reservedWords().contains(word));
+        Assert.assertEquals(new JavaClientCodegen().typeMapping().get("date"), "Date");
+    }
+
+    @Test
+    public void testTextEscaper() {
+        final TextEscaper escaper = TextEscaper.builder()
+                .replace('a', "b")
+                .replace("aa", "c")
+                .then()
+                .replace("bc", "d")
+                .build();
+        final String unchanged = "xyz";
+        Assert.assertSame(escaper.escape(unchanged), unchanged);
+        Assert.assertNull(escaper.escape(null));
+        Assert.assertEquals(escaper.escape("aaa"), "cb");
+        Assert.assertEquals(escaper.escape("ac"), "d");
+        Assert.assertEquals(escaper.escape("xaxaax"), "xbxcx");
+        Assert.assertEquals(TextEscaper.BLOCK_COMMENT.escape("*/*"), "*/*".replace("*/", "*_/").replace("/*", "/_*"));
+    }
+
+    @Test(description = "escaping in one pass gives the same text as the former chains of replacements")
+    public void testEscapeTextMatchesFormerChains() {
+        final Random random = new Random(42);
+        final char[] alphabet = {'a', 'N', 'e', 'n', 'd', 'b', 'g', 'i', 'u', '0', '1', '2', '\\', '/', '"', '\'',
+                '*', '-', '~', '=', ']', ' ', '\t', '\n', '\r', '\u0000', 'é', '\ud83d', '\ude00'};
+        final JavaClientCodegen java = new JavaClientCodegen();
+        final CSharpClientCodegen csharp = new CSharpClientCodegen();
+        final PythonClientCodegen python = new PythonClientCodegen();
+        final RubyClientCodegen ruby = new RubyClientCodegen();
+        final RClientCodegen r = new RClientCodegen();
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            final String input = builder.toString();
+            final String escaped = formerEscapeText(input);
+            Assert.assertEquals(java.escapeText(input), escaped.replace("*/", "*_/").replace("/*", "/_*"), input);
+            Assert.assertEquals(csharp.escapeText(input), escaped.replace("*/", "*_/").replace("/*", "/_*")
+                    .replace("--", "- -").replaceAll("~~N1", "\n    /// ").replaceAll("~~N2", "\n        /// "), input);
+            Assert.assertEquals(python.escapeText(input), escaped.replace("'''", "'_'_'"), input);
+            Assert.assertEquals(ruby.escapeText(input), escaped.replace("=end", "=_end").replace("=begin", "=_begin"), input);
+            Assert.assertEquals(r.escapeText(input), escaped.replace("]]", "] ]"), input);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static String formerEscapeText(String input) {
+        return org.apache.commons.lang3.StringEscapeUtils.unescapeJava(
+                org.apache.commons.lang3.StringEscapeUtils.escapeJava(input)
+                        .replace("\\/", "/"))
+                .replaceAll("[\\t\\n\\r]", " ")
+                .replace("\\", "\\\\")
+                .replace("\"", "\\\"");
+    }
+
+    private static CodegenModel wideModel(int properties) {
+        return wideModel(properties, new HashMap<>());
+    }
+
+    private static CodegenModel wideModel(int properties, Map<String, String> importMapping) {
+        final Schema schema = new Schema().type("object");
+        for (int i = 0; i < properties; i++) {
+            // objects and untyped properties share the base type Object
+            schema.addProperties("property" + i, i % 2 == 0 ? new ObjectSchema() : new Schema());
+        }
+        final JavaClientCodegen codegen = new JavaClientCodegen();
+        importMapping.putAll(codegen.importMapping());
+        importMapping.put("Object", "com.example.Payload");
+        codegen.importMapping = importMapping;
+        return codegen.fromModel("Wide", schema, Collections.singletonMap("Wide", schema));
+    }
+
+    private static class CountingMap extends HashMap<String, String> {
+        private long lookups;
+
+        @Override
+        public boolean containsKey(Object key) {
+            lookups++;
+            return super.containsKey(key);
+        }
+
+        @Override
+        public String get(Object key) {
+            lookups++;
+            return super.get(key);
+        }
+    }
+
+    @Test
+    public void testRefIndex() {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        final P_DefaultCodegenConfig codegen = new P_DefaultCodegenConfig();
+        Assert.assertNull(codegen.getRefIndex());
+        codegen.preprocessOpenAPI(openAPI);
+
+        final OpenAPIRefIndex refIndex = codegen.getRefIndex();
+        Assert.assertSame(codegen.getRefIndex(), refIndex);
+        Assert.assertSame(refIndex.getSchema("#/components/schemas/Pet"), openAPI.getComponents().getSchemas().get("Pet"));
+        Assert.assertSame(refIndex.getRequestBody("#/components/requestBodies/Pet"), openAPI.getComponents().getRequestBodies().get("Pet"));
+        Assert.assertNull(refIndex.getSchema("#/components/schemas/Missing"));
+        Assert.assertNull(refIndex.getParameter("#/components/parameters/Missing"));
+        final Parameter limit = new Parameter().name("limit").in("query");
+        openAPI.getComponents().addParameters("limit", limit);
+        Assert.assertSame(refIndex.getParameter("#/components/parameters/limit"), limit);
+        Assert.assertSame(refIndex.getParameter("#/parameters/limit"), limit);
+
+        Assert.assertEquals(refIndex.getReferences("#/components/schemas/Pet"),
+                new HashSet<>(Arrays.asList("#/components/schemas/Category", "#/components/schemas/Tag")));
+        Assert.assertEquals(refIndex.getReferrers("#/components/schemas/Category"),
+                new HashSet<>(Arrays.asList("#/components/schemas/Category", "#/components/schemas/Pet")));
+        Assert.assertEquals(refIndex.getOperationReferences("post", "/pet"),
+                Collections.singleton("#/components/requestBodies/Pet"));
+        Assert.assertEquals(refIndex.getReferrers("#/components/requestBodies/UserArray"),
+                new HashSet<>(Arrays.asList("POST /user/createWithArray", "POST /user/createWithList")));
+
+        final Set<String> affected = refIndex.getTransitiveReferrers("#/components/schemas/Category");
+        Assert.assertTrue(affected.contains("#/components/requestBodies/Pet"));
+        Assert.assertTrue(affected.contains("PUT /pet"));
+        Assert.assertTrue(affected.contains("GET /pet/findByStatus"));
+        Assert.assertFalse(affected.contains("POST /store/order"));
+        Assert.assertTrue(refIndex.getTransitiveReferrers("#/components/schemas/Missing").isEmpty());
+
+        final OpenAPI other = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        codegen.preprocessOpenAPI(other);
+        Assert.assertNotSame(codegen.getRefIndex(), refIndex);
+        Assert.assertSame(codegen.getRefIndex().getOpenAPI(), other);
+    }
+
+    @Test
+    public void testModelJsonOnlyWhenTemplatesUseIt() {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        final Schema pet = openAPI.getComponents().getSchemas().get("Pet");
+
+        final JavaClientCodegen java = new JavaClientCodegen();
+        java.processOpts();
+        final TemplateUsage javaUsage = java.getTemplateUsage();
+        Assert.assertTrue(javaUsage.isComplete());
+        Assert.assertTrue(javaUsage.getTemplates().contains("pojo.mustache"));
+        Assert.assertTrue(javaUsage.isReferenced("classname"));
+        Assert.assertFalse(javaUsage.isReferenced("modelJson"));
+        Assert.assertNull(java.fromModel("Pet", pet, openAPI.getComponents().getSchemas()).modelJson);
+
+        final StaticHtml2Codegen html = new StaticHtml2Codegen();
+        html.processOpts();
+        Assert.assertTrue(html.getTemplateUsage().isReferenced("modelJson"));
+        Assert.assertNotNull(html.fromModel("Pet", pet, openAPI.getComponents().getSchemas()).modelJson);
+
+        // without processOpts the templates are unknown, everything is computed
+        final P_DefaultCodegenConfig unknown = new P_DefaultCodegenConfig();
+        Assert.assertFalse(unknown.getTemplateUsage().isComplete());
+        Assert.assertNotNull(unknown.fromModel("Pet", pet, openAPI.getComponents().getSchemas()).modelJson);
+    }
+
+    @Test(description = "json schemas, examples and test template data only when templates use them")
+    public void testUnreferencedFieldsNotComputed() {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        final Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+        final Operation findPets = openAPI.getPaths().get("/pet/findByStatus").getGet();
+
+        final JavaClientCodegen java = new JavaClientCodegen();
+        java.processOpts();
+        final TemplateUsage javaUsage = java.getTemplateUsage();
+        Assert.assertFalse(javaUsage.isReferenced("jsonSchema"));
+        Assert.assertFalse(javaUsage.isExtensionReferenced(CodegenConstants.IS_GET_METHOD_EXT_NAME));
+        Assert.assertTrue(javaUsage.getReferencedFields(CodegenOperation.class).contains("operationId"));
+        Assert.assertFalse(javaUsage.getReferencedFields(CodegenOperation.class).contains("testPath"));
+        final CodegenOperation javaOperation = java.fromOperation("/pet/findByStatus", "get", findPets, schemas, openAPI);
+        Assert.assertNull(javaOperation.testPath);
+        Assert.assertNull(javaOperation.allParams.get(0).jsonSchema);
+        Assert.assertNull(java.fromProperty("name", new Schema().type("string")).jsonSchema);
+
+        final SpringCodegen spring = new SpringCodegen();
+        spring.setLibrary("spring-mvc");
+        spring.processOpts();
+        Assert.assertTrue(spring.getTemplateUsage().isExtensionReferenced(CodegenConstants.IS_GET_METHOD_EXT_NAME));
+        final CodegenOperation springOperation = spring.fromOperation("/pet/findByStatus", "get", findPets, schemas, openAPI);
+        Assert.assertEquals(springOperation.testPath, "/pet/findByStatus");
+        Assert.assertTrue(getBooleanValue(springOperation, CodegenConstants.IS_GET_METHOD_EXT_NAME));
+
+        final StaticHtml2Codegen html = new StaticHtml2Codegen();
+        html.processOpts();
+        Assert.assertNotNull(html.fromOperation("/pet/findByStatus", "get", findPets, schemas, openAPI).allParams.get(0).jsonSchema);
+
+        // the analysis of embedded templates is shared by configs of the same language and library
+        final JavaClientCodegen other = new JavaClientCodegen();
+        other.processOpts();
+        Assert.assertSame(other.getTemplateUsage(), javaUsage);
+    }
+
+    @Test(description = "only the selected operations and the schemas they reach are converted")
+    public void testPruneUnreachableModels() {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        final int count = openAPI.getComponents().getSchemas().size();
+        final P_DefaultCodegenConfig unpruned = new P_DefaultCodegenConfig();
+        unpruned.processOpts();
+        unpruned.preprocessOpenAPI(openAPI);
+        Assert.assertEquals(openAPI.getComponents().getSchemas().size(), count);
+
+        final P_DefaultCodegenConfig codegen = new P_DefaultCodegenConfig();
+        codegen.additionalProperties().put(DefaultCodegenConfig.PRUNE_UNREACHABLE_MODELS, "true");
+        codegen.additionalProperties().put(DefaultCodegenConfig.SELECTED_TAGS, "store");
+        codegen.processOpts();
+        codegen.preprocessOpenAPI(openAPI);
+        Assert.assertEquals(openAPI.getComponents().getSchemas().keySet(), Collections.singleton("Order"));
+        for (String path : openAPI.getPaths().keySet()) {
+            Assert.assertTrue(path.startsWith("/store/"), path);
+        }
+
+        final OpenAPI petstore = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        Assert.assertEquals(new SpecPruner(null, Collections.singletonList("/pet/*"), null).getReachableSchemas(petstore),
+                new HashSet<>(Arrays.asList("Pet", "Category", "Tag", "ApiResponse")));
+        Assert.assertEquals(new SpecPruner(Collections.singletonList("pet"), Collections.singletonList("/store/*"), null)
+                .getReachableSchemas(petstore), Collections.emptySet());
+
+        // subtypes of a reached discriminator and the schemas of its mapping are reached as well
+        final OpenAPI polymorphic = new OpenAPIV3Parser().read("src/test/resources/3_0_0/polymorphicSchema.yaml");
+        final Map<String, Schema> schemas = polymorphic.getComponents().getSchemas();
+        schemas.get("PolymorphicResponse").getDiscriminator().mapping("Warning", "#/components/schemas/Warning");
+        schemas.put("Warning", new ObjectSchema());
+        schemas.put("Unused", new ObjectSchema());
+        Assert.assertEquals(new SpecPruner(null, null, null).prune(polymorphic),
+                new HashSet<>(Arrays.asList("PolymorphicResponse", "Success", "Error", "Warning")));
+        Assert.assertFalse(schemas.containsKey("Unused"));
+        Assert.assertEquals(polymorphic.getPaths().keySet(), Collections.singleton("/provision"));
+    }
+
+    @Test
+    public void testParallelOperationConversion() {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml");
+        final Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+
+        final P_DefaultCodegenConfig serial = new P_DefaultCodegenConfig();
+        serial.processOpts();
+        final P_DefaultCodegenConfig parallel = new P_DefaultCodegenConfig();
+        parallel.additionalProperties().put(DefaultCodegenConfig.PARALLEL_OPERATION_CONVERSION, "true");
+        parallel.processOpts();
+
+        for (String path : openAPI.getPaths().keySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> entry : openAPI.getPaths().get(path).readOperationsMap().entrySet()) {
+                final String httpMethod = entry.getKey().name().toLowerCase();
+                final CodegenOperation expected = serial.fromOperation(path, httpMethod, entry.getValue(), schemas, openAPI);
+                final CodegenOperation actual = parallel.fromOperation(path, httpMethod, entry.getValue(), schemas, openAPI);
+                Assert.assertEquals(actual.operationId, expected.operationId);
+                Assert.assertEquals(actual.returnType, expected.returnType);
+                Assert.assertEquals(actual.imports, expected.imports);
+                Assert.assertEquals(actual.responses, expected.responses);
+                Assert.assertEquals(actual.allParams, expected.allParams);
+                Assert.assertEquals(actual.getVendorExtensions(), expected.getVendorExtensions());
+                Assert.assertEquals(actual.examples, expected.examples);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelOperationConversionWithPathParameters() {
+        final OpenAPI serialSpec = readWithParameterlessOperations("src/test/resources/3_0_0/parameterOrder.yaml");
+        final OpenAPI parallelSpec = readWithParameterlessOperations("src/test/resources/3_0_0/parameterOrder.yaml");
+
+        final P_DefaultCodegenConfig serial = new P_DefaultCodegenConfig();
+        serial.processOpts();
+        final P_DefaultCodegenConfig parallel = new P_DefaultCodegenConfig();
+        parallel.additionalProperties().put(DefaultCodegenConfig.PARALLEL_OPERATION_CONVERSION, "true");
+        parallel.processOpts();
+
+        int pathParameters = 0;
+        for (String path : serialSpec.getPaths().keySet()) {
+            final PathItem serialPath = serialSpec.getPaths().get(path);
+            final PathItem parallelPath = parallelSpec.getPaths().get(path);
+            for (Map.Entry<PathItem.HttpMethod, Operation> entry : serialPath.readOperationsMap().entrySet()) {
+                final String httpMethod = entry.getKey().name().toLowerCase();
+                final Operation parallelOperation = parallelPath.readOperationsMap().get(entry.getKey());
+                // the generator merges path level parameters into each operation right before converting it
+                mergePathParameters(serialPath, entry.getValue());
+                mergePathParameters(parallelPath, parallelOperation);
+                final CodegenOperation expected = serial.fromOperation(path, httpMethod, entry.getValue(), serialSpec.getComponents().getSchemas(), serialSpec);
+                final CodegenOperation actual = parallel.fromOperation(path, httpMethod, parallelOperation, parallelSpec.getComponents().getSchemas(), parallelSpec);
+                Assert.assertEquals(actual.operationId, expected.operationId);
+                Assert.assertEquals(actual.allParams, expected.allParams);
+                Assert.assertEquals(actual.pathParams, expected.pathParams);
+                Assert.assertEquals(actual.imports, expected.imports);
+                Assert.assertEquals(parallelOperation.getParameters().size(), entry.getValue().getParameters().size());
+                pathParameters += actual.pathParams.size();
+            }
+        }
+        Assert.assertEquals(pathParameters, 3);
+    }
+
+    private static OpenAPI readWithParameterlessOperations(String location) {
+        final OpenAPI openAPI = new OpenAPIV3Parser().read(location);
+        final PathItem pathItem = openAPI.getPaths().get("/admin/texts/{id}");
+        pathItem.get(new Operation().operationId("getTest").responses(pathItem.getPut().getResponses()));
+        pathItem.delete(new Operation().operationId("deleteTest").responses(new ApiResponses()
+                .addApiResponse("204", new ApiResponse().description("Successfully deleted"))));
+        return openAPI;
+    }
+
+    private static void mergePathParameters(PathItem pathItem, Operation operation) {
+        if (pathItem.getParameters() == null) {
+            return;
+        }
+        final Set<String> operationParameters = new HashSet<>();
+        if (operation.getParameters() != null) {
+            for (Parameter parameter : operation.getParameters()) {
+                operationParameters.add(parameter.getName() + ":" + parameter.getIn());
+            }
+        }
+        for (Parameter parameter : pathItem.getParameters()) {
+            if (!operationParameters.contains(parameter.getName() + ":" + parameter.getIn())) {
+                operation.addParametersItem(parameter);
+            }
+        }
+    }
+
+    @DataProvider(name = "names")
+    public Object[][] names() {
+        return new Object[][] {
+                {"pet"}, {"Pet"}, {"petId"}, {"pet_id"}, {"PET_ID"}, {"pet-id"}, {"pet id"}, {"pet.id"},
+                {"io.swagger.Pet"}, {"io/swagger/pet"}, {"Outer$Inner"}, {"$ref"}, {"_links"}, {"__class"},
+                {"input[]"}, {"input[a][b]"}, {"[[]]"}, {"input(a)(b)"}, {"HTTPResponseCode"}, {"XMLHttpRequest"},
+                {"ABCDefGhi"}, {"a1B2c3"}, {"with-dash_and_underscore"}, {"trailing_"}, {"-leading"}, {"émoji_✓_名前"},
+                {"name@domain#tag"}, {"a/b.c_d-e f"}, {""}
+        };
+    }
+
+    @Test(dataProvider = "names")
+    public void testNameTransformations(String name) {
+        final P_DefaultCodegenConfig codegen = new P_DefaultCodegenConfig();
+        Assert.assertEquals(codegen.sanitizeName(name), regexSanitizeName(name, false));
+        codegen.setAllowUnicodeIdentifiers(true);
+        Assert.assertEquals(codegen.sanitizeName(name), regexSanitizeName(name, true));
+        Assert.assertEquals(DefaultCodegenConfig.underscore(name), regexUnderscore(name));
+        Assert.assertEquals(codegen.dashize(name), regexUnderscore(name).replaceAll("[_ ]", "-"));
+        // second lookups are served by the cache and must not differ
+        Assert.assertEquals(DefaultCodegenConfig.camelize(name), DefaultCodegenConfig.camelize(name));
+        Assert.assertEquals(DefaultCodegenConfig.camelize(name, true), DefaultCodegenConfig.camelize(name, true));
+    }
+
+    @Test
+    public void testNameTransformationCacheCounters() {
+        final NameTransformationCache cache = NameTransformationCache.getCaches().get("underscore");
+        Assert.assertNotNull(cache);
+        final String name = "CacheCountersTest" + System.nanoTime();
+        final long misses = cache.getMisses();
+        final long hits = cache.getHits();
+        Assert.assertEquals(DefaultCodegenConfig.underscore(name), regexUnderscore(name));
+        Assert.assertEquals(DefaultCodegenConfig.underscore(name), regexUnderscore(name));
+        Assert.assertEquals(cache.getMisses() - misses, 1L);
+        Assert.assertTrue(cache.getHits() - hits >= 1L);
+    }
+
+    private static String regexSanitizeName(String name, boolean allowUnicodeIdentifiers) {
+        name = name.replaceAll("\\[\\]", "");
+        name = name.replaceAll("\\[", "_");
+        name = name.replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_");
+        name = name.replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_");
+        name = name.replaceAll("-", "_");
+        name = name.replaceAll(" ", "_");
+        if (allowUnicodeIdentifiers) {
+            return Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        }
+        return name.replaceAll("\\W", "");
+    }
+
+    private static String regexUnderscore(String word) {
+        word = word.replaceAll("\\.", "/");
+        word = word.replaceAll("\\$", "__");
+        word = word.replaceAll("([A-Z]+)([A-Z][a-z][a-z]+)", "$1_$2");
+        word = word.replaceAll("([a-z\\d])([A-Z])", "$1_$2");
+        word = word.replace('-', '_');
+        word = word.replace(' ', '_');
+        return word.toLowerCase();
+    }
+
     private static class P_DefaultCodegenConfig extends DefaultCodegenConfig{
         @Override
         public String getArgumentsLocation() {
@@ -0,0 +1,120 @@
+package io.swagger.codegen.v3.generators;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.ClientOpts;
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
+import io.swagger.codegen.v3.generators.util.CopyOnWriteMap;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class GeneratorPoolTest {
+
+    @Test(description = "a released config is handed out again in its initial state")
+    public void testReset() throws Exception {
+        final GeneratorPool pool = new GeneratorPool(1);
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final CodegenConfig config;
+            try (GeneratorPool.Lease lease = pool.acquire("java")) {
+                config = lease.getConfig();
+                config.additionalProperties().put(CodegenConstants.MODEL_PACKAGE, "io.swagger.pooled.model");
+                config.importMapping().put("Pet", "io.swagger.pooled.Pet");
+                config.setLibrary("retrofit2");
+                generate(config, new File(folder.getRoot(), "first"));
+            }
+            Assert.assertEquals(pool.getIdleCount("java"), 1);
+
+            final File pooled = new File(folder.getRoot(), "pooled");
+            try (GeneratorPool.Lease lease = pool.acquire("java")) {
+                Assert.assertSame(lease.getConfig(), config);
+                final JavaClientCodegen fresh = new JavaClientCodegen();
+                Assert.assertEquals(config.additionalProperties(), fresh.additionalProperties());
+                Assert.assertEquals(config.importMapping(), fresh.importMapping());
+                Assert.assertEquals(config.typeMapping(), fresh.typeMapping());
+                Assert.assertEquals(config.supportingFiles().size(), fresh.supportingFiles().size());
+                Assert.assertEquals(config.getLibrary(), fresh.getLibrary());
+                generate(config, pooled);
+            }
+            final File expected = new File(folder.getRoot(), "expected");
+            generate(new JavaClientCodegen(), expected);
+            final Map<String, String> expectedFiles = readFiles(expected);
+            Assert.assertFalse(expectedFiles.isEmpty());
+            Assert.assertEquals(readFiles(pooled), expectedFiles);
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test(description = "the reset puts back nested collections and codegen objects, other mutable objects prevent it")
+    public void testDeepReset() {
+        final JavaClientCodegen config = new JavaClientCodegen();
+        final List<String> nested = new ArrayList<>(Arrays.asList("a", "b"));
+        config.additionalProperties().put("nested", Collections.singletonMap("list", nested));
+        final String description = config.cliOptions().get(0).getDescription();
+        final GeneratorPool.Snapshot snapshot = new GeneratorPool.Snapshot(config);
+        Assert.assertTrue(snapshot.isRestorable());
+
+        nested.add("c");
+        config.cliOptions().get(0).setDescription("changed");
+        config.typeMapping().put("date", "LocalDate");
+        config.additionalProperties().put("added", new ArrayList<>());
+        snapshot.restore(config);
+        Assert.assertEquals(nested, Arrays.asList("a", "b"));
+        Assert.assertEquals(config.cliOptions().get(0).getDescription(), description);
+        Assert.assertEquals(config.typeMapping().get("date"), "Date");
+        Assert.assertTrue(((CopyOnWriteMap<String, String>) config.typeMapping()).isShared());
+        Assert.assertFalse(config.additionalProperties().containsKey("added"));
+
+        config.additionalProperties().put("buffer", new StringBuilder());
+        Assert.assertFalse(new GeneratorPool.Snapshot(config).isRestorable());
+    }
+
+    @Test(description = "languages are looked up once and unknown ones are reported")
+    public void testLanguages() {
+        final GeneratorPool pool = new GeneratorPool();
+        Assert.assertTrue(pool.getLanguages().contains("java"));
+        pool.warmUp("go", 5);
+        Assert.assertEquals(pool.getIdleCount("go"), GeneratorPool.DEFAULT_MAX_IDLE);
+        try {
+            pool.acquire("unknown");
+            Assert.fail("unknown language must not be found");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("unknown"));
+        }
+    }
+
+    private static void generate(CodegenConfig config, File output) {
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml", null, options);
+        config.setOutputDir(output.getAbsolutePath());
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        new DefaultGenerator().opts(new ClientOptInput().opts(new ClientOpts()).openAPI(openAPI).config(config)).generate();
+    }
+
+    private static Map<String, String> readFiles(File root) throws Exception {
+        final Map<String, String> files = new TreeMap<>();
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            files.put(root.toURI().relativize(file.toURI()).getPath(), FileUtils.readFileToString(file));
+        }
+        return files;
+    }
+}
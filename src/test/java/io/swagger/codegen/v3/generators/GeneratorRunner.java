@@ -31,6 +31,33 @@ public abstract class GeneratorRunner {
         String outFolder
     ) throws Exception {
 
+        return runGenerator(name, loadSpecAsNode(specPath,
+                yaml, // YAML file, use false for JSON
+                v2Spec), // OpenAPI 3.x - use true for Swagger/OpenAPI 2.x definitions
+            codegenVersion, flattenInlineComposedSchema, outFolder);
+    }
+
+    /**
+     * Generates a client from a spec built by the given generator, e.g. to load test a language with
+     * thousands of schemas.
+     */
+    public static List<File> runGenerator(
+        String name,
+        SyntheticSpecGenerator specGenerator,
+        boolean flattenInlineComposedSchema,
+        String outFolder
+    ) throws Exception {
+        return runGenerator(name, specGenerator.generate(), GenerationRequest.CodegenVersion.V3, flattenInlineComposedSchema, outFolder);
+    }
+
+    public static List<File> runGenerator(
+        String name,
+        JsonNode spec,
+        GenerationRequest.CodegenVersion codegenVersion,
+        boolean flattenInlineComposedSchema,
+        String outFolder
+    ) throws Exception {
+
         String path = outFolder;
         if (StringUtils.isBlank(path)) {
             path = getTmpFolder().getAbsolutePath();
@@ -40,9 +67,7 @@ public abstract class GeneratorRunner {
             .codegenVersion(codegenVersion) // use V2 to target Swagger/OpenAPI 2.x Codegen version
             .type(GenerationRequest.Type.CLIENT)
             .lang(name)
-            .spec(loadSpecAsNode(   specPath,
-                yaml, // YAML file, use false for JSON
-                v2Spec)) // OpenAPI 3.x - use true for Swagger/OpenAPI 2.x definitions
+            .spec(spec)
             .options(
                 new Options()
                     .flattenInlineComposedSchema(flattenInlineComposedSchema)
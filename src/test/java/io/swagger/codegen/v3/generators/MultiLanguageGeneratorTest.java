@@ -0,0 +1,92 @@
+package io.swagger.codegen.v3.generators;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MultiLanguageGeneratorTest {
+
+    private static final List<String> LANGUAGES = Arrays.asList("java", "go", "typescript-angular", "python", "openapi-yaml");
+
+    @Test(description = "languages generated together from one parsed spec match languages generated one by one")
+    public void testSameOutput() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final List<CodegenConfigurator> targets = new ArrayList<>();
+            for (String language : LANGUAGES) {
+                targets.add(configurator(language, new File(folder.getRoot(), "batch/" + language)));
+            }
+            final MultiLanguageGenerator.Result result = new MultiLanguageGenerator(3).generate(targets);
+            Assert.assertTrue(result.isSuccessful());
+            Assert.assertEquals(new ArrayList<>(result.getMillisByLanguage().keySet()), LANGUAGES);
+
+            for (String language : LANGUAGES) {
+                final File expected = new File(folder.getRoot(), "single/" + language);
+                new DefaultGenerator().opts(configurator(language, expected).toClientOptInput()).generate();
+                final Map<String, String> expectedFiles = readFiles(expected);
+                Assert.assertFalse(expectedFiles.isEmpty());
+                Assert.assertEquals(readFiles(new File(folder.getRoot(), "batch/" + language)), expectedFiles, language);
+            }
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test(description = "the given spec is left unchanged and a failing language does not stop the others")
+    public void testIsolation() throws Exception {
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        final OpenAPI openAPI = new OpenAPIV3Parser().read("src/test/resources/3_0_0/petstore.yaml", null, options);
+        final String before = Json.pretty(openAPI);
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final MultiLanguageGenerator.Result result = new MultiLanguageGenerator(2).generate(openAPI, Arrays.asList(
+                    configurator("java", new File(folder.getRoot(), "java")),
+                    configurator("unknown", new File(folder.getRoot(), "unknown")),
+                    configurator("spring", new File(folder.getRoot(), "spring"))));
+            Assert.assertFalse(result.isSuccessful());
+            Assert.assertTrue(result.getTargets().get(0).isSuccessful());
+            Assert.assertFalse(result.getTargets().get(0).getFiles().isEmpty());
+            Assert.assertNotNull(result.getTargets().get(1).getError());
+            Assert.assertTrue(result.getTargets().get(2).isSuccessful());
+            Assert.assertEquals(Json.pretty(openAPI), before);
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static CodegenConfigurator configurator(String language, File output) {
+        return new CodegenConfigurator()
+                .setLang(language)
+                .setInputSpecURL("src/test/resources/3_0_0/composed_schemas.yaml")
+                .setOutputDir(output.getAbsolutePath())
+                .setModelNameSuffix("Dto")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+    }
+
+    private static Map<String, String> readFiles(File root) throws Exception {
+        final Map<String, String> files = new TreeMap<>();
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            files.put(root.toURI().relativize(file.toURI()).getPath(), FileUtils.readFileToString(file));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,291 @@
+package io.swagger.codegen.v3.generators;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.util.Random;
+
+/**
+ * Builds OpenAPI 3 specs of any size for scale tests. The same settings and seed always give the same spec.
+ * <p>
+ * Schemas are <code>Model0</code> to <code>Model{n-1}</code>. They form allOf chains of the configured
+ * depth, and the root of a chain may carry a discriminator. Every <code>oneOfEvery</code>-th schema is a
+ * oneOf of <code>oneOfWidth</code> other models. Properties are primitives, enums, arrays and references
+ * to other models, or inline objects with probability <code>inlineDensity</code>. Operations cycle through
+ * get, post, put and delete on <code>/resource{n}</code> paths and use the models as bodies and responses.
+ */
+public class SyntheticSpecGenerator {
+
+    private static final String REF_PREFIX = "#/components/schemas/";
+    private static final String[] METHODS = {"get", "post", "put", "delete"};
+
+    private final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+    private int schemas = 100;
+    private int operations = 100;
+    private int tags = 10;
+    private int propertiesPerSchema = 8;
+    private int allOfDepth = 1;
+    private int oneOfEvery = 10;
+    private int oneOfWidth = 3;
+    private int enumSize = 5;
+    private double discriminatorRatio = 0.5;
+    private double inlineDensity = 0.1;
+    private long seed = 42;
+
+    public SyntheticSpecGenerator schemas(int schemas) {
+        this.schemas = schemas;
+        return this;
+    }
+
+    public SyntheticSpecGenerator operations(int operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    public SyntheticSpecGenerator tags(int tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    public SyntheticSpecGenerator propertiesPerSchema(int propertiesPerSchema) {
+        this.propertiesPerSchema = propertiesPerSchema;
+        return this;
+    }
+
+    /**
+     * @param allOfDepth number of schemas extending each other through allOf, 0 for none
+     */
+    public SyntheticSpecGenerator allOfDepth(int allOfDepth) {
+        this.allOfDepth = allOfDepth;
+        return this;
+    }
+
+    /**
+     * @param oneOfEvery every how many schemas one is a oneOf, 0 for none, otherwise at least 2
+     * @param oneOfWidth number of alternatives of a oneOf
+     */
+    public SyntheticSpecGenerator oneOf(int oneOfEvery, int oneOfWidth) {
+        this.oneOfEvery = oneOfEvery;
+        this.oneOfWidth = oneOfWidth;
+        return this;
+    }
+
+    public SyntheticSpecGenerator enumSize(int enumSize) {
+        this.enumSize = enumSize;
+        return this;
+    }
+
+    /**
+     * @param discriminatorRatio share of allOf chain roots with a discriminator, from 0 to 1
+     */
+    public SyntheticSpecGenerator discriminatorRatio(double discriminatorRatio) {
+        this.discriminatorRatio = discriminatorRatio;
+        return this;
+    }
+
+    /**
+     * @param inlineDensity share of properties that are inline objects instead of references, from 0 to 1
+     */
+    public SyntheticSpecGenerator inlineDensity(double inlineDensity) {
+        this.inlineDensity = inlineDensity;
+        return this;
+    }
+
+    public SyntheticSpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ObjectNode generate() {
+        final Random random = new Random(seed);
+        final ObjectNode spec = factory.objectNode();
+        spec.put("openapi", "3.0.1");
+        final ObjectNode info = spec.putObject("info");
+        info.put("title", "Synthetic API");
+        info.put("description", "Generated spec with " + schemas + " schemas and " + operations + " operations");
+        info.put("version", "1.0.0");
+        spec.putArray("servers").addObject().put("url", "http://synthetic.example.com/v1");
+
+        final ArrayNode tagNodes = spec.putArray("tags");
+        for (int i = 0; i < tags; i++) {
+            tagNodes.addObject().put("name", "tag" + i);
+        }
+        final ObjectNode paths = spec.putObject("paths");
+        for (int i = 0; i < operations; i++) {
+            addOperation(paths, i, random);
+        }
+        final ObjectNode schemaNodes = spec.putObject("components").putObject("schemas");
+        for (int i = 0; i < schemas; i++) {
+            schemaNodes.set(modelName(i), schema(i, random));
+        }
+        return spec;
+    }
+
+    public String toJson() {
+        return Json.pretty(generate());
+    }
+
+    public OpenAPI toOpenAPI() {
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        return new OpenAPIV3Parser().readContents(toJson(), null, options).getOpenAPI();
+    }
+
+    private static String modelName(int index) {
+        return "Model" + index;
+    }
+
+    private ObjectNode ref(int index) {
+        return factory.objectNode().put("$ref", REF_PREFIX + modelName(index));
+    }
+
+    private boolean isOneOf(int index) {
+        return oneOfEvery > 0 && oneOfWidth > 0 && index % oneOfEvery == oneOfEvery - 1;
+    }
+
+    private boolean isChainRoot(int index) {
+        return allOfDepth == 0 || index % (allOfDepth + 1) == 0;
+    }
+
+    /**
+     * @return a model to refer to, never a oneOf so references stay plain objects
+     */
+    private int pickModel(Random random) {
+        int index = random.nextInt(schemas);
+        while (isOneOf(index) && index > 0) {
+            index--;
+        }
+        return index;
+    }
+
+    private ObjectNode schema(int index, Random random) {
+        if (isOneOf(index)) {
+            final ObjectNode schema = factory.objectNode();
+            schema.put("description", "One of " + oneOfWidth + " models");
+            final ArrayNode oneOf = schema.putArray("oneOf");
+            for (int i = 0; i < oneOfWidth; i++) {
+                oneOf.add(ref(pickModel(random)));
+            }
+            return schema;
+        }
+        final ObjectNode own = objectSchema(index, random);
+        if (isChainRoot(index)) {
+            if (random.nextDouble() < discriminatorRatio) {
+                ((ObjectNode) own.get("properties")).putObject("modelType").put("type", "string");
+                ((ArrayNode) own.get("required")).add("modelType");
+                own.putObject("discriminator").put("propertyName", "modelType");
+            }
+            return own;
+        }
+        final ObjectNode schema = factory.objectNode();
+        final ArrayNode allOf = schema.putArray("allOf");
+        int parent = index - 1;
+        while (parent > 0 && isOneOf(parent)) {
+            parent--;
+        }
+        allOf.add(ref(parent));
+        allOf.add(own);
+        return schema;
+    }
+
+    private ObjectNode objectSchema(int index, Random random) {
+        final ObjectNode schema = factory.objectNode();
+        schema.put("type", "object");
+        schema.put("description", "Synthetic model " + index);
+        final ObjectNode properties = schema.putObject("properties");
+        properties.putObject("id").put("type", "integer").put("format", "int64");
+        schema.putArray("required").add("id");
+        for (int i = 0; i < propertiesPerSchema; i++) {
+            properties.set("property" + index + "_" + i, property(random, 0));
+        }
+        return schema;
+    }
+
+    private ObjectNode property(Random random, int depth) {
+        if (depth == 0 && random.nextDouble() < inlineDensity) {
+            final ObjectNode inline = factory.objectNode();
+            inline.put("type", "object");
+            final ObjectNode properties = inline.putObject("properties");
+            for (int i = 0; i < 3; i++) {
+                properties.set("inline" + i, property(random, depth + 1));
+            }
+            return inline;
+        }
+        final ObjectNode property = factory.objectNode();
+        switch (random.nextInt(depth == 0 ? 9 : 6)) {
+            case 0:
+                return property.put("type", "integer").put("format", "int32");
+            case 1:
+                return property.put("type", "number").put("format", "double");
+            case 2:
+                return property.put("type", "boolean");
+            case 3:
+                return property.put("type", "string").put("format", "date-time");
+            case 4:
+                property.put("type", "string");
+                final ArrayNode values = property.putArray("enum");
+                for (int i = 0; i < enumSize; i++) {
+                    values.add("VALUE_" + i);
+                }
+                return property;
+            case 5:
+                return property.put("type", "string").put("description", "A string property");
+            case 6:
+                property.put("type", "array");
+                property.set("items", ref(pickModel(random)));
+                return property;
+            case 7:
+                property.put("type", "object");
+                property.putObject("additionalProperties").put("type", "string");
+                return property;
+            default:
+                return ref(pickModel(random));
+        }
+    }
+
+    private void addOperation(ObjectNode paths, int index, Random random) {
+        final String method = METHODS[index % METHODS.length];
+        final boolean byId = !"post".equals(method);
+        final String path = "/resource" + (index / METHODS.length) + (byId ? "/{id}" : "");
+        final ObjectNode pathItem = paths.has(path) ? (ObjectNode) paths.get(path) : paths.putObject(path);
+
+        final ObjectNode operation = pathItem.putObject(method);
+        operation.putArray("tags").add("tag" + (index % Math.max(tags, 1)));
+        operation.put("operationId", "operation" + index);
+        operation.put("summary", "Synthetic operation " + index);
+        final ArrayNode parameters = operation.putArray("parameters");
+        if (byId) {
+            final ObjectNode id = parameters.addObject();
+            id.put("name", "id").put("in", "path").put("required", true);
+            id.putObject("schema").put("type", "integer").put("format", "int64");
+        }
+        final ObjectNode limit = parameters.addObject();
+        limit.put("name", "limit").put("in", "query");
+        limit.putObject("schema").put("type", "integer").put("format", "int32");
+
+        if ("post".equals(method) || "put".equals(method)) {
+            final ObjectNode body = operation.putObject("requestBody");
+            body.put("required", true);
+            body.putObject("content").putObject("application/json").set("schema", ref(pickModel(random)));
+        }
+        final ObjectNode responses = operation.putObject("responses");
+        final ObjectNode ok = responses.putObject("200");
+        ok.put("description", "successful operation");
+        if (!"delete".equals(method)) {
+            final ObjectNode schema = ok.putObject("content").putObject("application/json").putObject("schema");
+            if ("get".equals(method) && random.nextBoolean()) {
+                schema.put("type", "array");
+                schema.set("items", ref(pickModel(random)));
+            } else {
+                schema.setAll(ref(pickModel(random)));
+            }
+        }
+        responses.putObject("404").put("description", "not found");
+    }
+}
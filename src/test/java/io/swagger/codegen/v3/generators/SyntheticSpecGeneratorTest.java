@@ -0,0 +1,86 @@
+package io.swagger.codegen.v3.generators;
+
+import io.swagger.codegen.v3.CodegenConfig;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+public class SyntheticSpecGeneratorTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticSpecGeneratorTest.class);
+
+    private static final String LOAD_TEST_SCHEMAS = "codegen.loadTest.schemas";
+
+    @Test
+    public void testDeterministic() {
+        final String first = new SyntheticSpecGenerator().schemas(50).operations(40).toJson();
+        Assert.assertEquals(new SyntheticSpecGenerator().schemas(50).operations(40).toJson(), first);
+        Assert.assertNotEquals(new SyntheticSpecGenerator().schemas(50).operations(40).seed(7).toJson(), first);
+    }
+
+    @Test
+    public void testShape() {
+        final OpenAPI openAPI = new SyntheticSpecGenerator()
+                .schemas(60)
+                .operations(41)
+                .allOfDepth(2)
+                .oneOf(10, 4)
+                .enumSize(12)
+                .discriminatorRatio(1)
+                .toOpenAPI();
+
+        Assert.assertEquals(openAPI.getComponents().getSchemas().size(), 60);
+        Assert.assertEquals(openAPI.getPaths().values().stream().mapToInt(pathItem -> pathItem.readOperations().size()).sum(), 41);
+
+        final Schema root = openAPI.getComponents().getSchemas().get("Model0");
+        Assert.assertEquals(root.getDiscriminator().getPropertyName(), "modelType");
+        final ComposedSchema child = (ComposedSchema) openAPI.getComponents().getSchemas().get("Model2");
+        Assert.assertEquals(child.getAllOf().get(0).get$ref(), "#/components/schemas/Model1");
+        final ComposedSchema oneOf = (ComposedSchema) openAPI.getComponents().getSchemas().get("Model9");
+        Assert.assertEquals(oneOf.getOneOf().size(), 4);
+    }
+
+    @Test
+    public void testGenerateJavaClient() throws Exception {
+        final List<File> files = GeneratorRunner.runGenerator("java", new SyntheticSpecGenerator().schemas(200).operations(200), false, null);
+        Assert.assertTrue(files.stream().anyMatch(file -> file.getName().equals("Model199.java")));
+        Assert.assertTrue(files.stream().anyMatch(file -> file.getName().equals("Tag9Api.java")));
+    }
+
+    @DataProvider(name = "languages")
+    public Object[][] languages() {
+        final List<Object[]> languages = new ArrayList<>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            languages.add(new Object[]{config.getName()});
+        }
+        return languages.toArray(new Object[0][]);
+    }
+
+    /**
+     * Load test of every language, run with e.g. <code>-Dcodegen.loadTest.schemas=10000</code>.
+     */
+    @Test(dataProvider = "languages")
+    public void testLoad(String language) throws Exception {
+        final String schemas = System.getProperty(LOAD_TEST_SCHEMAS);
+        if (schemas == null) {
+            throw new SkipException("set " + LOAD_TEST_SCHEMAS + " to load test " + language);
+        }
+        final int count = Integer.parseInt(schemas);
+        final SyntheticSpecGenerator specGenerator = new SyntheticSpecGenerator().schemas(count).operations(count);
+        final long start = System.nanoTime();
+        final List<File> files = GeneratorRunner.runGenerator(language, specGenerator, false, null);
+        LOGGER.info(language + ": " + files.size() + " files from " + count + " schemas in " + (System.nanoTime() - start) / 1000000 + " ms");
+        Assert.assertFalse(files.isEmpty());
+    }
+}
@@ -2,6 +2,8 @@ package io.swagger.codegen.v3.generators.examples;
 
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
@@ -11,8 +13,15 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ExampleGeneratorTest {
 
@@ -52,4 +61,90 @@ public class ExampleGeneratorTest {
         Assert.assertEquals(example.get("contentType"), "application/json");
         Assert.assertTrue(example.get("example").contains("\"name\" : \"Yinotheria\""));
     }
+
+    @Test
+    public void testSharedCacheDoesNotMutateSpec() throws Exception {
+        final Schema petSchema = openAPI.getComponents().getSchemas().get("Pet");
+        final Schema petRef = new Schema().$ref("#/components/schemas/Pet");
+        final ExampleCache cache = new ExampleCache(openAPI);
+
+        final String first = new ExampleGenerator(openAPI, cache).generate(null, null, petRef).get(0).get("example");
+        Assert.assertTrue(first.contains("\"name\" : \"doggie\""));
+        Assert.assertNull(petSchema.getExample());
+        Assert.assertNotNull(cache.getExample(petSchema));
+        Assert.assertEquals(cache.getRendered("#/components/schemas/Pet", "application/json"), first);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit((Callable<String>) () ->
+                        new ExampleGenerator(openAPI, cache).generate(null, null, petRef).get(0).get("example")));
+            }
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), first);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreamingJsonExample() throws Exception {
+        final Schema petRef = new Schema().$ref("#/components/schemas/Pet");
+        final ExampleGenerator exampleGenerator = new ExampleGenerator(openAPI);
+        exampleGenerator.setStreaming(true);
+
+        final String example = exampleGenerator.generate(null, null, petRef).get(0).get("example");
+        Assert.assertTrue(example.contains("\"name\" : \"doggie\""));
+        Assert.assertTrue(example.contains("\"photoUrls\" : [ \"photoUrls\", \"photoUrls\" ]"));
+        Assert.assertTrue(example.contains("\"status\" : \"available\""));
+
+        final ExampleWriter writer = new ExampleWriter(openAPI);
+        writer.setMaxDepth(1);
+        writer.setMaxItems(1);
+        final String limited = writer.toJson(petRef);
+        Assert.assertTrue(limited.contains("\"photoUrls\" : [ ]"));
+        Assert.assertFalse(limited.contains("doggie\", \"doggie"));
+
+        final Schema recursive = new Schema().type("object").name("Node");
+        recursive.addProperties("child", new Schema().$ref("#/components/schemas/Node"));
+        openAPI.getComponents().getSchemas().put("Node", recursive);
+        try {
+            Assert.assertEquals(new ExampleWriter(openAPI).toJson(new Schema().$ref("#/components/schemas/Node")),
+                    "{\n  \"child\" : null\n}");
+        } finally {
+            openAPI.getComponents().getSchemas().remove("Node");
+        }
+    }
+
+    @Test
+    public void testStreamingIntegerExamples() throws Exception {
+        final Schema schema = new ObjectSchema();
+        schema.addProperties("count", new IntegerSchema().format("int32").minimum(BigDecimal.ONE).maximum(BigDecimal.TEN));
+        schema.addProperties("total", new IntegerSchema().format("int64").minimum(new BigDecimal("3000000000")).maximum(new BigDecimal("4000000000")));
+
+        final String example = new ExampleGenerator(openAPI).generate(null, null, schema).get(0).get("example");
+        final ExampleGenerator streamingGenerator = new ExampleGenerator(openAPI);
+        streamingGenerator.setStreaming(true);
+        Assert.assertEquals(streamingGenerator.generate(null, null, schema).get(0).get("example"), example);
+        Assert.assertTrue(example.contains("\"total\" : 3"), example);
+    }
+
+    @Test
+    public void testXmlExample() throws Exception {
+        final Schema petRef = new Schema().$ref("#/components/schemas/Pet");
+        final List<Map<String, String>> examples = new ExampleGenerator(openAPI)
+                .generate(null, Arrays.asList("application/json", "application/xml"), petRef);
+        Assert.assertEquals(examples.size(), 2);
+        Assert.assertEquals(examples.get(1).get("contentType"), "application/xml");
+
+        final String xml = examples.get(1).get("example");
+        Assert.assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<Pet>"), xml);
+        Assert.assertTrue(xml.contains("<name>doggie</name>"), xml);
+        Assert.assertTrue(xml.contains("<photoUrl>\n    <photoUrls>photoUrls</photoUrls>"), xml);
+        Assert.assertTrue(xml.contains("<tag>\n    <Tag>"), xml);
+        Assert.assertTrue(xml.contains("<Category>\n    <id>"), xml);
+        Assert.assertTrue(xml.endsWith("</Pet>"), xml);
+    }
 }
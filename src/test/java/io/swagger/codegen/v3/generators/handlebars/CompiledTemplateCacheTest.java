@@ -0,0 +1,70 @@
+package io.swagger.codegen.v3.generators.handlebars;
+
+import com.github.jknack.handlebars.Handlebars;
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.java.JavaClientCodegen;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class CompiledTemplateCacheTest {
+
+    @Test(description = "templates are compiled once for all configs of a language")
+    public void testSharedAcrossConfigs() throws Exception {
+        final CodegenHandlebarTemplateEngine first = engine(new JavaClientCodegen());
+        final CodegenHandlebarTemplateEngine second = engine(new JavaClientCodegen());
+        Assert.assertSame(second.compile("Java/licenseInfo.mustache"), first.compile("Java/licenseInfo.mustache"));
+
+        final JavaClientCodegen uncached = new JavaClientCodegen();
+        uncached.additionalProperties().put(DefaultCodegenConfig.TEMPLATE_CACHE, false);
+        Assert.assertNotSame(engine(uncached).compile("Java/licenseInfo.mustache"), first.compile("Java/licenseInfo.mustache"));
+    }
+
+    @Test(description = "a changed custom template is compiled again")
+    public void testCustomTemplateChange() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File template = new File(folder.getRoot(), "custom.mustache");
+            FileUtils.writeStringToFile(template, "first {{name}}", StandardCharsets.UTF_8);
+
+            final JavaClientCodegen config = new JavaClientCodegen();
+            config.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, folder.getRoot().getAbsolutePath());
+            final CodegenHandlebarTemplateEngine engine = engine(config);
+            Assert.assertEquals(engine.getRendered(template.getAbsolutePath(), Collections.singletonMap("name", "pet")), "first pet");
+
+            FileUtils.writeStringToFile(template, "second {{name}}", StandardCharsets.UTF_8);
+            template.setLastModified(template.lastModified() + 2000);
+            Assert.assertEquals(engine.getRendered(template.getAbsolutePath(), Collections.singletonMap("name", "pet")), "second pet");
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test(description = "the least recently used handlebars are evicted")
+    public void testEviction() {
+        final CompiledTemplateCache cache = new CompiledTemplateCache(1);
+        final JavaClientCodegen java = new JavaClientCodegen();
+        java.processOpts();
+        final Handlebars handlebars = cache.getHandlebars(java, Handlebars::new);
+        Assert.assertSame(cache.getHandlebars(java, Handlebars::new), handlebars);
+
+        final JavaClientCodegen jersey = new JavaClientCodegen();
+        jersey.setLibrary("jersey2");
+        jersey.processOpts();
+        cache.getHandlebars(jersey, Handlebars::new);
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertNotSame(cache.getHandlebars(java, Handlebars::new), handlebars);
+    }
+
+    private static CodegenHandlebarTemplateEngine engine(DefaultCodegenConfig config) {
+        config.processOpts();
+        return new CodegenHandlebarTemplateEngine(config);
+    }
+}
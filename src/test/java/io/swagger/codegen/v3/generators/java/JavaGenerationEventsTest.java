@@ -0,0 +1,72 @@
+package io.swagger.codegen.v3.generators.java;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.jfr.GenerationEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JavaGenerationEventsTest {
+
+    @Test(description = "verify that template renders, skipped files and helper calls are recorded")
+    public void testFlightRecorderEvents() throws Exception {
+        if (!GenerationEvents.isAvailable()) {
+            throw new SkipException("no flight recorder in this JVM");
+        }
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File output = new File(folder.getRoot(), "out");
+            final File recordingFile = new File(folder.getRoot(), "generation.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("io.swagger.codegen.TemplateRender").withoutThreshold();
+                recording.enable("io.swagger.codegen.FileSkip").withoutThreshold();
+                recording.enable("io.swagger.codegen.HelperCall").withoutThreshold();
+                recording.start();
+                new DefaultGenerator().opts(clientOptInput(output, false)).generate();
+                new DefaultGenerator().opts(clientOptInput(output, true)).generate();
+                recording.stop();
+                recording.dump(recordingFile.toPath());
+            }
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile.toPath());
+
+            final RecordedEvent model = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("io.swagger.codegen.TemplateRender"))
+                    .filter(event -> event.getString("template").endsWith("model.mustache"))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("no render of model.mustache"));
+            Assert.assertTrue(model.getLong("bytes") > 0);
+            Assert.assertEquals(model.getString("language"), "java");
+            Assert.assertEquals(model.getString("library"), "okhttp-gson");
+
+            final List<String> skipped = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("io.swagger.codegen.FileSkip"))
+                    .map(event -> event.getString("targetFile"))
+                    .collect(Collectors.toList());
+            Assert.assertTrue(skipped.stream().anyMatch(file -> file.endsWith("Pet.java")), skipped.toString());
+            Assert.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("io.swagger.codegen.HelperCall")
+                    && event.getString("helper").equals("is")));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static ClientOptInput clientOptInput(File output, boolean skipOverwrite) {
+        return new CodegenConfigurator()
+                .setLang("java")
+                .setInputSpecURL("src/test/resources/3_0_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath())
+                .setSkipOverwrite(skipOverwrite)
+                .toClientOptInput();
+    }
+}
@@ -0,0 +1,48 @@
+package io.swagger.codegen.v3.generators.java;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.GenerationProfiler;
+import io.swagger.v3.core.util.Json;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+public class JavaGenerationProfileTest {
+
+    @Test(description = "verify that a profiled generation reports every phase and the slowest models and operations")
+    public void testProfileReport() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setLang("java")
+                    .setInputSpecURL("src/test/resources/3_0_0/petstore.yaml")
+                    .setOutputDir(folder.getRoot().getAbsolutePath());
+            final ClientOptInput clientOptInput = configurator.toClientOptInput();
+            final DefaultCodegenConfig config = (DefaultCodegenConfig) clientOptInput.getConfig();
+            new DefaultGenerator().opts(clientOptInput.config(config.profiled())).generate();
+            config.getProfiler().write(new File(folder.getRoot(), "profile.json"), 3);
+
+            final int schemas = clientOptInput.getOpenAPI().getComponents().getSchemas().size();
+            Assert.assertEquals(config.getProfiler().getTotal(GenerationProfiler.Phase.FROM_MODEL).getCount(), schemas);
+
+            final JsonNode report = Json.mapper().readTree(new File(folder.getRoot(), "profile.json"));
+            for (GenerationProfiler.Phase phase : GenerationProfiler.Phase.values()) {
+                Assert.assertTrue(report.get("phases").has(phase.getName()), phase.getName());
+            }
+            Assert.assertEquals(report.get("phases").get("processOpts").get("count").asInt(), 1);
+            Assert.assertEquals(report.get("slowest").get("fromModel").size(), 3);
+            Assert.assertEquals(report.get("slowest").get("fromOperation").size(), 3);
+            Assert.assertTrue(report.get("slowest").get("fromOperation").get(0).get("name").asText().matches("(GET|POST|PUT|DELETE) /.*"));
+            Assert.assertTrue(report.get("slowest").get("render").get(0).get("wallNanos").asLong() > 0);
+        } finally {
+            folder.delete();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.swagger.codegen.v3.generators.java;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.GenerationManifest;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class JavaIncrementalRenderingTest {
+
+    @Test(description = "verify that unchanged model and api files are not rendered again")
+    public void testIncrementalRendering() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File output = folder.getRoot();
+
+            final Set<String> first = generate("java", output, null);
+            Assert.assertTrue(first.contains("Pet.java"));
+            Assert.assertTrue(first.contains("PetApi.java"));
+            Assert.assertTrue(new File(output, GenerationManifest.LOCATION).isFile());
+
+            final Set<String> second = generate("java", output, null);
+            Assert.assertTrue(second.contains("ApiClient.java"));
+            for (String file : new String[] {"Pet.java", "Category.java", "Order.java", "Pet.md", "PetApi.java", "StoreApi.java", "UserApi.java", "PetApi.md"}) {
+                Assert.assertFalse(second.contains(file), file);
+            }
+
+            // Category is referenced by Pet, which in turn is used by the pet operations only
+            final Set<String> third = generate("java", output, "Category");
+            for (String file : new String[] {"Category.java", "Category.md", "Pet.java", "PetApi.java"}) {
+                Assert.assertTrue(third.contains(file), file);
+            }
+            for (String file : new String[] {"Order.java", "User.java", "Tag.java", "StoreApi.java", "UserApi.java"}) {
+                Assert.assertFalse(third.contains(file), file);
+            }
+
+            // a deleted file is generated again even though its fingerprint did not change
+            Assert.assertTrue(new File(output, "src/main/java/io/swagger/client/model/Order.java").delete());
+            final Set<String> fourth = generate("java", output, "Category");
+            Assert.assertTrue(fourth.contains("Order.java"));
+            Assert.assertFalse(fourth.contains("User.java"));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test(description = "verify that api files of a generator grouping operations its own way are not rendered again")
+    public void testIncrementalRenderingOfRegroupedApis() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File output = folder.getRoot();
+            final Set<String> first = generate("spring", output, null);
+            Assert.assertTrue(first.contains("PetApi.java"));
+            Assert.assertTrue(first.contains("PetApiController.java"));
+
+            final Set<String> second = generate("spring", output, null);
+            for (String file : new String[] {"Pet.java", "PetApi.java", "PetApiController.java", "StoreApi.java", "UserApi.java"}) {
+                Assert.assertFalse(second.contains(file), file);
+            }
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static Set<String> generate(String lang, File output, String changedSchema) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang(lang)
+                .setInputSpecURL("src/test/resources/3_0_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty(DefaultCodegenConfig.INCREMENTAL_RENDERING, true);
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        if (changedSchema != null) {
+            final Schema schema = clientOptInput.getOpenAPI().getComponents().getSchemas().get(changedSchema);
+            schema.addProperties("label", new StringSchema());
+        }
+        final List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+        final Set<String> names = new HashSet<>();
+        for (File file : files) {
+            names.add(file.getName());
+        }
+        return names;
+    }
+}
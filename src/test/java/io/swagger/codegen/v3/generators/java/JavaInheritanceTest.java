@@ -2,7 +2,9 @@ package io.swagger.codegen.v3.generators.java;
 
 import com.google.common.collect.Sets;
 import io.swagger.codegen.v3.CodegenModel;
+import io.swagger.codegen.v3.CodegenProperty;
 import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.InheritanceGraph;
 import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Discriminator;
 import io.swagger.v3.oas.models.media.Schema;
@@ -10,7 +12,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class JavaInheritanceTest {
@@ -56,4 +63,89 @@ public class JavaInheritanceTest {
         Assert.assertEquals(cm.parent, "Base");
         Assert.assertEquals(cm.imports, Sets.newHashSet("Base"));
     }
+
+    @Test(description = "fix up a deep hierarchy parents first, without duplicate children")
+    public void javaInheritanceGraphTest() {
+        final CodegenModel animal = model("Animal", null, "name");
+        final CodegenModel dog = model("Dog", "Animal", "breed");
+        final CodegenModel puppy = model("Puppy", "Dog", "name");
+        final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+        allModels.put("Puppy", puppy);
+        allModels.put("Dog", dog);
+        allModels.put("Hound", dog);
+        allModels.put("Animal", animal);
+
+        final InheritanceGraph graph = new InheritanceGraph(allModels);
+        Assert.assertEquals(graph.getModels(), Arrays.asList(animal, dog, puppy));
+        Assert.assertEquals(graph.getAncestors(puppy), Arrays.asList(dog, animal));
+        Assert.assertEquals(new ArrayList<>(graph.getDescendants(animal)), Arrays.asList(dog, puppy));
+
+        new JavaClientCodegen().postProcessAllModels(processedModels(allModels));
+        Assert.assertSame(puppy.parentModel, dog);
+        Assert.assertEquals(animal.children.size(), 2);
+        Assert.assertTrue(animal.children.containsAll(Arrays.asList(puppy, dog)));
+        Assert.assertEquals(dog.children, Collections.singletonList(puppy));
+        Assert.assertEquals(puppy.vars.get(0).name, "puppyName");
+    }
+
+    @Test(description = "a discriminator ends the children of the models above it")
+    public void javaInheritanceGraphDiscriminatorTest() {
+        final CodegenModel animal = model("Animal", null, "name");
+        final CodegenModel dog = model("Dog", "Animal", "breed");
+        dog.discriminator = new Discriminator().propertyName("breed");
+        final CodegenModel puppy = model("Puppy", "Dog", "age");
+        final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+        allModels.put("Animal", animal);
+        allModels.put("Dog", dog);
+        allModels.put("Puppy", puppy);
+
+        final InheritanceGraph graph = new InheritanceGraph(allModels);
+        Assert.assertEquals(graph.getChildren(animal), Collections.singletonList(dog));
+        Assert.assertEquals(graph.getChildren(dog), Collections.singletonList(puppy));
+        Assert.assertEquals(graph.getDescendants(animal).size(), 2);
+    }
+
+    @Test(description = "an inheritance cycle is cut instead of looping")
+    public void javaInheritanceGraphCycleTest() {
+        final CodegenModel first = model("First", "Second", "a");
+        final CodegenModel second = model("Second", "First", "b");
+        final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+        allModels.put("First", first);
+        allModels.put("Second", second);
+
+        new JavaClientCodegen().postProcessAllModels(processedModels(allModels));
+        final CodegenModel child = first.parentModel != null ? first : second;
+        Assert.assertNotNull(child.parentModel);
+        Assert.assertNull(child.parentModel.parentModel);
+        Assert.assertEquals(child.parentModel.children, Collections.singletonList(child));
+    }
+
+    private static CodegenModel model(String name, String parent, String property) {
+        final CodegenModel codegenModel = new CodegenModel();
+        codegenModel.name = name;
+        codegenModel.classname = name;
+        codegenModel.parent = parent;
+        final CodegenProperty codegenProperty = new CodegenProperty();
+        codegenProperty.name = property;
+        codegenProperty.baseName = property;
+        codegenProperty.datatype = "String";
+        codegenProperty.getter = "get" + StringUtils.capitalize(property);
+        codegenProperty.setter = "set" + StringUtils.capitalize(property);
+        codegenModel.vars = new ArrayList<>(Collections.singletonList(codegenProperty));
+        return codegenModel;
+    }
+
+    private static Map<String, Object> processedModels(Map<String, CodegenModel> allModels) {
+        final Map<String, Object> processedModels = new LinkedHashMap<>();
+        for (Map.Entry<String, CodegenModel> entry : allModels.entrySet()) {
+            final Map<String, Object> model = new HashMap<>();
+            model.put("model", entry.getValue());
+            final List<Object> models = new ArrayList<>();
+            models.add(model);
+            final Map<String, Object> inner = new HashMap<>();
+            inner.put("models", models);
+            processedModels.put(entry.getKey(), inner);
+        }
+        return processedModels;
+    }
 }
@@ -0,0 +1,77 @@
+package io.swagger.codegen.v3.generators.java;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class JavaParallelConversionTest {
+
+    @DataProvider(name = "specs")
+    public Object[][] specs() {
+        return new Object[][] {
+                {"java", "src/test/resources/3_0_0/petstore.yaml"},
+                {"spring", "src/test/resources/3_0_0/polymorphicSchema.yaml"},
+                {"java", "src/test/resources/3_0_0/composed_schemas.yaml"},
+                {"go", "src/test/resources/3_0_0/composed_schemas.yaml"},
+                {"typescript-angular", "src/test/resources/3_0_0/composed_schemas.yaml"},
+                {"html", "src/test/resources/3_0_0/composed_schemas.yaml"},
+                {"java", "src/test/resources/3_0_0/discriminator_order_schemas.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "specs", description = "verify that parallel model and operation conversion generate the same files")
+    public void testParallelConversionGeneratesSameFiles(String lang, String spec) throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File serial = new File(folder.getRoot(), "serial");
+            final File parallel = new File(folder.getRoot(), "parallel");
+            generate(lang, spec, serial, false);
+            generate(lang, spec, parallel, true);
+
+            final Map<String, String> expected = readFiles(serial);
+            final Map<String, String> actual = readFiles(parallel);
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(actual.keySet(), expected.keySet());
+            for (String file : expected.keySet()) {
+                Assert.assertEquals(actual.get(file), expected.get(file), file);
+            }
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static void generate(String lang, String spec, File output, boolean parallel) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang(lang)
+                .setInputSpecURL(spec)
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        if (parallel) {
+            configurator.addAdditionalProperty(DefaultCodegenConfig.PARALLEL_MODEL_CONVERSION, true);
+            configurator.addAdditionalProperty(DefaultCodegenConfig.PARALLEL_OPERATION_CONVERSION, true);
+            configurator.addAdditionalProperty(DefaultCodegenConfig.CONVERSION_THREADS, 4);
+        }
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
+    private static Map<String, String> readFiles(File root) throws Exception {
+        final Map<String, String> files = new TreeMap<>();
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            files.put(root.toURI().relativize(file.toURI()).getPath(), FileUtils.readFileToString(file));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,144 @@
+package io.swagger.codegen.v3.generators.java;
+
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.GenerationShards;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class JavaShardedGenerationTest {
+
+    private static final int SHARDS = 3;
+
+    @DataProvider(name = "specs")
+    public Object[][] specs() {
+        return new Object[][] {
+                {"java", "src/test/resources/3_0_0/petstore.yaml", "src/main/java/io/swagger/client/model/.*", "src/main/java/io/swagger/client/api/.*"},
+                {"spring", "src/test/resources/3_0_0/polymorphicSchema.yaml", "src/main/java/io/swagger/model/.*", "src/main/java/io/swagger/api/.*"},
+                {"go", "src/test/resources/3_0_0/composed_schemas.yaml", "model_.*\\.go", "api_.*\\.go"},
+                {"html", "src/test/resources/3_0_0/composed_schemas.yaml", null, null}
+        };
+    }
+
+    @Test(dataProvider = "specs", description = "verify that shards and their merge generate the same files as a single run")
+    public void testShardsGenerateSameFiles(String lang, String spec, String modelFiles, String apiFiles) throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File single = new File(folder.getRoot(), "single");
+            final File sharded = new File(folder.getRoot(), "sharded");
+            generate(lang, spec, single, null);
+            final List<Set<String>> shardFiles = new ArrayList<>();
+            for (int shard = 0; shard < SHARDS; shard++) {
+                final File output = new File(folder.getRoot(), "shard" + shard);
+                generate(lang, spec, output, shard);
+                shardFiles.add(readFiles(output).keySet());
+                if (output.exists()) {
+                    FileUtils.copyDirectory(output, sharded);
+                }
+            }
+            final Set<String> owned = ownedFiles(shardFiles);
+            if (modelFiles != null) {
+                Assert.assertTrue(owned.stream().anyMatch(file -> file.matches(modelFiles)), owned.toString());
+                Assert.assertTrue(owned.stream().anyMatch(file -> file.matches(apiFiles)), owned.toString());
+            }
+            Assert.assertNotEquals(readFiles(sharded).keySet(), readFiles(single).keySet());
+            generate(lang, spec, sharded, GenerationShards.MERGE);
+
+            final Map<String, byte[]> expected = readFiles(single);
+            final Map<String, byte[]> actual = readFiles(sharded);
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(actual.keySet(), expected.keySet());
+            for (String file : expected.keySet()) {
+                Assert.assertEquals(actual.get(file), expected.get(file), file);
+            }
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test(description = "verify that the merge fails when the files of a shard are missing")
+    public void testMergeFindsMissingShard() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File output = folder.getRoot();
+            final int missing = GenerationShards.shardOf("model:Category", SHARDS);
+            for (int shard = 0; shard < SHARDS; shard++) {
+                if (shard != missing) {
+                    generate("java", "src/test/resources/3_0_0/petstore.yaml", output, shard);
+                }
+            }
+            try {
+                generate("java", "src/test/resources/3_0_0/petstore.yaml", output, GenerationShards.MERGE);
+                Assert.fail("merge of incomplete shards must fail");
+            } catch (RuntimeException e) {
+                Assert.assertTrue(e.getMessage().contains("Category.java, imported by Pet"), e.getMessage());
+            }
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static void generate(String lang, String spec, File output, Integer shard) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang(lang)
+                .setInputSpecURL(spec)
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        if (shard != null) {
+            configurator.addAdditionalProperty(DefaultCodegenConfig.SHARD_COUNT, SHARDS);
+            if (shard == GenerationShards.MERGE) {
+                configurator.addAdditionalProperty(DefaultCodegenConfig.SHARD_MERGE, true);
+            } else {
+                configurator.addAdditionalProperty(DefaultCodegenConfig.SHARD_INDEX, shard);
+            }
+        }
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    }
+
+    /**
+     * Files rendered by some shards but not all, like model and api files, must be rendered by one shard only.
+     *
+     * @return the files rendered by one shard only
+     */
+    private static Set<String> ownedFiles(List<Set<String>> shardFiles) {
+        final Set<String> common = new TreeSet<>(shardFiles.get(0));
+        for (Set<String> files : shardFiles) {
+            common.retainAll(files);
+        }
+        final Set<String> owned = new TreeSet<>();
+        for (Set<String> files : shardFiles) {
+            for (String file : files) {
+                if (!common.contains(file)) {
+                    Assert.assertTrue(owned.add(file), file + " is rendered by more than one shard");
+                }
+            }
+        }
+        return owned;
+    }
+
+    private static Map<String, byte[]> readFiles(File root) throws Exception {
+        final Map<String, byte[]> files = new TreeMap<>();
+        if (!root.exists()) {
+            return files;
+        }
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            files.put(root.toURI().relativize(file.toURI()).getPath(), FileUtils.readFileToByteArray(file));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,84 @@
+package io.swagger.codegen.v3.generators.java;
+
+import io.swagger.codegen.v3.ClientOptInput;
+import io.swagger.codegen.v3.CodegenConstants;
+import io.swagger.codegen.v3.DefaultGenerator;
+import io.swagger.codegen.v3.config.CodegenConfigurator;
+import io.swagger.codegen.v3.generators.DefaultCodegenConfig;
+import io.swagger.codegen.v3.generators.util.OutputSink;
+import io.swagger.codegen.v3.generators.util.SpecFingerprints;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+public class JavaWriteAvoidanceTest {
+
+    private static final String MODELS = "src/main/java/io/swagger/client/model/";
+    private static final String PET = "src/main/java/io/swagger/client/model/Pet.java";
+    private static final String CATEGORY = "src/main/java/io/swagger/client/model/Category.java";
+
+    @Test(description = "verify that files generated again with the same content are not written")
+    public void testWriteAvoidance() throws Exception {
+        final TemporaryFolder folder = new TemporaryFolder();
+        folder.create();
+        try {
+            final File output = folder.getRoot();
+            OutputSink.Report report = generate(output, false, false);
+            Assert.assertTrue(report.getWritten().contains(PET));
+            Assert.assertTrue(report.getFiles().containsKey(PET));
+
+            final File pet = new File(output, PET);
+            Assert.assertTrue(pet.setLastModified(1000000000000L));
+            report = generate(output, false, false);
+            Assert.assertTrue(report.getSkipped().contains(PET));
+            Assert.assertFalse(report.getWritten().contains(PET));
+            Assert.assertEquals(pet.lastModified(), 1000000000000L);
+            // only the first model of each template is written, to learn the template file
+            Assert.assertTrue(report.getWritten().stream().filter(file -> file.startsWith(MODELS)).count() <= 1, report.getWritten().toString());
+            Assert.assertTrue(report.getSkipped().stream().filter(file -> file.startsWith(MODELS)).count() >= 5, report.getSkipped().toString());
+
+            report = generate(output, true, false);
+            Assert.assertTrue(report.getWritten().contains(CATEGORY));
+            Assert.assertTrue(report.getSkipped().contains(PET));
+
+            // a file of an earlier run that is not generated anymore
+            final File obsolete = new File(output, "src/main/java/io/swagger/client/model/Obsolete.java");
+            FileUtils.writeStringToFile(obsolete, "class Obsolete {}", StandardCharsets.UTF_8);
+            final File reportFile = new File(output, OutputSink.LOCATION);
+            final OutputSink.Report previous = Json.mapper().readValue(reportFile, OutputSink.Report.class);
+            previous.getFiles().put("src/main/java/io/swagger/client/model/Obsolete.java", SpecFingerprints.sha256Hex("class Obsolete {}"));
+            Json.mapper().writeValue(reportFile, previous);
+
+            report = generate(output, true, false);
+            Assert.assertTrue(report.getStale().contains("src/main/java/io/swagger/client/model/Obsolete.java"));
+            Assert.assertTrue(obsolete.exists());
+            report = generate(output, true, true);
+            Assert.assertTrue(report.getRemoved().contains("src/main/java/io/swagger/client/model/Obsolete.java"));
+            Assert.assertFalse(obsolete.exists());
+        } finally {
+            folder.delete();
+        }
+    }
+
+    private static OutputSink.Report generate(File output, boolean changeCategory, boolean removeStaleFiles) throws Exception {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang("java")
+                .setInputSpecURL("src/test/resources/3_0_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .addAdditionalProperty(DefaultCodegenConfig.WRITE_AVOIDANCE, true)
+                .addAdditionalProperty(DefaultCodegenConfig.REMOVE_STALE_FILES, removeStaleFiles);
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        if (changeCategory) {
+            clientOptInput.getOpenAPI().getComponents().getSchemas().get("Category").addProperties("label", new StringSchema());
+        }
+        new DefaultGenerator().opts(clientOptInput).generate();
+        return Json.mapper().readValue(new File(output, OutputSink.LOCATION), OutputSink.Report.class);
+    }
+}